@@ -0,0 +1,105 @@
+import com.blamejared.crafttweaker.gradle.Dependencies
+import com.blamejared.crafttweaker.gradle.Properties
+import com.blamejared.crafttweaker.gradle.Versions
+
+plugins {
+    id("fabric-loom") version "0.12-SNAPSHOT"
+}
+
+// Benchmarks run against the Fabric build, as it is the one that can be launched with mixins applied from a plain Gradle run
+evaluationDependsOn(":Fabric")
+
+val jmhVersion = "1.35"
+val benchmarkRunDir = "run_benchmark"
+
+java {
+    toolchain.languageVersion.set(JavaLanguageVersion.of(Versions.MOD_JAVA))
+}
+
+repositories {
+    maven("https://maven.parchmentmc.org/") {
+        name = "ParchmentMC"
+    }
+    maven("https://maven.blamejared.com/") {
+        name = "BlameJared"
+    }
+}
+
+dependencies {
+    minecraft("com.mojang:minecraft:${Versions.MINECRAFT}")
+    mappings(loom.layered {
+        officialMojangMappings()
+        parchment("org.parchmentmc.data:parchment-1.19.2:${Versions.PARCHMENT}@zip")
+    })
+    modImplementation("net.fabricmc:fabric-loader:${Versions.FABRIC_LOADER}")
+    modImplementation("net.fabricmc.fabric-api:fabric-api:${Versions.FABRIC}")
+    modRuntimeOnly("com.faux.fauxcustomentitydata:FauxCustomEntityData-fabric-1.19.2:${Versions.FAUX_CUSTOM_ENTITY_DATA}")
+    modRuntimeOnly("com.faux.ingredientextension:IngredientExtensionAPI-fabric-1.19.2:${Versions.INGREDIENT_EXTENSION_API}")
+
+    implementation(project(path = ":Fabric", configuration = "namedElements"))
+    Dependencies.ZENCODE.forEach {
+        implementation(project(it))
+    }
+    runtimeOnly("org.reflections:reflections:${Versions.REFLECTIONS}")
+    runtimeOnly("org.javassist:javassist:${Versions.JAVA_ASSIST}")
+
+    implementation("org.openjdk.jmh:jmh-core:$jmhVersion")
+    annotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:$jmhVersion")
+}
+
+tasks.withType<JavaCompile> {
+    options.encoding = Charsets.UTF_8.name()
+    options.release.set(Versions.MOD_JAVA.toInt())
+}
+
+loom {
+    accessWidenerPath.set(project(":Common").file("src/main/resources/${Properties.MOD_ID}.accesswidener"))
+    mods {
+        register(Properties.MOD_ID) {
+            sourceSet(project(":Fabric").sourceSets.main.get())
+            Dependencies.ZENCODE.forEach {
+                sourceSet(project(it).sourceSets.main.get())
+            }
+        }
+        register("${Properties.MOD_ID}_benchmark") {
+            sourceSet(sourceSets.main.get())
+        }
+    }
+    runs {
+        create("benchmark") {
+            server()
+            configName = "Fabric Benchmark"
+            ideConfigGenerated(false)
+            runDir(benchmarkRunDir)
+            programArg("--nogui")
+            property("crafttweaker.benchmark.include", (project.findProperty("benchmarkInclude") ?: ".*").toString())
+            property("crafttweaker.benchmark.results", (project.findProperty("benchmarkResults") ?: "benchmark-results.json").toString())
+        }
+    }
+}
+
+// The benchmarks run on a throwaway dedicated server, which needs to be set up to start without any interaction
+val prepareBenchmarkRun = tasks.register("prepareBenchmarkRun") {
+    doLast {
+        val runDir = file(benchmarkRunDir)
+        runDir.mkdirs()
+        runDir.resolve("eula.txt").writeText("eula=true\n")
+        runDir.resolve("server.properties").writeText(
+                """
+                level-type=minecraft\:flat
+                generate-structures=false
+                online-mode=false
+                spawn-animals=false
+                spawn-monsters=false
+                spawn-npcs=false
+                """.trimIndent()
+        )
+        project.delete(runDir.resolve("world"))
+    }
+}
+
+tasks.named("runBenchmark") {
+    dependsOn(prepareBenchmarkRun)
+    group = "verification"
+    description = "Runs the JMH benchmarks on a dedicated server and writes the results as JSON to the run directory."
+}
@@ -0,0 +1,58 @@
+package com.blamejared.crafttweaker.benchmark;
+
+import net.fabricmc.api.DedicatedServerModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.server.MinecraftServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks once the server has started, then stops the server.
+ *
+ * <p>Benchmarks need the registries, tags and recipes of a running game, along with the mixins of CraftTweaker, so
+ * they run inside the server JVM instead of in forked JVMs. The benchmarks to run are selected with the
+ * {@code crafttweaker.benchmark.include} system property, which is a regular expression matched against the benchmark
+ * names, and the results are written as JSON to the file named by {@code crafttweaker.benchmark.results}.</p>
+ */
+public final class CraftTweakerBenchmarks implements DedicatedServerModInitializer {
+    
+    private static final Logger LOGGER = LogManager.getLogger("CraftTweaker Benchmarks");
+    
+    private static final String INCLUDE_PROPERTY = "crafttweaker.benchmark.include";
+    private static final String RESULTS_PROPERTY = "crafttweaker.benchmark.results";
+    
+    @Override
+    public void onInitializeServer() {
+        
+        if(System.getProperty(INCLUDE_PROPERTY) == null) {
+            return;
+        }
+        
+        ServerLifecycleEvents.SERVER_STARTED.register(this::run);
+    }
+    
+    private void run(final MinecraftServer server) {
+        
+        final Options options = new OptionsBuilder()
+                .include(System.getProperty(INCLUDE_PROPERTY))
+                .forks(0)
+                .shouldFailOnError(true)
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty(RESULTS_PROPERTY, "benchmark-results.json"))
+                .build();
+        
+        try {
+            new Runner(options).run();
+        } catch(final RunnerException e) {
+            LOGGER.error("Unable to run benchmarks", e);
+        } finally {
+            server.halt(false);
+        }
+    }
+    
+}
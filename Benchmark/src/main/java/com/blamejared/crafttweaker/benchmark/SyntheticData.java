@@ -0,0 +1,170 @@
+package com.blamejared.crafttweaker.benchmark;
+
+import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import net.minecraft.core.Registry;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.level.ItemLike;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+
+/**
+ * Deterministic datasets shared by the benchmarks.
+ *
+ * <p>Every dataset is built from the contents of the registries with a fixed seed, so that the same build of the game
+ * always produces the same data and results can be compared between builds.</p>
+ */
+public final class SyntheticData {
+    
+    private static final long SEED = 0x43726166745477L;
+    
+    private SyntheticData() {}
+    
+    /**
+     * Gets a stack of every registered item, followed by a stack of every registered item with some NBT.
+     */
+    public static List<IItemStack> stacks() {
+        
+        final List<IItemStack> stacks = new ArrayList<>();
+        for(final Item item : Registry.ITEM) {
+            if(item != Items.AIR) {
+                stacks.add(IItemStack.of(new ItemStack(item)));
+            }
+        }
+        for(final Item item : Registry.ITEM) {
+            if(item != Items.AIR) {
+                final ItemStack stack = new ItemStack(item);
+                stack.setTag(tag(item));
+                stacks.add(IItemStack.of(stack));
+            }
+        }
+        return stacks;
+    }
+    
+    /**
+     * Gets the given amount of distinct items, picked at random from the registry.
+     */
+    public static List<Item> items(final int amount) {
+        
+        final Random random = new Random(SEED ^ amount);
+        final List<Item> items = new ArrayList<>();
+        while(items.size() < amount) {
+            final Item item = Registry.ITEM.byId(random.nextInt(Registry.ITEM.size()));
+            if(item != Items.AIR && !items.contains(item)) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+    
+    public static Ingredient vanillaIngredient(final int amount) {
+        
+        return Ingredient.of(items(amount).toArray(ItemLike[]::new));
+    }
+    
+    /**
+     * Gets the given amount of shaped crafting recipes in their datapack JSON form, with item and tag ingredients and
+     * results that carry NBT.
+     */
+    public static List<JsonObject> recipes(final int amount) {
+        
+        final Random random = new Random(SEED ^ amount);
+        final List<Item> items = items(64);
+        final List<JsonObject> recipes = new ArrayList<>(amount);
+        for(int i = 0; i < amount; i++) {
+            final JsonObject recipe = new JsonObject();
+            recipe.addProperty("type", "minecraft:crafting_shaped");
+            
+            final JsonArray pattern = new JsonArray();
+            pattern.add("AB ");
+            pattern.add("BCB");
+            pattern.add(" BA");
+            recipe.add("pattern", pattern);
+            
+            final JsonObject key = new JsonObject();
+            key.add("A", itemIngredient(items.get(random.nextInt(items.size()))));
+            key.add("B", tagIngredient(random.nextBoolean() ? "minecraft:planks" : "minecraft:logs"));
+            final JsonArray alternatives = new JsonArray();
+            alternatives.add(itemIngredient(items.get(random.nextInt(items.size()))));
+            alternatives.add(itemIngredient(items.get(random.nextInt(items.size()))));
+            key.add("C", alternatives);
+            recipe.add("key", key);
+            
+            final Item resultItem = items.get(random.nextInt(items.size()));
+            final JsonObject result = new JsonObject();
+            result.addProperty("item", Registry.ITEM.getKey(resultItem).toString());
+            result.addProperty("count", 1 + random.nextInt(8));
+            result.addProperty("nbt", tag(resultItem).toString());
+            recipe.add("result", result);
+            
+            recipes.add(recipe);
+        }
+        return recipes;
+    }
+    
+    /**
+     * Gets a script of the given amount of lines, with preprocessors, comments and the kind of calls usually found in
+     * modpack scripts.
+     */
+    public static String script(final int lines) {
+        
+        final Random random = new Random(SEED ^ lines);
+        final List<Item> items = items(64);
+        final StringJoiner joiner = new StringJoiner(System.lineSeparator());
+        joiner.add("#priority 10");
+        joiner.add("#modloaded minecraft");
+        joiner.add("#onlyif modloaded minecraft");
+        for(int i = 4; i < lines; i++) {
+            final String item = Registry.ITEM.getKey(items.get(random.nextInt(items.size()))).toString();
+            final String other = Registry.ITEM.getKey(items.get(random.nextInt(items.size()))).toString();
+            joiner.add(switch(i % 5) {
+                case 0 -> "// Tweaks for <item:%s>".formatted(item);
+                case 1 -> "craftingTable.remove(<item:%s>);".formatted(item);
+                case 2 -> "craftingTable.addShapeless(\"recipe_%d\", <item:%s>, [<item:%s>, <tag:items:minecraft:planks>]);".formatted(i, item, other);
+                case 3 -> "furnace.addRecipe(\"smelt_%d\", <item:%s>, <item:%s>, 0.5, 200);".formatted(i, item, other);
+                default -> "<item:%s>.displayName = \"Item %d\";".formatted(item, i);
+            });
+        }
+        joiner.add("#endif");
+        return joiner.toString();
+    }
+    
+    private static CompoundTag tag(final Item item) {
+        
+        final CompoundTag display = new CompoundTag();
+        display.putString("Name", "{\"text\":\"" + Registry.ITEM.getKey(item).getPath() + "\"}");
+        final ListTag lore = new ListTag();
+        lore.add(StringTag.valueOf("{\"text\":\"Benchmark\"}"));
+        display.put("Lore", lore);
+        
+        final CompoundTag tag = new CompoundTag();
+        tag.put("display", display);
+        tag.putInt("CustomModelData", Item.getId(item));
+        return tag;
+    }
+    
+    private static JsonObject itemIngredient(final Item item) {
+        
+        final JsonObject ingredient = new JsonObject();
+        ingredient.addProperty("item", Registry.ITEM.getKey(item).toString());
+        return ingredient;
+    }
+    
+    private static JsonObject tagIngredient(final String tag) {
+        
+        final JsonObject ingredient = new JsonObject();
+        ingredient.addProperty("tag", tag);
+        return ingredient;
+    }
+    
+}
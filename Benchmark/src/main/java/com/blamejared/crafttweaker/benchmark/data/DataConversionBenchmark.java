@@ -0,0 +1,103 @@
+package com.blamejared.crafttweaker.benchmark.data;
+
+import com.blamejared.crafttweaker.api.data.IData;
+import com.blamejared.crafttweaker.api.data.converter.JSONConverter;
+import com.blamejared.crafttweaker.api.data.converter.JSONStreamConverter;
+import com.blamejared.crafttweaker.api.data.visitor.DataToJsonStringVisitor;
+import com.blamejared.crafttweaker.benchmark.SyntheticData;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts datapack recipes between JSON and {@link IData}, comparing the streaming converter to the tree based one.
+ *
+ * <p>The {@code recipeObject} benchmarks follow {@code addJsonRecipe}, which needs the recipe as a {@link JsonObject}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(0)
+public class DataConversionBenchmark {
+    
+    private static final Gson GSON = new Gson();
+    
+    @Param({"16", "256"})
+    public int recipes;
+    
+    private List<String> texts;
+    private List<IData> data;
+    
+    @Setup
+    public void setup() {
+        
+        this.texts = SyntheticData.recipes(this.recipes).stream().map(JsonObject::toString).toList();
+        this.data = this.texts.stream().map(JSONStreamConverter::read).toList();
+    }
+    
+    @Benchmark
+    public void readTree(final Blackhole blackhole) {
+        
+        for(final String text : this.texts) {
+            blackhole.consume(JSONConverter.convert(JsonParser.parseString(text)));
+        }
+    }
+    
+    @Benchmark
+    public void readStream(final Blackhole blackhole) {
+        
+        for(final String text : this.texts) {
+            blackhole.consume(JSONStreamConverter.read(text));
+        }
+    }
+    
+    @Benchmark
+    public void writeVisitor(final Blackhole blackhole) {
+        
+        for(final IData value : this.data) {
+            blackhole.consume(value.accept(DataToJsonStringVisitor.INSTANCE));
+        }
+    }
+    
+    @Benchmark
+    public void writeStream(final Blackhole blackhole) {
+        
+        for(final IData value : this.data) {
+            blackhole.consume(JSONStreamConverter.toJson(value));
+        }
+    }
+    
+    @Benchmark
+    public void recipeObjectFromText(final Blackhole blackhole) {
+        
+        for(final IData value : this.data) {
+            blackhole.consume(GSON.fromJson(value.accept(DataToJsonStringVisitor.INSTANCE), JsonObject.class));
+        }
+    }
+    
+    @Benchmark
+    public void recipeObjectFromTree(final Blackhole blackhole) {
+        
+        for(final IData value : this.data) {
+            blackhole.consume(JSONStreamConverter.toJsonTree(value));
+        }
+    }
+    
+}
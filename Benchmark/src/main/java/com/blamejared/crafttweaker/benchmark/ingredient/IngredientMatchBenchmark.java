@@ -0,0 +1,73 @@
+package com.blamejared.crafttweaker.benchmark.ingredient;
+
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.ingredient.type.IIngredientList;
+import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
+import com.blamejared.crafttweaker.api.tag.expand.ExpandItemTag;
+import com.blamejared.crafttweaker.benchmark.SyntheticData;
+import net.minecraft.core.Registry;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matches every registered item, with and without NBT, against the common kinds of ingredients.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(0)
+public class IngredientMatchBenchmark {
+    
+    @Param({"item", "list", "tag", "vanilla"})
+    public String kind;
+    
+    private IIngredient ingredient;
+    private List<IItemStack> stacks;
+    
+    @Setup
+    public void setup() {
+        
+        this.stacks = SyntheticData.stacks();
+        this.ingredient = switch(this.kind) {
+            case "item" -> IItemStack.of(new ItemStack(Items.OAK_PLANKS));
+            case "list" -> new IIngredientList(SyntheticData.items(16)
+                    .stream()
+                    .map(it -> IItemStack.of(new ItemStack(it)))
+                    .toArray(IIngredient[]::new));
+            case "tag" -> ExpandItemTag.asIIngredient(CraftTweakerTagRegistry.INSTANCE.knownTagManager(Registry.ITEM_REGISTRY)
+                    .tag("minecraft:planks"));
+            case "vanilla" -> IIngredient.fromIngredient(SyntheticData.vanillaIngredient(16));
+            default -> throw new IllegalArgumentException("Unknown ingredient kind " + this.kind);
+        };
+    }
+    
+    @Benchmark
+    public int matches() {
+        
+        int matched = 0;
+        for(final IItemStack stack : this.stacks) {
+            if(this.ingredient.matches(stack)) {
+                ++matched;
+            }
+        }
+        return matched;
+    }
+    
+}
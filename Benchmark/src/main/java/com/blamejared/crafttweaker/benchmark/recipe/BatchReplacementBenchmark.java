@@ -0,0 +1,114 @@
+package com.blamejared.crafttweaker.benchmark.recipe;
+
+import com.blamejared.crafttweaker.api.CraftTweakerAPI;
+import com.blamejared.crafttweaker.api.CraftTweakerConstants;
+import com.blamejared.crafttweaker.api.zencode.scriptrun.ScriptRunConfiguration;
+import com.blamejared.crafttweaker.mixin.common.access.recipe.AccessRecipeManager;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replaces an ingredient in every recipe of the game through a replacer, as a script would.
+ *
+ * <p>Actions can only be applied during a script run, so the replacement is carried out by running a small script. The
+ * {@code baseline} benchmark runs the same script without executing the replacer, so that the cost of the replacement
+ * is the difference between the two. The recipes of the game are restored before every invocation.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(0)
+public class BatchReplacementBenchmark {
+    
+    private static final String REPLACER = "Replacer.create().replace(<recipecomponent:crafttweaker:input/ingredients>, <item:minecraft:stick>, <item:minecraft:blaze_rod>)";
+    
+    private Path root;
+    private Path replaceScript;
+    private Path baselineScript;
+    private AccessRecipeManager manager;
+    private Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipes;
+    private Map<ResourceLocation, Recipe<?>> byName;
+    
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+        
+        this.root = Files.createTempDirectory("crafttweaker_benchmark");
+        this.replaceScript = Files.writeString(this.root.resolve("replace.zs"), script(REPLACER + ".execute();"));
+        this.baselineScript = Files.writeString(this.root.resolve("baseline.zs"), script(REPLACER + ";"));
+        
+        this.manager = CraftTweakerAPI.getAccessibleElementsProvider().accessibleRecipeManager();
+        this.recipes = this.manager.crafttweaker$getRecipes();
+        this.byName = this.manager.crafttweaker$getByName();
+    }
+    
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        
+        final Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipes = new HashMap<>();
+        this.recipes.forEach((type, map) -> recipes.put(type, new HashMap<>(map)));
+        this.manager.crafttweaker$setRecipes(recipes);
+        this.manager.crafttweaker$setByName(new HashMap<>(this.byName));
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws IOException {
+        
+        this.manager.crafttweaker$setRecipes(this.recipes);
+        this.manager.crafttweaker$setByName(this.byName);
+        Files.delete(this.replaceScript);
+        Files.delete(this.baselineScript);
+        Files.delete(this.root);
+    }
+    
+    @Benchmark
+    public void replace() throws Throwable {
+        
+        this.run(this.replaceScript);
+    }
+    
+    @Benchmark
+    public void baseline() throws Throwable {
+        
+        this.run(this.baselineScript);
+    }
+    
+    private void run(final Path script) throws Throwable {
+        
+        // Game test runs do not undo the actions of the previous run, which would act on the restored recipes
+        final ScriptRunConfiguration configuration = new ScriptRunConfiguration(
+                CraftTweakerConstants.DEFAULT_LOADER_NAME,
+                CraftTweakerConstants.RELOAD_LISTENER_SOURCE_ID,
+                ScriptRunConfiguration.RunKind.GAME_TEST
+        );
+        CraftTweakerAPI.getScriptRunManager().createScriptRun(this.root, List.of(script), configuration).execute();
+    }
+    
+    private static String script(final String statement) {
+        
+        return "import crafttweaker.api.recipe.replacement.Replacer;" + System.lineSeparator() + System.lineSeparator() + statement + System.lineSeparator();
+    }
+    
+}
@@ -0,0 +1,84 @@
+package com.blamejared.crafttweaker.benchmark.recipe;
+
+import com.blamejared.crafttweaker.api.CraftTweakerAPI;
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.recipe.RecipeList;
+import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
+import com.blamejared.crafttweaker.api.tag.expand.ExpandItemTag;
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.crafting.CraftingRecipe;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes recipes by output from a copy of the crafting recipes of the game, scaled up to the size of a modpack.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(0)
+public class RecipeListBenchmark {
+    
+    @Param({"1", "10"})
+    public int copies;
+    
+    private Map<ResourceLocation, CraftingRecipe> source;
+    private IIngredient output;
+    private Map<ResourceLocation, CraftingRecipe> recipes;
+    private Map<ResourceLocation, Recipe<?>> byName;
+    
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        
+        final List<CraftingRecipe> crafting = CraftTweakerAPI.getAccessibleElementsProvider()
+                .recipeManager()
+                .getAllRecipesFor(RecipeType.CRAFTING);
+        
+        this.source = new HashMap<>();
+        for(int i = 0; i < this.copies; i++) {
+            for(final CraftingRecipe recipe : crafting) {
+                final ResourceLocation id = recipe.getId();
+                this.source.put(new ResourceLocation("benchmark", i + "/" + id.getNamespace() + "/" + id.getPath()), recipe);
+            }
+        }
+        this.output = ExpandItemTag.asIIngredient(CraftTweakerTagRegistry.INSTANCE.knownTagManager(Registry.ITEM_REGISTRY)
+                .tag("minecraft:planks"));
+    }
+    
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        
+        this.recipes = new HashMap<>(this.source);
+        this.byName = new HashMap<>(this.source);
+    }
+    
+    @Benchmark
+    public Map<ResourceLocation, CraftingRecipe> removeByRecipeTest() {
+        
+        final RecipeList<CraftingRecipe> list = new RecipeList<>(RecipeType.CRAFTING, this.recipes, this.byName);
+        list.removeByRecipeTest(it -> this.output.matches(IItemStack.ofMutable(it.getResultItem())));
+        return this.recipes;
+    }
+    
+}
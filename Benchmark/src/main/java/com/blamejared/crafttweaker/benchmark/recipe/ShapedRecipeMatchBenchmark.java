@@ -0,0 +1,123 @@
+package com.blamejared.crafttweaker.benchmark.recipe;
+
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.recipe.MirrorAxis;
+import com.blamejared.crafttweaker.api.recipe.type.CTShapedRecipeBase;
+import com.blamejared.crafttweaker.benchmark.SyntheticData;
+import net.minecraft.core.NonNullList;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.minecraft.world.inventory.CraftingContainer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up a shaped recipe in a crafting grid the way vanilla does, by testing every recipe, and then crafts it.
+ *
+ * <p>The grid holds the last recipe mirrored diagonally and placed in the corner, so recipes that are mirrored have to
+ * try every orientation before they match.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(0)
+public class ShapedRecipeMatchBenchmark {
+    
+    private static final int RECIPES = 64;
+    
+    @Param({"NONE", "ALL"})
+    public MirrorAxis mirrorAxis;
+    
+    private List<CTShapedRecipeBase> recipes;
+    private CraftingContainer container;
+    
+    @Setup
+    public void setup() {
+        
+        final List<Item> items = SyntheticData.items(RECIPES * 4);
+        this.recipes = new ArrayList<>(RECIPES);
+        for(int i = 0; i < RECIPES; i++) {
+            final IIngredient[][] pattern = {
+                    {stack(items.get(i * 4)), stack(items.get(i * 4 + 1))},
+                    {stack(items.get(i * 4 + 2)), stack(items.get(i * 4 + 3))}
+            };
+            this.recipes.add(new CTShapedRecipeBase("benchmark_" + i, IItemStack.of(new ItemStack(Items.DIAMOND)), pattern, this.mirrorAxis, null));
+        }
+        
+        this.container = new CraftingContainer(new BenchmarkMenu(), 3, 3);
+        final int last = (RECIPES - 1) * 4;
+        // Mirrored diagonally, so that only ALL can match it
+        this.container.setItem(4, new ItemStack(items.get(last + 3)));
+        this.container.setItem(5, new ItemStack(items.get(last + 2)));
+        this.container.setItem(7, new ItemStack(items.get(last + 1)));
+        this.container.setItem(8, new ItemStack(items.get(last)));
+    }
+    
+    private static IIngredient stack(final Item item) {
+        
+        return IItemStack.of(new ItemStack(item));
+    }
+    
+    @Benchmark
+    public CTShapedRecipeBase lookup() {
+        
+        for(final CTShapedRecipeBase recipe : this.recipes) {
+            if(recipe.matches(this.container, null)) {
+                return recipe;
+            }
+        }
+        return null;
+    }
+    
+    @Benchmark
+    public NonNullList<ItemStack> craft() {
+        
+        final CTShapedRecipeBase recipe = this.recipes.get(RECIPES - 1);
+        if(!recipe.matches(this.container, null)) {
+            return null;
+        }
+        recipe.assemble(this.container);
+        return recipe.getRemainingItems(this.container);
+    }
+    
+    private static final class BenchmarkMenu extends AbstractContainerMenu {
+        
+        BenchmarkMenu() {
+            
+            super(null, 0);
+        }
+        
+        @Override
+        public ItemStack quickMoveStack(final Player player, final int index) {
+            
+            return ItemStack.EMPTY;
+        }
+        
+        @Override
+        public boolean stillValid(final Player player) {
+            
+            return true;
+        }
+        
+    }
+    
+}
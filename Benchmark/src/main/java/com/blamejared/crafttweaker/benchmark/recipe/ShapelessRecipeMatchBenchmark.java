@@ -0,0 +1,135 @@
+package com.blamejared.crafttweaker.benchmark.recipe;
+
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.ingredient.type.IIngredientList;
+import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.recipe.type.CTShapelessRecipeBase;
+import com.blamejared.crafttweaker.benchmark.SyntheticData;
+import net.minecraft.core.NonNullList;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.minecraft.world.inventory.CraftingContainer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up a shapeless recipe in a crafting grid the way vanilla does, by testing every recipe, and then crafts it.
+ *
+ * <p>With {@code items}, every ingredient is a single item. With {@code overlapping}, every ingredient but the last
+ * accepts two items that the next ingredient accepts as well, and the grid is filled so that taking the first matching
+ * slot for every ingredient leaves no slot for the last one.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(0)
+public class ShapelessRecipeMatchBenchmark {
+    
+    private static final int RECIPES = 64;
+    private static final int INGREDIENTS = 4;
+    
+    @Param({"items", "overlapping"})
+    public String kind;
+    
+    private List<CTShapelessRecipeBase> recipes;
+    private CraftingContainer container;
+    
+    @Setup
+    public void setup() {
+        
+        final List<Item> items = SyntheticData.items(RECIPES * INGREDIENTS);
+        final boolean overlapping = switch(this.kind) {
+            case "items" -> false;
+            case "overlapping" -> true;
+            default -> throw new IllegalArgumentException("Unknown recipe kind " + this.kind);
+        };
+        
+        this.recipes = new ArrayList<>(RECIPES);
+        for(int i = 0; i < RECIPES; i++) {
+            final IIngredient[] ingredients = new IIngredient[INGREDIENTS];
+            for(int j = 0; j < INGREDIENTS; j++) {
+                final Item item = items.get(i * INGREDIENTS + j);
+                if(overlapping && j < INGREDIENTS - 1) {
+                    ingredients[j] = new IIngredientList(new IIngredient[] {stack(item), stack(items.get(i * INGREDIENTS + j + 1))});
+                } else {
+                    ingredients[j] = stack(item);
+                }
+            }
+            this.recipes.add(new CTShapelessRecipeBase("benchmark_" + i, IItemStack.of(new ItemStack(Items.DIAMOND)), ingredients, null));
+        }
+        
+        this.container = new CraftingContainer(new BenchmarkMenu(), 3, 3);
+        final int last = (RECIPES - 1) * INGREDIENTS;
+        // Shifted by one, so that the first ingredient takes the slot of the second one, and so on
+        for(int j = 0; j < INGREDIENTS; j++) {
+            this.container.setItem(j * 2, new ItemStack(items.get(last + (j + 1) % INGREDIENTS)));
+        }
+    }
+    
+    private static IIngredient stack(final Item item) {
+        
+        return IItemStack.of(new ItemStack(item));
+    }
+    
+    @Benchmark
+    public CTShapelessRecipeBase lookup() {
+        
+        for(final CTShapelessRecipeBase recipe : this.recipes) {
+            if(recipe.matches(this.container, null)) {
+                return recipe;
+            }
+        }
+        return null;
+    }
+    
+    @Benchmark
+    public NonNullList<ItemStack> craft() {
+        
+        final CTShapelessRecipeBase recipe = this.recipes.get(RECIPES - 1);
+        if(!recipe.matches(this.container, null)) {
+            return null;
+        }
+        recipe.assemble(this.container);
+        return recipe.getRemainingItems(this.container);
+    }
+    
+    private static final class BenchmarkMenu extends AbstractContainerMenu {
+        
+        BenchmarkMenu() {
+            
+            super(null, 0);
+        }
+        
+        @Override
+        public ItemStack quickMoveStack(final Player player, final int index) {
+            
+            return ItemStack.EMPTY;
+        }
+        
+        @Override
+        public boolean stillValid(final Player player) {
+            
+            return true;
+        }
+        
+    }
+    
+}
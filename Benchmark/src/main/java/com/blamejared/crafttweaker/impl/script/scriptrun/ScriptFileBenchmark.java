@@ -0,0 +1,64 @@
+package com.blamejared.crafttweaker.impl.script.scriptrun;
+
+import com.blamejared.crafttweaker.api.CraftTweakerAPI;
+import com.blamejared.crafttweaker.api.CraftTweakerConstants;
+import com.blamejared.crafttweaker.api.zencode.IPreprocessor;
+import com.blamejared.crafttweaker.api.zencode.scriptrun.ScriptRunConfiguration;
+import com.blamejared.crafttweaker.benchmark.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads and preprocesses a script, as done for every file at the start of a script run.
+ *
+ * <p>This lives in the same package as {@link ScriptFile}, as files are otherwise only created by the run manager.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(0)
+public class ScriptFileBenchmark {
+    
+    @Param({"100", "2000"})
+    public int lines;
+    
+    private String[] contents;
+    private RunInfo info;
+    private List<IPreprocessor> preprocessors;
+    
+    @Setup
+    public void setup() {
+        
+        this.contents = SyntheticData.script(this.lines).split(System.lineSeparator());
+        this.info = RunInfo.create(new ScriptRunConfiguration(
+                CraftTweakerConstants.DEFAULT_LOADER_NAME,
+                CraftTweakerConstants.RELOAD_LISTENER_SOURCE_ID,
+                ScriptRunConfiguration.RunKind.EXECUTE
+        ));
+        this.preprocessors = CraftTweakerAPI.getRegistry().getPreprocessors();
+    }
+    
+    @Benchmark
+    public List<String> preprocess() {
+        
+        return ScriptFile.of("benchmark.zs", Arrays.stream(this.contents), this.info, this.preprocessors)
+                .preprocessEagerly()
+                .preprocessedContents();
+    }
+    
+}
@@ -1,6 +1,7 @@
 package com.blamejared.crafttweaker.gametest.test.api.data;
 
 import com.blamejared.crafttweaker.api.data.IData;
+import com.blamejared.crafttweaker.api.data.IntData;
 import com.blamejared.crafttweaker.api.data.ListData;
 import com.blamejared.crafttweaker.api.data.StringData;
 import com.blamejared.crafttweaker.gametest.CraftTweakerGameTest;
@@ -12,6 +13,9 @@ import com.blamejared.crafttweaker.gametest.logger.appender.GameTestLoggerAppend
 import com.blamejared.crafttweaker.impl.script.scriptrun.GameTestScriptRunner;
 import net.minecraft.gametest.framework.GameTest;
 import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.IntArrayTag;
+import net.minecraft.nbt.IntTag;
+import net.minecraft.nbt.ListTag;
 
 import java.util.Arrays;
 import java.util.Iterator;
@@ -19,6 +23,8 @@ import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @CraftTweakerGameTestHolder
 public class ListDataTest implements CraftTweakerGameTest {
@@ -239,4 +245,111 @@ public class ListDataTest implements CraftTweakerGameTest {
         assertThat(iterator.next().getAsString(), is("second"));
     }
     
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testCopyOnWriteWriteDoesNotAffectSource(GameTestHelper helper) {
+        //Arrange
+        final ListData source = new ListData(nested());
+        final IData copy = source.copyOnWrite();
+        
+        //Act
+        copy.getAt(0).getAt(0).put("0", new IntData(5));
+        
+        //Assert
+        assertThat(source.getAt(0).getAt(0).getAt(0).asInt(), is(1));
+        assertThat(copy.getAt(0).getAt(0).getAt(0).asInt(), is(5));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testSourceWriteDoesNotAffectCopyOnWrite(GameTestHelper helper) {
+        //Arrange
+        final ListTag tag = nested();
+        final ListData source = new ListData(tag);
+        final IData copy = source.copyOnWrite();
+        
+        //Act
+        source.getAt(0).getAt(0).add(new IntData(3));
+        
+        //Assert
+        assertThat(copy.getAt(0).getAt(0).length(), is(2));
+        assertThat(tag.getList(0).getList(0).size(), is(3));
+        assertThat(source.getInternal(), is(sameInstance(tag)));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testCopyOnWriteNestedWritesStayAttached(GameTestHelper helper) {
+        //Arrange
+        final ListData source = new ListData(nested());
+        final IData copy = source.copyOnWrite();
+        final IData inner = copy.getAt(0).getAt(0);
+        
+        //Act
+        inner.put("0", new IntData(5));
+        copy.getAt(0).add(new ListData());
+        inner.add(new IntData(6));
+        
+        //Assert
+        final ListTag outer = ((ListTag) copy.getInternal()).getList(0);
+        assertThat(outer.size(), is(2));
+        assertThat(outer.getList(0).getInt(0), is(5));
+        assertThat(outer.getList(0).getInt(2), is(6));
+        assertThat(source.getInternal(), is(nested()));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testCopyOnWriteArraysAreNotShared(GameTestHelper helper) {
+        //Arrange
+        final ListData source = new ListData(arrays());
+        final IData copy = source.copyOnWrite();
+        
+        //Act
+        copy.getAt(0).getAt(0).put("0", new IntData(5));
+        source.getAt(0).getAt(0).put("1", new IntData(6));
+        
+        //Assert
+        assertThat(copy.getAt(0).getAt(0).asIntArray(), is(new int[] {5, 2}));
+        assertThat(source.getAt(0).getAt(0).asIntArray(), is(new int[] {1, 6}));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testReadOnlyThrowsOnWrite(GameTestHelper helper) {
+        //Arrange
+        final ListData source = new ListData(arrays());
+        final IData readOnly = source.asReadOnly();
+        
+        //Act
+        // Arrays read from a read-only view are copies, so writing to them has no effect
+        readOnly.getAt(0).getAt(0).put("0", new IntData(5));
+        
+        //Assert
+        assertThrows(UnsupportedOperationException.class, () -> readOnly.add(new ListData()));
+        assertThrows(UnsupportedOperationException.class, () -> readOnly.getAt(0).remove(0));
+        assertThat(source.getAt(0).getAt(0).asIntArray(), is(new int[] {1, 2}));
+    }
+    
+    private ListTag nested() {
+        
+        final ListTag inner = new ListTag();
+        inner.add(IntTag.valueOf(1));
+        inner.add(IntTag.valueOf(2));
+        final ListTag outer = new ListTag();
+        outer.add(inner);
+        final ListTag root = new ListTag();
+        root.add(outer);
+        return root;
+    }
+    
+    private ListTag arrays() {
+        
+        final ListTag outer = new ListTag();
+        outer.add(new IntArrayTag(new int[] {1, 2}));
+        final ListTag root = new ListTag();
+        root.add(outer);
+        return root;
+    }
+    
 }
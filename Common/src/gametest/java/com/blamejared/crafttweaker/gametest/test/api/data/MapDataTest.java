@@ -1,6 +1,8 @@
 package com.blamejared.crafttweaker.gametest.test.api.data;
 
 import com.blamejared.crafttweaker.api.data.IData;
+import com.blamejared.crafttweaker.api.data.IntData;
+import com.blamejared.crafttweaker.api.data.MapData;
 import com.blamejared.crafttweaker.api.data.StringData;
 import com.blamejared.crafttweaker.gametest.CraftTweakerGameTest;
 import com.blamejared.crafttweaker.gametest.framework.ScriptBuilder;
@@ -12,12 +14,15 @@ import com.blamejared.crafttweaker.impl.script.scriptrun.GameTestScriptRunner;
 import net.minecraft.gametest.framework.GameTest;
 import net.minecraft.gametest.framework.GameTestHelper;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.IntArrayTag;
 
 import java.util.Map;
 import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @CraftTweakerGameTestHolder
 public class MapDataTest implements CraftTweakerGameTest {
@@ -198,4 +203,119 @@ public class MapDataTest implements CraftTweakerGameTest {
         log.assertOutput(1, "key");
         log.assertOutput(2, "second");
     }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testCopyOnWriteWriteDoesNotAffectSource(GameTestHelper helper) {
+        //Arrange
+        final MapData source = new MapData(nested());
+        final IData copy = source.copyOnWrite();
+        
+        //Act
+        copy.getAt("outer").getAt("inner").put("value", new IntData(2));
+        
+        //Assert
+        assertThat(source.getAt("outer").getAt("inner").getAt("value").asInt(), is(1));
+        assertThat(copy.getAt("outer").getAt("inner").getAt("value").asInt(), is(2));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testSourceWriteDoesNotAffectCopyOnWrite(GameTestHelper helper) {
+        //Arrange
+        final CompoundTag tag = nested();
+        final MapData source = new MapData(tag);
+        final IData copy = source.copyOnWrite();
+        
+        //Act
+        source.getAt("outer").getAt("inner").put("value", new IntData(2));
+        
+        //Assert
+        assertThat(copy.getAt("outer").getAt("inner").getAt("value").asInt(), is(1));
+        assertThat(tag.getCompound("outer").getCompound("inner").getInt("value"), is(2));
+        assertThat(source.getInternal(), is(sameInstance(tag)));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testCopyOnWriteNestedWritesStayAttached(GameTestHelper helper) {
+        //Arrange
+        final MapData source = new MapData(nested());
+        final IData copy = source.copyOnWrite();
+        final IData inner = copy.getAt("outer").getAt("inner");
+        
+        //Act
+        inner.put("value", new IntData(2));
+        copy.getAt("outer").put("sibling", new IntData(3));
+        inner.put("other", new IntData(4));
+        
+        //Assert
+        final CompoundTag outer = ((CompoundTag) copy.getInternal()).getCompound("outer");
+        assertThat(outer.getCompound("inner").getInt("value"), is(2));
+        assertThat(outer.getCompound("inner").getInt("other"), is(4));
+        assertThat(outer.getInt("sibling"), is(3));
+        assertThat(((CompoundTag) source.getInternal()).getCompound("outer"), is(nested().getCompound("outer")));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testCopyOnWriteKeysCannotModifySource(GameTestHelper helper) {
+        //Arrange
+        final MapData source = new MapData(nested());
+        final IData copy = source.copyOnWrite();
+        
+        //Act
+        assertThrows(UnsupportedOperationException.class, () -> copy.getKeys().remove("outer"));
+        assertThrows(UnsupportedOperationException.class, () -> copy.getAt("outer").getKeys().clear());
+        copy.remove("outer");
+        
+        //Assert
+        assertThat(copy.getKeys(), is(Set.of()));
+        assertThat(source.getKeys(), is(Set.of("outer")));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testCopyOnWriteArraysAreNotShared(GameTestHelper helper) {
+        //Arrange
+        final MapData source = new MapData(nested());
+        final IData copy = source.copyOnWrite();
+        
+        //Act
+        copy.getAt("outer").getAt("array").put("0", new IntData(5));
+        source.getAt("outer").getAt("array").put("1", new IntData(6));
+        
+        //Assert
+        assertThat(copy.getAt("outer").getAt("array").asIntArray(), is(new int[] {5, 2}));
+        assertThat(source.getAt("outer").getAt("array").asIntArray(), is(new int[] {1, 6}));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testReadOnlyThrowsOnWrite(GameTestHelper helper) {
+        //Arrange
+        final MapData source = new MapData(nested());
+        final IData readOnly = source.asReadOnly();
+        
+        //Act
+        // Arrays read from a read-only view are copies, so writing to them has no effect
+        readOnly.getAt("outer").getAt("array").put("0", new IntData(5));
+        
+        //Assert
+        assertThrows(UnsupportedOperationException.class, () -> readOnly.put("key", new IntData(1)));
+        assertThrows(UnsupportedOperationException.class, () -> readOnly.getAt("outer").getAt("inner").remove("value"));
+        assertThat(source.getAt("outer").getAt("array").asIntArray(), is(new int[] {1, 2}));
+    }
+    
+    private CompoundTag nested() {
+        
+        final CompoundTag inner = new CompoundTag();
+        inner.putInt("value", 1);
+        final CompoundTag outer = new CompoundTag();
+        outer.put("inner", inner);
+        outer.put("array", new IntArrayTag(new int[] {1, 2}));
+        final CompoundTag root = new CompoundTag();
+        root.put("outer", outer);
+        return root;
+    }
 }
@@ -0,0 +1,183 @@
+package com.blamejared.crafttweaker.gametest.test.api.data.converter;
+
+import com.blamejared.crafttweaker.api.data.BoolData;
+import com.blamejared.crafttweaker.api.data.ByteArrayData;
+import com.blamejared.crafttweaker.api.data.ByteData;
+import com.blamejared.crafttweaker.api.data.DoubleData;
+import com.blamejared.crafttweaker.api.data.FloatData;
+import com.blamejared.crafttweaker.api.data.IData;
+import com.blamejared.crafttweaker.api.data.IntArrayData;
+import com.blamejared.crafttweaker.api.data.IntData;
+import com.blamejared.crafttweaker.api.data.ListData;
+import com.blamejared.crafttweaker.api.data.LongArrayData;
+import com.blamejared.crafttweaker.api.data.LongData;
+import com.blamejared.crafttweaker.api.data.MapData;
+import com.blamejared.crafttweaker.api.data.ShortData;
+import com.blamejared.crafttweaker.api.data.StringData;
+import com.blamejared.crafttweaker.api.data.converter.JSONConverter;
+import com.blamejared.crafttweaker.api.data.converter.JSONStreamConverter;
+import com.blamejared.crafttweaker.api.data.visitor.DataToJsonStringVisitor;
+import com.blamejared.crafttweaker.gametest.CraftTweakerGameTest;
+import com.blamejared.crafttweaker.gametest.framework.annotation.CraftTweakerGameTestHolder;
+import com.blamejared.crafttweaker.gametest.framework.annotation.TestModifier;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@CraftTweakerGameTestHolder
+public class JsonStreamConverterTest implements CraftTweakerGameTest {
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void nullDataWritesNull(GameTestHelper helper) {
+        
+        assertThat(JSONStreamConverter.toJson(null), is("null"));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void nullTextReadsNull(GameTestHelper helper) {
+        
+        assertThat(JSONStreamConverter.read("null"), is(nullValue()));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void primitivesAreWrittenAsJsonValues(GameTestHelper helper) {
+        
+        assertThat(JSONStreamConverter.toJson(new BoolData(true)), is("true"));
+        assertThat(JSONStreamConverter.toJson(new ByteData((byte) 4)), is("4"));
+        assertThat(JSONStreamConverter.toJson(new ShortData((short) 300)), is("300"));
+        assertThat(JSONStreamConverter.toJson(new IntData(70000)), is("70000"));
+        assertThat(JSONStreamConverter.toJson(new LongData(5000000000L)), is("5000000000"));
+        assertThat(JSONStreamConverter.toJson(new FloatData(0.1F)), is("0.1"));
+        assertThat(JSONStreamConverter.toJson(new DoubleData(2.5)), is("2.5"));
+        assertThat(JSONStreamConverter.toJson(new StringData("Hello World")), is("\"Hello World\""));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void arraysAreWrittenAsJsonArrays(GameTestHelper helper) {
+        
+        assertThat(JSONStreamConverter.toJson(new ByteArrayData(new byte[] {1, 2})), is("[1,2]"));
+        assertThat(JSONStreamConverter.toJson(new IntArrayData(new int[] {3, 4})), is("[3,4]"));
+        assertThat(JSONStreamConverter.toJson(new LongArrayData(new long[] {5, 6})), is("[5,6]"));
+        assertThat(JSONStreamConverter.toJson(new ListData(List.of(new IntData(7), new IntData(8)))), is("[7,8]"));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void mapIsWrittenAsJsonObject(GameTestHelper helper) {
+        
+        final Map<String, IData> map = new LinkedHashMap<>();
+        map.put("num", new IntData(0));
+        map.put("greeting", new StringData("Hello World"));
+        
+        assertThat(JSONStreamConverter.toJsonTree(new MapData(map)), is(JsonParser.parseString("{\"num\":0,\"greeting\":\"Hello World\"}")));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void nonFiniteNumbersAreWrittenAndRead(GameTestHelper helper) {
+        
+        assertThat(JSONStreamConverter.toJson(new DoubleData(Double.NaN)), is("NaN"));
+        assertThat(JSONStreamConverter.toJson(new DoubleData(Double.POSITIVE_INFINITY)), is("Infinity"));
+        assertThat(JSONStreamConverter.toJson(new FloatData(Float.NEGATIVE_INFINITY)), is("-Infinity"));
+        
+        assertThat(JSONStreamConverter.read("NaN").asDouble(), is(Double.NaN));
+        assertThat(JSONStreamConverter.read("-Infinity").asDouble(), is(Double.NEGATIVE_INFINITY));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void escapedKeysRoundTrip(GameTestHelper helper) {
+        
+        final String key = "quote\" backslash\\ newline\n";
+        final MapData data = new MapData(Map.of(key, new StringData("value\"\t")));
+        
+        final IData read = JSONStreamConverter.read(JSONStreamConverter.toJson(data));
+        
+        assertThat(read.getKeys(), is(Set.of(key)));
+        assertThat(read.getAt(key), is(new StringData("value\"\t")));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void nullsInObjectsAreSkipped(GameTestHelper helper) {
+        
+        final IData read = JSONStreamConverter.read("{\"a\":null,\"b\":{\"c\":null,\"d\":1}}");
+        
+        assertThat(read.getKeys(), is(Set.of("b")));
+        assertThat(read.getAt("b").getKeys(), is(Set.of("d")));
+        assertThat(read.getAt("b").getAt("d"), is(new DoubleData(1)));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void nullsInListsAreRejected(GameTestHelper helper) {
+        
+        assertThrows(JsonSyntaxException.class, () -> JSONStreamConverter.read("[1,null]"));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void mixedTypeListsFollowTagRules(GameTestHelper helper) {
+        
+        // Numbers all become doubles and booleans become strings, so these lists hold a single tag type
+        final IData numbers = JSONStreamConverter.read("[1,2.5]");
+        final IData strings = JSONStreamConverter.read("[true,\"x\"]");
+        
+        assertThat(numbers, is(instanceOf(ListData.class)));
+        assertThat(numbers.getAt(0), is(new DoubleData(1)));
+        assertThat(numbers.getAt(1), is(new DoubleData(2.5)));
+        assertThat(strings.getAt(0), is(new StringData("true")));
+        assertThat(strings.getAt(1), is(new StringData("x")));
+        assertThrows(UnsupportedOperationException.class, () -> JSONStreamConverter.read("[1,\"x\"]"));
+        assertThrows(UnsupportedOperationException.class, () -> JSONConverter.convert(JsonParser.parseString("[1,\"x\"]")));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void readMatchesJsonConverter(GameTestHelper helper) {
+        
+        final String json = "{\"num\":10,\"bool\":false,\"str\":\"Hello\",\"list\":[1,2,3],\"nested\":{\"skip\":null,\"inner\":[{\"a\":\"b\"}]}}";
+        
+        assertThat(JSONStreamConverter.read(json), is(JSONConverter.convert(JsonParser.parseString(json))));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void writeMatchesDataToJsonStringVisitor(GameTestHelper helper) {
+        
+        final Map<String, IData> map = new LinkedHashMap<>();
+        map.put("bool", new BoolData(true));
+        map.put("byte", new ByteData((byte) 1));
+        map.put("short", new ShortData((short) 2));
+        map.put("int", new IntData(3));
+        map.put("long", new LongData(4));
+        map.put("float", new FloatData(0.1F));
+        map.put("double", new DoubleData(0.2));
+        map.put("string", new StringData("a \"quoted\" string"));
+        map.put("bytes", new ByteArrayData(new byte[] {1, 2}));
+        map.put("ints", new IntArrayData(new int[] {3, 4}));
+        map.put("longs", new LongArrayData(new long[] {5, 6}));
+        map.put("list", new ListData(List.of(new StringData("x"), new StringData("y"))));
+        map.put("map", new MapData(Map.of("inner", new IntData(7))));
+        final MapData data = new MapData(map);
+        
+        assertThat(JsonParser.parseString(JSONStreamConverter.toJson(data)), is(JsonParser.parseString(DataToJsonStringVisitor.INSTANCE.visit(data))));
+    }
+    
+}
@@ -0,0 +1,92 @@
+package com.blamejared.crafttweaker.gametest.test.api.item;
+
+import com.blamejared.crafttweaker.api.action.item.ActionSetBurnTime;
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.item.BurnTimeTable;
+import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
+import com.blamejared.crafttweaker.api.tag.expand.ExpandItemTag;
+import com.blamejared.crafttweaker.gametest.CraftTweakerGameTest;
+import com.blamejared.crafttweaker.gametest.framework.annotation.CraftTweakerGameTestHolder;
+import com.blamejared.crafttweaker.gametest.framework.annotation.TestModifier;
+import com.blamejared.crafttweaker.platform.Services;
+import net.minecraft.core.Registry;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.RecipeType;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@CraftTweakerGameTestHolder
+public class BurnTimeTableTest implements CraftTweakerGameTest {
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testTagSetAfterItemWins(GameTestHelper helper) {
+        
+        final RecipeType<?> type = testType("test_tag_after_item");
+        try {
+            new ActionSetBurnTime(immutableStack(Items.OAK_PLANKS), 100, type).apply();
+            new ActionSetBurnTime(planks(), 200, type).apply();
+            
+            assertThat(BurnTimeTable.of(type).find(new ItemStack(Items.OAK_PLANKS)), is(200));
+            assertThat(BurnTimeTable.of(type).find(new ItemStack(Items.BIRCH_PLANKS)), is(200));
+        } finally {
+            clear(type);
+        }
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testItemSetAfterTagWins(GameTestHelper helper) {
+        
+        final RecipeType<?> type = testType("test_item_after_tag");
+        try {
+            new ActionSetBurnTime(planks(), 200, type).apply();
+            new ActionSetBurnTime(immutableStack(Items.OAK_PLANKS), 100, type).apply();
+            
+            assertThat(BurnTimeTable.of(type).find(new ItemStack(Items.OAK_PLANKS)), is(100));
+            assertThat(BurnTimeTable.of(type).find(new ItemStack(Items.BIRCH_PLANKS)), is(200));
+        } finally {
+            clear(type);
+        }
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testBurnTimeSetAfterLookupIsSeen(GameTestHelper helper) {
+        
+        final RecipeType<?> type = testType("test_set_after_lookup");
+        try {
+            assertThat(BurnTimeTable.of(type).find(new ItemStack(Items.OAK_PLANKS)), is(BurnTimeTable.NO_BURN_TIME));
+            
+            new ActionSetBurnTime(immutableStack(Items.OAK_PLANKS), 100, type).apply();
+            
+            assertThat(BurnTimeTable.of(type).find(new ItemStack(Items.OAK_PLANKS)), is(100));
+        } finally {
+            clear(type);
+        }
+    }
+    
+    // A recipe type that is not registered, so that the burn times set by scripts do not interfere
+    private static RecipeType<?> testType(final String name) {
+        
+        return RecipeType.simple(new ResourceLocation("crafttweaker", name));
+    }
+    
+    private static IIngredient planks() {
+        
+        return ExpandItemTag.asIIngredient(CraftTweakerTagRegistry.INSTANCE.knownTagManager(Registry.ITEM_REGISTRY)
+                .tag(new ResourceLocation("minecraft", "planks")));
+    }
+    
+    private static void clear(final RecipeType<?> type) {
+        
+        Services.EVENT.getBurnTimes().remove(type);
+        BurnTimeTable.invalidate();
+    }
+    
+}
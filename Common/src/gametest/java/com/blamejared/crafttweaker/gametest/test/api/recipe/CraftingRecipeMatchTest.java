@@ -0,0 +1,173 @@
+package com.blamejared.crafttweaker.gametest.test.api.recipe;
+
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.ingredient.type.IIngredientList;
+import com.blamejared.crafttweaker.api.recipe.MirrorAxis;
+import com.blamejared.crafttweaker.api.recipe.type.CTShapedRecipeBase;
+import com.blamejared.crafttweaker.api.recipe.type.CTShapelessRecipeBase;
+import com.blamejared.crafttweaker.gametest.CraftTweakerGameTest;
+import com.blamejared.crafttweaker.gametest.framework.annotation.CraftTweakerGameTestHolder;
+import com.blamejared.crafttweaker.gametest.framework.annotation.TestModifier;
+import net.minecraft.core.NonNullList;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.minecraft.world.inventory.CraftingContainer;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@CraftTweakerGameTestHolder
+public class CraftingRecipeMatchTest implements CraftTweakerGameTest {
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testMirroredShapedRecipeAssemblesFromPatternOrder(GameTestHelper helper) {
+        
+        final CTShapedRecipeBase recipe = new CTShapedRecipeBase(
+                "test_mirrored_assemble",
+                immutableStack(Items.DIRT),
+                new IIngredient[][] {{immutableStack(Items.DIAMOND), immutableStack(Items.WATER_BUCKET)}},
+                MirrorAxis.HORIZONTAL,
+                (usualOut, inputs) -> inputs[0][0]
+        );
+        final CraftingContainer container = mirroredGrid();
+        
+        assertThat(recipe.matches(container, null), is(true));
+        assertThat(recipe.assemble(container).getItem(), is(Items.DIAMOND));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testMirroredShapedRecipeLeavesRemainingItemsInPlacedSlots(GameTestHelper helper) {
+        
+        final CTShapedRecipeBase recipe = new CTShapedRecipeBase(
+                "test_mirrored_remaining",
+                immutableStack(Items.DIRT),
+                new IIngredient[][] {{immutableStack(Items.DIAMOND), immutableStack(Items.WATER_BUCKET)}},
+                MirrorAxis.HORIZONTAL,
+                null
+        );
+        final CTShapedRecipeBase other = new CTShapedRecipeBase(
+                "test_mirrored_other",
+                immutableStack(Items.DIRT),
+                new IIngredient[][] {{immutableStack(Items.EMERALD)}},
+                MirrorAxis.NONE,
+                null
+        );
+        final CraftingContainer container = mirroredGrid();
+        
+        // Vanilla looks up the recipe again before getting the remaining items, so other recipes miss in between
+        assertThat(recipe.matches(container, null), is(true));
+        assertThat(other.matches(container, null), is(false));
+        
+        final NonNullList<ItemStack> remaining = recipe.getRemainingItems(container);
+        assertThat(remaining.get(3).getItem(), is(Items.BUCKET));
+        assertThat(remaining.get(4).isEmpty(), is(true));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testUnmirroredShapedRecipeDoesNotMatchMirroredGrid(GameTestHelper helper) {
+        
+        final CTShapedRecipeBase recipe = new CTShapedRecipeBase(
+                "test_unmirrored",
+                immutableStack(Items.DIRT),
+                new IIngredient[][] {{immutableStack(Items.DIAMOND), immutableStack(Items.WATER_BUCKET)}},
+                MirrorAxis.NONE,
+                null
+        );
+        
+        assertThat(recipe.matches(mirroredGrid(), null), is(false));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testShapelessRecipeMatchesOverlappingIngredients(GameTestHelper helper) {
+        
+        final CTShapelessRecipeBase recipe = new CTShapelessRecipeBase(
+                "test_overlapping",
+                immutableStack(Items.DIRT),
+                overlappingIngredients(),
+                (usualOut, inputs) -> inputs[0]
+        );
+        
+        // Taking the first matching slot for the list would leave no diamond for the second ingredient
+        final CraftingContainer container = grid();
+        container.setItem(0, new ItemStack(Items.DIAMOND));
+        container.setItem(1, new ItemStack(Items.WATER_BUCKET));
+        
+        assertThat(recipe.matches(container, null), is(true));
+        assertThat(recipe.assemble(container).getItem(), is(Items.WATER_BUCKET));
+        
+        final NonNullList<ItemStack> remaining = recipe.getRemainingItems(container);
+        assertThat(remaining.get(0).isEmpty(), is(true));
+        assertThat(remaining.get(1).getItem(), is(Items.BUCKET));
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testShapelessRecipeRejectsExtraStacks(GameTestHelper helper) {
+        
+        final CTShapelessRecipeBase recipe = new CTShapelessRecipeBase(
+                "test_overlapping_extra",
+                immutableStack(Items.DIRT),
+                overlappingIngredients(),
+                null
+        );
+        
+        final CraftingContainer container = grid();
+        container.setItem(0, new ItemStack(Items.DIAMOND));
+        container.setItem(1, new ItemStack(Items.WATER_BUCKET));
+        container.setItem(2, new ItemStack(Items.DIAMOND));
+        
+        assertThat(recipe.matches(container, null), is(false));
+    }
+    
+    private IIngredient[] overlappingIngredients() {
+        
+        return new IIngredient[] {
+                new IIngredientList(new IIngredient[] {immutableStack(Items.DIAMOND), immutableStack(Items.WATER_BUCKET)}),
+                immutableStack(Items.DIAMOND)
+        };
+    }
+    
+    // The pattern of the shaped recipes, mirrored horizontally, in the middle row
+    private static CraftingContainer mirroredGrid() {
+        
+        final CraftingContainer container = grid();
+        container.setItem(3, new ItemStack(Items.WATER_BUCKET));
+        container.setItem(4, new ItemStack(Items.DIAMOND));
+        return container;
+    }
+    
+    private static CraftingContainer grid() {
+        
+        return new CraftingContainer(new TestMenu(), 3, 3);
+    }
+    
+    private static final class TestMenu extends AbstractContainerMenu {
+        
+        TestMenu() {
+            
+            super(null, 0);
+        }
+        
+        @Override
+        public ItemStack quickMoveStack(final Player player, final int index) {
+            
+            return ItemStack.EMPTY;
+        }
+        
+        @Override
+        public boolean stillValid(final Player player) {
+            
+            return true;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,86 @@
+package com.blamejared.crafttweaker.gametest.test.api.tag;
+
+import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
+import com.blamejared.crafttweaker.api.tag.manager.type.KnownTagManager;
+import com.blamejared.crafttweaker.api.tag.type.KnownTag;
+import com.blamejared.crafttweaker.gametest.CraftTweakerGameTest;
+import com.blamejared.crafttweaker.gametest.framework.annotation.CraftTweakerGameTestHolder;
+import com.blamejared.crafttweaker.gametest.framework.annotation.TestModifier;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagManager;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.Items;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+@CraftTweakerGameTestHolder
+public class KnownTagManagerTest implements CraftTweakerGameTest {
+    
+    private static final ResourceLocation TAG_ID = new ResourceLocation("crafttweaker", "test_known_tag");
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testGetTagsForSeesAddedElementsInTransaction(GameTestHelper helper) {
+        
+        final KnownTagManager<Item> manager = manager();
+        final KnownTag<Item> tag = manager.tag(TAG_ID);
+        
+        inTransaction(() -> {
+            manager.addHolders(tag, List.of(holder(Items.EMERALD)));
+            
+            assertThat(manager.getTagsFor(Items.EMERALD), contains(tag));
+            assertThat(manager.getTagsFor(Registry.ITEM.getKey(Items.EMERALD)), contains(tag));
+        });
+    }
+    
+    @GameTest(template = "crafttweaker:empty")
+    @TestModifier(implicitSuccession = true)
+    public void testGetTagsForSeesRemovedElementsInTransaction(GameTestHelper helper) {
+        
+        final KnownTagManager<Item> manager = manager();
+        final KnownTag<Item> tag = manager.tag(TAG_ID);
+        assertThat(manager.getTagsFor(Items.DIAMOND), contains(tag));
+        
+        inTransaction(() -> {
+            manager.removeHolders(tag, List.of(holder(Items.DIAMOND)));
+            
+            assertThat(manager.getTagsFor(Items.DIAMOND), empty());
+            assertThat(manager.getTagsFor(Registry.ITEM.getKey(Items.DIAMOND)), empty());
+        });
+    }
+    
+    // A manager that is not registered, holding a single tag that contains a diamond
+    private static KnownTagManager<Item> manager() {
+        
+        final KnownTagManager<Item> manager = new KnownTagManager<>(Registry.ITEM_REGISTRY, Item.class);
+        manager.bind(new TagManager.LoadResult<>(Registry.ITEM_REGISTRY, new HashMap<>()));
+        manager.addTag(TAG_ID, new ArrayList<>(List.of(holder(Items.DIAMOND))));
+        return manager;
+    }
+    
+    private static Holder<Item> holder(final Item item) {
+        
+        return Registry.ITEM.getHolderOrThrow(Registry.ITEM.getResourceKey(item).orElseThrow());
+    }
+    
+    private static void inTransaction(final Runnable runnable) {
+        
+        CraftTweakerTagRegistry.INSTANCE.beginTransaction();
+        try {
+            runnable.run();
+        } finally {
+            CraftTweakerTagRegistry.INSTANCE.commitTransaction();
+        }
+    }
+    
+}
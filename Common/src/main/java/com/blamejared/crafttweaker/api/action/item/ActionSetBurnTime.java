@@ -2,6 +2,7 @@ package com.blamejared.crafttweaker.api.action.item;
 
 import com.blamejared.crafttweaker.api.action.base.IUndoableAction;
 import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.item.BurnTimeTable;
 import com.blamejared.crafttweaker.api.zencode.IScriptLoadSource;
 import com.blamejared.crafttweaker.platform.Services;
 import net.minecraft.world.item.crafting.RecipeType;
@@ -32,6 +33,7 @@ public class ActionSetBurnTime implements IUndoableAction {
     public void apply() {
         
         Services.EVENT.setBurnTime(ingredient, newBurnTime, recipeType);
+        BurnTimeTable.invalidate();
     }
     
     @Override
@@ -46,6 +48,7 @@ public class ActionSetBurnTime implements IUndoableAction {
         Services.EVENT.getBurnTimes()
                 .getOrDefault(recipeType, List.of())
                 .removeIf(pair -> ingredient.contains(pair.getFirst()));
+        BurnTimeTable.invalidate();
     }
     
     @Override
@@ -19,7 +19,10 @@ public abstract class ActionTooltipBase implements IUndoableAction {
     
     public LinkedList<ITooltipFunction> getTooltip() {
         
-        return Services.CLIENT.getTooltips().computeIfAbsent(stack, iItemStack -> new LinkedList<>());
+        final LinkedList<ITooltipFunction> tooltip = Services.CLIENT.getTooltips().computeIfAbsent(stack, iItemStack -> new LinkedList<>());
+        // The dispatch index holds the lists themselves, but it has to be rebuilt if the ingredient has just been added
+        Services.CLIENT.getTooltipIndex().invalidate();
+        return tooltip;
     }
     
     @Override
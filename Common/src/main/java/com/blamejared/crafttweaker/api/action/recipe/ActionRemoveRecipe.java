@@ -32,6 +32,31 @@ public class ActionRemoveRecipe<T extends Recipe<?>> extends ActionRecipeBase<T>
         getRecipeMutator().removeByRecipeTest(removePredicate);
     }
     
+    /**
+     * Queues this removal in the {@link com.blamejared.crafttweaker.api.recipe.RecipeList} instead of applying it
+     * immediately, allowing multiple removals to be performed in a single pass over the recipes.
+     *
+     * @see #canBeDeferred()
+     */
+    public void applyDeferred() {
+        
+        getRecipeMutator().deferRemovalByRecipeTest(removePredicate, describe());
+    }
+    
+    /**
+     * Whether this action can be applied through {@link #applyDeferred()} without changing its behavior.
+     *
+     * <p>Subclasses may override {@link #apply()} with their own logic, so they are never deferred unless they opt in
+     * by overriding this method. Opting in is only valid if {@link #apply()} removes exactly the recipes that pass
+     * {@link #removePredicate}.</p>
+     *
+     * @return Whether this action can be deferred.
+     */
+    public boolean canBeDeferred() {
+        
+        return getClass() == ActionRemoveRecipe.class;
+    }
+    
     @Override
     public String describe() {
         
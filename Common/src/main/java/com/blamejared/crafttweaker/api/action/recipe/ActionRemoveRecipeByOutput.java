@@ -17,6 +17,18 @@ public class ActionRemoveRecipeByOutput<T extends Recipe<?>> extends ActionRemov
         describeDefaultRemoval(output);
     }
     
+    @Override
+    public void apply() {
+        
+        getRecipeMutator().removeByOutput(output);
+    }
+    
+    @Override
+    public boolean canBeDeferred() {
+        
+        return getClass() == ActionRemoveRecipeByOutput.class;
+    }
+    
     @Override
     public boolean validate(Logger logger) {
         
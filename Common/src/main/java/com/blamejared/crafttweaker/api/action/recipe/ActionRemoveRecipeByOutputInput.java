@@ -16,20 +16,25 @@ public class ActionRemoveRecipeByOutputInput<T extends Recipe<?>> extends Action
         
         super(manager, recipe -> {
             ItemStack recipeOutput = recipe.getResultItem();
-            if(output.matches(IItemStack.ofMutable(recipeOutput))) {
-                for(IItemStack item : input.getItems()) {
-                    if(recipe.getIngredients().get(0).test(item.getInternal())) {
-                        return true;
-                    }
-                }
-            }
-            return false;
+            return output.matches(IItemStack.ofMutable(recipeOutput)) && matchesInput(recipe, input);
         }, action -> "Removing \"" + action.getRecipeTypeName() + "\" recipes that output: " + output + "\" from an input of: " + input.getCommandString());
         this.output = output;
         this.input = input;
         
     }
     
+    @Override
+    public void apply() {
+        
+        getRecipeMutator().removeByOutput(output, recipe -> matchesInput(recipe, input));
+    }
+    
+    @Override
+    public boolean canBeDeferred() {
+        
+        return getClass() == ActionRemoveRecipeByOutputInput.class;
+    }
+    
     @Override
     public boolean validate(Logger logger) {
         
@@ -44,4 +49,14 @@ public class ActionRemoveRecipeByOutputInput<T extends Recipe<?>> extends Action
         return true;
     }
     
+    private static boolean matchesInput(Recipe<?> recipe, IIngredient input) {
+        
+        for(IItemStack item : input.getItems()) {
+            if(recipe.getIngredients().get(0).test(item.getInternal())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
 }
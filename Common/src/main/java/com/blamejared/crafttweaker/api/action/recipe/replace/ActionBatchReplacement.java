@@ -1,8 +1,12 @@
 package com.blamejared.crafttweaker.api.action.recipe.replace;
 
 import com.blamejared.crafttweaker.api.CraftTweakerAPI;
+import com.blamejared.crafttweaker.api.CraftTweakerConstants;
 import com.blamejared.crafttweaker.api.action.base.IRuntimeAction;
 import com.blamejared.crafttweaker.api.bracket.custom.RecipeTypeBracketHandler;
+import com.blamejared.crafttweaker.api.ingredient.type.IIngredientConditioned;
+import com.blamejared.crafttweaker.api.ingredient.type.IIngredientList;
+import com.blamejared.crafttweaker.api.ingredient.type.IIngredientTransformed;
 import com.blamejared.crafttweaker.api.recipe.component.IDecomposedRecipe;
 import com.blamejared.crafttweaker.api.recipe.handler.IRecipeHandler;
 import com.blamejared.crafttweaker.api.recipe.manager.GenericRecipesManager;
@@ -10,38 +14,265 @@ import com.blamejared.crafttweaker.api.recipe.manager.base.IRecipeManager;
 import com.blamejared.crafttweaker.api.recipe.replacement.IFilteringRule;
 import com.blamejared.crafttweaker.api.recipe.replacement.IReplacerRegistry;
 import com.blamejared.crafttweaker.api.recipe.replacement.ReplacementRequest;
+import com.blamejared.crafttweaker.api.recipe.replacement.type.TypeFilteringRule;
 import com.blamejared.crafttweaker.api.util.GenericUtil;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.Sets;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.Container;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.crafting.Recipe;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public final class ActionBatchReplacement implements IRuntimeAction {
     
+    private record Target<C extends Container, T extends Recipe<C>>(
+            T recipe,
+            IRecipeHandler<T> handler,
+            IRecipeManager<? super T> manager,
+            List<ActionBatchReplacement> batches
+    ) {}
+    
+    private record Evaluation(Target<?, ?> target, IDecomposedRecipe recipe, ActionBatchReplacement failedBatch, RuntimeException error) {
+        
+        static Evaluation replaced(final Target<?, ?> target, final IDecomposedRecipe recipe) {
+            
+            return new Evaluation(target, recipe, null, null);
+        }
+        
+        static Evaluation unchanged(final Target<?, ?> target) {
+            
+            return new Evaluation(target, null, null, null);
+        }
+        
+        static Evaluation failed(final Target<?, ?> target, final ActionBatchReplacement batch, final RuntimeException error) {
+            
+            return new Evaluation(target, null, batch, error);
+        }
+        
+        boolean hasFailed() {
+            
+            return this.failedBatch != null;
+        }
+        
+        void enqueue() {
+            
+            if(this.recipe != null) {
+                ActionBatchReplacement.enqueue(this.target, this.recipe);
+            }
+        }
+        
+    }
+    
+    /**
+     * Replacements that are carried out in the same traversal of the recipes.
+     */
+    private static final class Group {
+        
+        private final List<ActionBatchReplacement> batches;
+        private final List<Set<Recipe<?>>> targeted;
+        private final Set<Recipe<?>> allTargeted;
+        private Set<Item> produced;
+        
+        Group() {
+            
+            this.batches = new ArrayList<>();
+            this.targeted = new ArrayList<>();
+            this.allTargeted = Sets.newIdentityHashSet();
+            this.produced = new HashSet<>();
+        }
+        
+        boolean canFuse(final ActionBatchReplacement batch, final Set<Recipe<?>> targets) {
+            
+            if(this.batches.isEmpty()) {
+                return true;
+            }
+            
+            if(this.produced == null) {
+                return false;
+            }
+            
+            final Optional<Set<Item>> items = ReplacementTargetIndex.findTargetedItems(batch.requests);
+            if(items.isEmpty() || !Collections.disjoint(items.get(), this.produced)) {
+                return false;
+            }
+            
+            return !batch.filtersByIdentity() || Collections.disjoint(targets, this.allTargeted);
+        }
+        
+        void add(final ActionBatchReplacement batch, final Set<Recipe<?>> targets) {
+            
+            this.batches.add(batch);
+            this.targeted.add(targets);
+            this.allTargeted.addAll(targets);
+            if(this.produced != null) {
+                this.produced = ReplacementTargetIndex.findProducedItems(batch.requests)
+                        .map(it -> {
+                            it.addAll(this.produced);
+                            return it;
+                        })
+                        .orElse(null);
+            }
+        }
+        
+        List<ActionBatchReplacement> apply(final List<Recipe<?>> recipes, final BiConsumer<ActionBatchReplacement, RuntimeException> onFailure) {
+            
+            while(!this.batches.isEmpty()) {
+                final List<Target<?, ?>> targets = recipes.stream()
+                        .filter(this.allTargeted::contains)
+                        .map(it -> target(it, this.batchesTargeting(it)))
+                        .filter(it -> !it.batches().isEmpty())
+                        .toList();
+                
+                final List<Evaluation> evaluations = this.batches.stream().allMatch(it -> it.parallel)
+                        ? evaluateInParallel(targets)
+                        : this.evaluateSerially(targets);
+                final Optional<Evaluation> failure = evaluations.stream().filter(Evaluation::hasFailed).findFirst();
+                if(failure.isEmpty()) {
+                    evaluations.forEach(Evaluation::enqueue);
+                    return List.copyOf(this.batches);
+                }
+                
+                // Nothing has been replaced yet, so the other replacements can simply be evaluated again
+                final int index = this.batches.indexOf(failure.get().failedBatch());
+                this.batches.remove(index);
+                this.targeted.remove(index);
+                onFailure.accept(failure.get().failedBatch(), failure.get().error());
+            }
+            return List.of();
+        }
+        
+        private List<Evaluation> evaluateSerially(final List<Target<?, ?>> targets) {
+            
+            final List<Evaluation> evaluations = new ArrayList<>(targets.size());
+            for(final Target<?, ?> target : targets) {
+                final Evaluation evaluation = evaluate(target);
+                evaluations.add(evaluation);
+                if(evaluation.hasFailed()) {
+                    break;
+                }
+            }
+            return evaluations;
+        }
+        
+        private List<ActionBatchReplacement> batchesTargeting(final Recipe<?> recipe) {
+            
+            final List<ActionBatchReplacement> targeting = new ArrayList<>();
+            for(int i = 0, s = this.batches.size(); i < s; ++i) {
+                if(this.targeted.get(i).contains(recipe)) {
+                    targeting.add(this.batches.get(i));
+                }
+            }
+            return targeting;
+        }
+        
+    }
+    
+    // Workers carry the class loader of the mod, as mod loaders rely on it to find classes
+    private static final Supplier<ForkJoinPool> REPLACEMENT_POOL = Suppliers.memoize(() -> new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), pool -> {
+        
+        final ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool); // Daemon by default
+        t.setName(CraftTweakerConstants.MOD_ID + ":replacement_worker_" + t.getPoolIndex());
+        t.setContextClassLoader(ActionBatchReplacement.class.getClassLoader());
+        return t;
+    }, null, false));
+    
     private final Collection<IFilteringRule> targetingRules;
     private final Collection<ReplacementRequest<?>> requests;
     private final IReplacerRegistry registry;
+    private final boolean parallel;
+    private final boolean scriptFree;
     
-    private ActionBatchReplacement(final Collection<IFilteringRule> targetingRules, final Collection<ReplacementRequest<?>> requests) {
+    private ActionBatchReplacement(final Collection<IFilteringRule> targetingRules, final Collection<ReplacementRequest<?>> requests, final boolean parallel) {
         
         this.targetingRules = targetingRules;
         this.requests = requests;
         this.registry = CraftTweakerAPI.getRegistry().getReplacerRegistry();
+        this.parallel = parallel;
+        this.scriptFree = requests.stream().allMatch(this::isScriptFree);
     }
     
     public static ActionBatchReplacement of(final Collection<IFilteringRule> targetingRules, final Collection<ReplacementRequest<?>> requests) {
         
-        return new ActionBatchReplacement(targetingRules, requests);
+        return of(targetingRules, requests, false);
+    }
+    
+    public static ActionBatchReplacement of(final Collection<IFilteringRule> targetingRules, final Collection<ReplacementRequest<?>> requests, final boolean parallel) {
+        
+        return new ActionBatchReplacement(targetingRules, requests, parallel);
+    }
+    
+    /**
+     * Carries out all the given replacements, merging consecutive ones into a single traversal of the recipes, so that
+     * every recipe is decomposed and recomposed at most once per traversal.
+     *
+     * <p>A replacement is only merged with the previous ones if the result is the same as carrying them out one after
+     * the other. That is the case when the items it targets are known and none of them can be produced by the previous
+     * replacements; additionally, if it filters recipes by anything but their type, none of the recipes it targets may
+     * be targeted by the previous replacements, since those recipes would be renamed. The targets of all merged
+     * replacements are determined before any of them is carried out, and every recipe then undergoes the requests of
+     * all replacements that target it, in the order in which the replacements are given.</p>
+     *
+     * <p>Replacements are evaluated for all targeted recipes before any recipe is replaced. If one of them fails, it is
+     * reported to the given consumer and the remaining ones are evaluated again without it, so that a failing
+     * replacement never leaves recipes half replaced. Parallel evaluation is used only if all merged replacements
+     * allow it, and even then recipes whose handler is not {@linkplain IRecipeHandler#isThreadSafe() thread-safe} or
+     * that are targeted by requests which may invoke script functions are evaluated serially.</p>
+     *
+     * @param batches   The replacements to carry out, in submission order.
+     * @param onFailure Notified of every replacement that fails, together with the error it failed with.
+     *
+     * @return The replacements that were carried out successfully, in submission order.
+     */
+    public static List<ActionBatchReplacement> applyFused(final List<ActionBatchReplacement> batches, final BiConsumer<ActionBatchReplacement, RuntimeException> onFailure) {
+        
+        final List<ActionBatchReplacement> applied = new ArrayList<>();
+        int next = 0;
+        while(next < batches.size()) {
+            // Every traversal replaces recipes, so the following ones need to look at the new recipes
+            final List<Recipe<?>> recipes = GenericRecipesManager.INSTANCE.getAllRecipes();
+            final Group group = new Group();
+            for(; next < batches.size(); ++next) {
+                final ActionBatchReplacement batch = batches.get(next);
+                final Set<Recipe<?>> targets;
+                try {
+                    targets = batch.findTargets(recipes);
+                } catch(final RuntimeException e) {
+                    onFailure.accept(batch, e);
+                    continue;
+                }
+                
+                if(!group.canFuse(batch, targets)) {
+                    break;
+                }
+                group.add(batch, targets);
+            }
+            applied.addAll(group.apply(recipes, onFailure));
+        }
+        return applied;
     }
     
     @Override
     public void apply() {
         
-        this.castFilters(GenericRecipesManager.INSTANCE.getAllRecipes().stream()).forEach(this::replace);
+        applyFused(List.of(this), (batch, e) -> {
+            throw e;
+        });
     }
     
     @Override
@@ -56,6 +287,13 @@ public final class ActionBatchReplacement implements IRuntimeAction {
         );
     }
     
+    private Set<Recipe<?>> findTargets(final List<Recipe<?>> recipes) {
+        
+        return this.narrow(this.castFilters(recipes.stream()))
+                .<Recipe<?>> map(it -> it)
+                .collect(Collectors.toCollection(Sets::newIdentityHashSet));
+    }
+    
     private Stream<? extends Recipe<?>> castFilters(final Stream<? extends Recipe<?>> recipeStream) {
         
         return Stream.concat(this.registry.filters().stream(), this.targetingRules.stream())
@@ -64,36 +302,101 @@ public final class ActionBatchReplacement implements IRuntimeAction {
                 .orElseGet(() -> GenericUtil.uncheck(recipeStream));
     }
     
-    private <C extends Container, T extends Recipe<C>> void replace(final T recipe) {
+    private Stream<? extends Recipe<?>> narrow(final Stream<? extends Recipe<?>> recipes) {
+        
+        return ReplacementTargetIndex.findTargetedItems(this.requests)
+                .<Stream<? extends Recipe<?>>> map(it -> ReplacementTargetIndex.get().narrow(recipes.toList(), it).stream())
+                .orElse(recipes);
+    }
+    
+    private boolean filtersByIdentity() {
+        
+        return this.targetingRules.stream().anyMatch(it -> !(it instanceof TypeFilteringRule));
+    }
+    
+    // Scripts are not thread-safe, so requests may only be applied in parallel if they cannot call back into them:
+    // predicates, operators and strategies that do not come from the registry may all be script functions
+    private boolean isScriptFree(final ReplacementRequest<?> request) {
+        
+        final boolean knownStrategy = this.registry.allStrategyNames()
+                .stream()
+                .map(this.registry::findStrategy)
+                .anyMatch(it -> it == request.strategy());
+        return knownStrategy
+                && request.replacer().result().isPresent()
+                && request.target().oracle().filter(ActionBatchReplacement::isPlainOracle).isPresent();
+    }
+    
+    private static boolean isPlainOracle(final Object oracle) {
+        
+        if(oracle instanceof IIngredientList list) {
+            return Arrays.stream(list.getIngredients()).allMatch(ActionBatchReplacement::isPlainOracle);
+        }
+        // Conditions and transformers may be script functions, and they are invoked when matching
+        return !(oracle instanceof IIngredientConditioned<?>) && !(oracle instanceof IIngredientTransformed<?>);
+    }
+    
+    // Handlers and managers are looked up through caches that are not thread-safe, so this must happen serially
+    private static <C extends Container, T extends Recipe<C>> Target<?, ?> target(final T recipe, final List<ActionBatchReplacement> batches) {
         
         final IRecipeHandler<T> handler = CraftTweakerAPI.getRegistry().getRecipeHandlerFor(recipe);
         final IRecipeManager<? super T> manager = GenericUtil.uncheck(RecipeTypeBracketHandler.getOrDefault(recipe.getType()));
-        handler.decompose(manager, recipe).ifPresent(it -> this.replace(manager, handler, recipe.getId(), it));
+        return new Target<>(recipe, handler, manager, batches);
     }
     
-    private <C extends Container, T extends Recipe<C>> void replace(
-            final IRecipeManager<? super T> manager,
-            final IRecipeHandler<T> handler,
-            final ResourceLocation name,
-            final IDecomposedRecipe recipe
-    ) {
+    private static List<Evaluation> evaluateInParallel(final List<Target<?, ?>> targets) {
         
-        if(this.apply(recipe)) {
-            
-            CraftTweakerAPI.apply(new ActionReplaceRecipe<>(name, manager, newName -> this.rebuild(recipe, manager, handler, newName)));
+        // The evaluations are collected in encounter order, so recipes are replaced in the same order as serially
+        final List<Evaluation> evaluations = new ArrayList<>(REPLACEMENT_POOL.get().submit(() -> targets.parallelStream()
+                .map(it -> canEvaluateInParallel(it) ? evaluate(it) : null)
+                .toList()).join());
+        for(int i = 0, s = evaluations.size(); i < s; ++i) {
+            if(evaluations.get(i) == null) {
+                evaluations.set(i, evaluate(targets.get(i)));
+            }
         }
+        return evaluations;
     }
     
-    private boolean apply(final IDecomposedRecipe recipe) {
+    private static boolean canEvaluateInParallel(final Target<?, ?> target) {
+        
+        return target.handler().isThreadSafe() && target.batches().stream().allMatch(it -> it.scriptFree);
+    }
+    
+    private static <C extends Container, T extends Recipe<C>> Evaluation evaluate(final Target<C, T> target) {
+        
+        final Optional<IDecomposedRecipe> decomposed;
+        try {
+            decomposed = target.handler().decompose(target.manager(), target.recipe());
+        } catch(final RuntimeException e) {
+            return Evaluation.failed(target, target.batches().get(0), e);
+        }
+        
+        if(decomposed.isEmpty()) {
+            return Evaluation.unchanged(target);
+        }
         
         boolean any = false;
-        for(final ReplacementRequest<?> request : this.requests) {
-            any |= request.applyRequest(recipe);
+        for(final ActionBatchReplacement batch : target.batches()) {
+            try {
+                for(final ReplacementRequest<?> request : batch.requests) {
+                    any |= request.applyRequest(decomposed.get());
+                }
+            } catch(final RuntimeException e) {
+                return Evaluation.failed(target, batch, e);
+            }
         }
-        return any;
+        return any ? Evaluation.replaced(target, decomposed.get()) : Evaluation.unchanged(target);
+    }
+    
+    private static <C extends Container, T extends Recipe<C>> void enqueue(final Target<C, T> target, final IDecomposedRecipe recipe) {
+        
+        final ResourceLocation name = target.recipe().getId();
+        final IRecipeManager<? super T> manager = target.manager();
+        CraftTweakerAPI.apply(new ActionReplaceRecipe<>(name, manager, newName -> rebuild(recipe, manager, target.handler(), newName)));
     }
     
-    private <C extends Container, T extends Recipe<C>> T rebuild(
+    private static <C extends Container, T extends Recipe<C>> T rebuild(
             final IDecomposedRecipe recipe,
             final IRecipeManager<? super T> manager,
             final IRecipeHandler<T> handler,
@@ -0,0 +1,190 @@
+package com.blamejared.crafttweaker.api.action.recipe.replace;
+
+import com.blamejared.crafttweaker.api.CraftTweakerAPI;
+import com.blamejared.crafttweaker.api.CraftTweakerConstants;
+import com.blamejared.crafttweaker.api.bracket.custom.RecipeTypeBracketHandler;
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.recipe.component.BuiltinRecipeComponents;
+import com.blamejared.crafttweaker.api.recipe.component.IDecomposedRecipe;
+import com.blamejared.crafttweaker.api.recipe.component.IRecipeComponent;
+import com.blamejared.crafttweaker.api.recipe.handler.IRecipeHandler;
+import com.blamejared.crafttweaker.api.recipe.manager.base.IRecipeManager;
+import com.blamejared.crafttweaker.api.recipe.replacement.ITargetingStrategy;
+import com.blamejared.crafttweaker.api.recipe.replacement.ReplacementRequest;
+import com.blamejared.crafttweaker.api.util.GenericUtil;
+import com.blamejared.crafttweaker.api.util.IngredientUtil;
+import com.google.common.collect.MapMaker;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.Container;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.crafting.Recipe;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reverse index mapping the items that can appear in the ingredients or outputs of a recipe to the id of that recipe.
+ *
+ * <p>The index is shared across all replacers executed against the same recipe manager, meaning that every recipe is
+ * decomposed for indexing at most once per run. Recipes that have been added or replaced since the index was last
+ * queried are indexed lazily.</p>
+ *
+ * <p>Only requests that target one of the builtin ingredient or item components with a known oracle through one of the
+ * default targeting strategies can be served by the index: any other request requires every recipe to be examined.</p>
+ */
+final class ReplacementTargetIndex {
+    
+    private static final Map<Object, ReplacementTargetIndex> INDICES = new MapMaker().weakKeys().makeMap();
+    private static final List<IRecipeComponent<? extends IIngredient>> INDEXED_COMPONENTS = List.of(
+            BuiltinRecipeComponents.Input.INGREDIENTS,
+            BuiltinRecipeComponents.Output.ITEMS
+    );
+    private static final List<ResourceLocation> INDEXED_STRATEGIES = List.of(
+            ITargetingStrategy.DEFAULT_STRATEGY_ID,
+            CraftTweakerConstants.rl("deep")
+    );
+    
+    private final Map<ResourceLocation, Recipe<?>> indexedRecipes;
+    private final Map<ResourceLocation, Set<Item>> itemsById;
+    private final Map<Item, Set<ResourceLocation>> idsByItem;
+    private final Set<ResourceLocation> unindexable;
+    
+    private ReplacementTargetIndex() {
+        
+        this.indexedRecipes = new HashMap<>();
+        this.itemsById = new HashMap<>();
+        this.idsByItem = new HashMap<>();
+        this.unindexable = new HashSet<>();
+    }
+    
+    static ReplacementTargetIndex get() {
+        
+        return INDICES.computeIfAbsent(CraftTweakerAPI.getAccessibleElementsProvider().accessibleRecipeManager(), it -> new ReplacementTargetIndex());
+    }
+    
+    /**
+     * Gathers the items that a recipe must contain to possibly be affected by the given requests.
+     *
+     * @return The items, or an empty optional if at least one of the requests cannot be indexed.
+     */
+    static Optional<Set<Item>> findTargetedItems(final Collection<ReplacementRequest<?>> requests) {
+        
+        final Set<Item> items = new HashSet<>();
+        for(final ReplacementRequest<?> request : requests) {
+            if(!collectTargetedItems(request, items)) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(items);
+    }
+    
+    /**
+     * Gathers the items that the given requests can put into the components that targeted items are looked up in.
+     *
+     * @return The items, or an empty optional if at least one of the requests has a replacement that is not known in
+     * advance.
+     */
+    static Optional<Set<Item>> findProducedItems(final Collection<ReplacementRequest<?>> requests) {
+        
+        final Set<Item> items = new HashSet<>();
+        for(final ReplacementRequest<?> request : requests) {
+            if(!INDEXED_COMPONENTS.contains(request.component())) {
+                continue;
+            }
+            
+            final boolean known = request.replacer()
+                    .result()
+                    .filter(IIngredient.class::isInstance)
+                    .map(IIngredient.class::cast)
+                    .map(it -> IngredientUtil.collectCandidateItems(it, items, true))
+                    .orElse(false);
+            if(!known) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(items);
+    }
+    
+    private static boolean collectTargetedItems(final ReplacementRequest<?> request, final Set<Item> items) {
+        
+        if(!INDEXED_COMPONENTS.contains(request.component())) {
+            return false;
+        }
+        
+        if(INDEXED_STRATEGIES.stream().map(ITargetingStrategy::find).noneMatch(it -> it == request.strategy())) {
+            return false;
+        }
+        
+        return request.target()
+                .oracle()
+                .filter(IIngredient.class::isInstance)
+                .map(IIngredient.class::cast)
+                .map(it -> IngredientUtil.collectCandidateItems(it, items, true))
+                .orElse(false);
+    }
+    
+    /**
+     * Narrows the given recipes down to the ones that could contain any of the given items, preserving their order.
+     */
+    List<Recipe<?>> narrow(final List<? extends Recipe<?>> recipes, final Set<Item> items) {
+        
+        recipes.stream()
+                .filter(it -> this.indexedRecipes.get(it.getId()) != it)
+                .forEach(it -> this.index(it.getId(), GenericUtil.uncheck(it)));
+        
+        final Set<ResourceLocation> candidates = new HashSet<>(this.unindexable);
+        items.forEach(it -> candidates.addAll(this.idsByItem.getOrDefault(it, Set.of())));
+        return recipes.stream()
+                .filter(it -> candidates.contains(it.getId()))
+                .<Recipe<?>> map(it -> it)
+                .toList();
+    }
+    
+    private <C extends Container, T extends Recipe<C>> void index(final ResourceLocation id, final T recipe) {
+        
+        this.forget(id);
+        this.indexedRecipes.put(id, recipe);
+        
+        final IRecipeHandler<T> handler = CraftTweakerAPI.getRegistry().getRecipeHandlerFor(recipe);
+        final IRecipeManager<? super T> manager = GenericUtil.uncheck(RecipeTypeBracketHandler.getOrDefault(recipe.getType()));
+        final Optional<IDecomposedRecipe> decomposed = handler.decompose(manager, recipe);
+        if(decomposed.isEmpty()) {
+            return;
+        }
+        
+        final Set<Item> items = new HashSet<>();
+        for(final IRecipeComponent<? extends IIngredient> component : INDEXED_COMPONENTS) {
+            final List<? extends IIngredient> contents = decomposed.get().get(component);
+            if(contents != null && !contents.stream().allMatch(it -> IngredientUtil.collectCandidateItems(it, items, true))) {
+                this.unindexable.add(id);
+                return;
+            }
+        }
+        
+        this.itemsById.put(id, items);
+        items.forEach(it -> this.idsByItem.computeIfAbsent(it, item -> new HashSet<>()).add(id));
+    }
+    
+    private void forget(final ResourceLocation id) {
+        
+        this.indexedRecipes.remove(id);
+        this.unindexable.remove(id);
+        final Set<Item> items = this.itemsById.remove(id);
+        if(items == null) {
+            return;
+        }
+        
+        items.forEach(it -> {
+            final Set<ResourceLocation> ids = this.idsByItem.get(it);
+            if(ids != null && ids.remove(id) && ids.isEmpty()) {
+                this.idsByItem.remove(it);
+            }
+        });
+    }
+    
+}
@@ -46,7 +46,8 @@ public abstract class ActionTag<T extends MCTag, U extends ITagManager<T>> imple
     @Override
     public boolean validate(Logger logger) {
         
-        if(mcTag().getInternal() == null) {
+        // Querying the internal tag would apply all pending edits of the manager when in transactional mode
+        if(!manager().internalTags().containsKey(id())) {
             logger.error("Tag {} does not exist!", mcTag(), new NullPointerException("Internal tag was null!"));
             return false;
         }
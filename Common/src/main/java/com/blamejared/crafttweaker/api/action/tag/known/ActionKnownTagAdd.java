@@ -14,7 +14,7 @@ public class ActionKnownTagAdd<T> extends ActionKnownTagModify<T> {
     @Override
     public void apply() {
         
-        tag().addAll(holderValues());
+        manager().addHolders(mcTag(), holderValues());
     }
     
     @Override
@@ -12,7 +12,7 @@ public class ActionKnownTagClear<T> extends ActionKnownTag<T> {
     @Override
     public void apply() {
         
-        tag().clear();
+        manager().clearHolders(mcTag());
     }
     
     @Override
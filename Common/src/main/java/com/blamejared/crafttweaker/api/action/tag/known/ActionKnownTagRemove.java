@@ -14,7 +14,7 @@ public class ActionKnownTagRemove<T> extends ActionKnownTagModify<T> {
     @Override
     public void apply() {
         
-        tag().removeAll(holderValues());
+        manager().removeHolders(mcTag(), holderValues());
     }
     
     @Override
@@ -15,7 +15,7 @@ public class ActionUnknownTagAdd extends ActionUnknownTagModify {
     @Override
     public void apply() {
         
-        tag().addAll(holderValues());
+        manager().addHolders(mcTag(), holderValues());
     }
     
     @Override
@@ -12,7 +12,7 @@ public class ActionUnknownTagClear extends ActionUnknownTag {
     @Override
     public void apply() {
         
-        tag().clear();
+        manager().clearHolders(mcTag());
     }
     
     @Override
@@ -15,7 +15,7 @@ public class ActionUnknownTagRemove extends ActionUnknownTagModify {
     @Override
     public void apply() {
         
-        tag().removeAll(holderValues());
+        manager().removeHolders(mcTag(), holderValues());
     }
     
     @Override
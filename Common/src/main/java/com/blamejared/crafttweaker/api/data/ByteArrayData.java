@@ -59,12 +59,12 @@ public class ByteArrayData implements IData {
     
     @Override
     public boolean contains(IData other) {
-    
+        
         if(other.isListable()) {
             List<IData> dataValues = other.asList();
             return dataValues != null && containsList(dataValues);
         }
-    
+        
         return getInternal().contains(ByteTag.valueOf(other.asByte()));
     }
     
@@ -150,6 +150,13 @@ public class ByteArrayData implements IData {
         return new ByteArrayData((ByteArrayTag) getInternal().copy());
     }
     
+    @Override
+    public IData asReadOnly() {
+        
+        // Arrays can be modified in place, so a view could not protect them
+        return copyInternal();
+    }
+    
     @Override
     public <T> T accept(DataVisitor<T> visitor) {
         
@@ -0,0 +1,124 @@
+package com.blamejared.crafttweaker.api.data;
+
+import com.blamejared.crafttweaker.api.data.converter.tag.TagToDataConverter;
+import net.minecraft.nbt.CollectionTag;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers shared by the container {@link IData} types to support copy-on-write copies and read-only views.
+ *
+ * <p>A copy-on-write copy is <em>shared</em>: it wraps the same tag as the data it was copied from, which keeps owning
+ * that tag. Before being modified, a shared container replaces its tag with a shallow copy and reattaches it to its
+ * parent, which in turn copies itself if it is shared too. The children of a shallow copy are still shared, so the
+ * wrappers created for them are marked as shared as well.</p>
+ *
+ * <p>The data a copy was made from is not affected by the copy: instead, the copy is registered as a <em>borrower</em>
+ * of the outermost container, and every borrower is detached with a deep copy of its tag before that container or any
+ * of its children is modified. This way, a container wrapping a live tag keeps writing through to it. Changes made to
+ * the tag without going through {@link IData}, or through array wrappers obtained before the copy was made, are not
+ * tracked and are visible to the borrowers until they are detached.</p>
+ *
+ * <p>Child wrappers are cached by their parent, so that repeated reads of the same element do not create a new wrapper
+ * every time.</p>
+ */
+final class CopyOnWrite {
+    
+    /**
+     * A cached child wrapper, along with the tag it was created for.
+     *
+     * <p>The entry is only valid as long as the parent still holds the same tag instance.</p>
+     */
+    record Child(Tag tag, IData data) {}
+    
+    /**
+     * Connects a child wrapper to the container it was read from.
+     */
+    interface Link {
+        
+        /**
+         * Replaces the tag of the child in the container, if the container still holds {@code previous}.
+         */
+        void reattach(Tag previous, Tag replacement);
+        
+        /**
+         * Notifies the container that the tag of the child is about to be modified in place.
+         */
+        void beforeWrite();
+        
+        /**
+         * Registers a copy-on-write copy of the child with the outermost container.
+         */
+        void lend(IData borrower);
+        
+    }
+    
+    /**
+     * The copy-on-write copies sharing the tag of an outermost container, or of one of its children.
+     *
+     * <p>Copies are referenced weakly, so that copies which are no longer used do not have to be detached.</p>
+     */
+    static final class Borrowers {
+        
+        private final List<WeakReference<IData>> references = new ArrayList<>();
+        
+        void add(final IData borrower) {
+            
+            references.removeIf(it -> it.get() == null);
+            references.add(new WeakReference<>(borrower));
+        }
+        
+        void detachAll() {
+            
+            references.forEach(it -> {
+                final IData borrower = it.get();
+                if(borrower instanceof MapData map) {
+                    map.detach();
+                } else if(borrower instanceof ListData list) {
+                    list.detach();
+                }
+            });
+            references.clear();
+        }
+        
+    }
+    
+    private CopyOnWrite() {}
+    
+    static IData wrap(final Tag tag, final boolean shared, final boolean readOnly, final Link link) {
+        
+        if(tag instanceof CompoundTag compound) {
+            return new MapData(compound, readOnly, shared, link);
+        }
+        if(tag instanceof ListTag list) {
+            return new ListData(list, readOnly, shared, link);
+        }
+        return TagToDataConverter.convert(tag);
+    }
+    
+    static boolean isMutableLeaf(final Tag tag) {
+        
+        // Arrays are the only non-container tags that can be modified in place
+        return tag instanceof CollectionTag<?> && !(tag instanceof ListTag);
+    }
+    
+    static void adopt(final IData data, final Tag tag) {
+        
+        if(data instanceof MapData map && tag instanceof CompoundTag compound) {
+            map.adopt(compound);
+        } else if(data instanceof ListData list && tag instanceof ListTag listTag) {
+            list.adopt(listTag);
+        }
+    }
+    
+    static UnsupportedOperationException readOnly() {
+        
+        return new UnsupportedOperationException("Cannot modify read-only data");
+    }
+    
+}
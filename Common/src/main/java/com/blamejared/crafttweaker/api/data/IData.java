@@ -687,6 +687,35 @@ public interface IData extends Comparable<IData>, Iterable<IData> {
     
     IData copyInternal();
     
+    /**
+     * Creates a copy of this IData that shares its internal tag with this IData until either of them is modified.
+     *
+     * <p>For data types that do not support copy-on-write this is the same as a full copy.</p>
+     *
+     * @return A copy of this IData.
+     */
+    @ZenCodeType.Method
+    default IData copyOnWrite() {
+        
+        return copyInternal();
+    }
+    
+    /**
+     * Gets a read-only view of this IData.
+     *
+     * <p>Maps and lists are wrapped in a view that throws when modified, including the maps and lists read from it,
+     * and never copies the internal tag. Arrays can be modified in place, so they are copied instead, both when this
+     * is called on an array and when an array is read from a read-only map or list: modifying such a copy does not
+     * throw, but has no effect on this IData.</p>
+     *
+     * @return A read-only view of this IData.
+     */
+    @ZenCodeType.Method
+    default IData asReadOnly() {
+        
+        return this;
+    }
+    
     <T> T accept(DataVisitor<T> visitor);
     
     /**
@@ -763,7 +792,7 @@ public interface IData extends Comparable<IData>, Iterable<IData> {
                         continue outer;
                     }
                 }
-        
+                
                 return false;
             }
             return true;
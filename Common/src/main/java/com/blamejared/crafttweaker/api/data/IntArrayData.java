@@ -59,7 +59,7 @@ public class IntArrayData implements IData {
     
     @Override
     public boolean contains(IData other) {
-    
+        
         if(other.isListable()) {
             List<IData> dataValues = other.asList();
             return dataValues != null && containsList(dataValues);
@@ -150,6 +150,13 @@ public class IntArrayData implements IData {
         return new IntArrayData(getInternal().copy());
     }
     
+    @Override
+    public IData asReadOnly() {
+        
+        // Arrays can be modified in place, so a view could not protect them
+        return copyInternal();
+    }
+    
     @Override
     public <T> T accept(DataVisitor<T> visitor) {
         
@@ -10,8 +10,10 @@ import org.jetbrains.annotations.NotNull;
 import org.openzen.zencode.java.ZenCodeType;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -25,25 +27,42 @@ import java.util.stream.IntStream;
 @Document("vanilla/api/data/ListData")
 public class ListData implements IData {
     
-    private final ListTag internal;
+    private final boolean readOnly;
+    private final CopyOnWrite.Link link;
+    private ListTag internal;
+    private boolean shared;
+    private boolean sharedChildren;
+    private Map<Integer, CopyOnWrite.Child> children;
+    private CopyOnWrite.Borrowers borrowers;
     
     public ListData(ListTag internal) {
         
+        this(internal, false, false, null);
+    }
+    
+    ListData(ListTag internal, boolean readOnly, boolean shared, CopyOnWrite.Link link) {
+        
         this.internal = internal;
+        this.readOnly = readOnly;
+        this.link = link;
+        this.shared = shared;
+        this.sharedChildren = false;
+        this.children = null;
+        this.borrowers = null;
     }
     
     @ZenCodeType.Constructor
     public ListData() {
         
-        this.internal = new ListTag();
+        this(new ListTag());
     }
     
     @ZenCodeType.Constructor
     public ListData(List<IData> list) {
         
-        this.internal = new ListTag();
+        this();
         if(list != null) {
-            list.forEach(iData -> getInternal().add(iData.getInternal()));
+            list.forEach(iData -> internal.add(iData.getInternal()));
         }
     }
     
@@ -53,24 +72,47 @@ public class ListData implements IData {
         this(Arrays.asList(array));
     }
     
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The tag can be freely modified by the caller: copy-on-write copies of this data are detached first, and a
+     * copy-on-write copy copies its tag first. Read-only views return a copy of their tag.</p>
+     */
     @Override
     public ListTag getInternal() {
         
+        if(readOnly) {
+            return internal.copy();
+        }
+        beforeWrite();
+        ensureDetached();
         return internal;
     }
     
+    /**
+     * Gets the type of the elements of this list, without copying the internal tag.
+     *
+     * @return The id of the type of the elements of this list.
+     */
+    public byte getElementType() {
+        
+        return internal.getElementType();
+    }
+    
     @Override
     public IData add(IData other) {
         
-        getInternal().add(other.getInternal());
+        ensureWritable();
+        internal.add(other.getInternal());
         return this;
     }
     
     @Override
     public void put(String index, IData value) {
         
+        ensureWritable();
         try {
-            getInternal().setTag(Integer.parseInt(index), value.getInternal());
+            internal.setTag(Integer.parseInt(index), value.getInternal());
         } catch(NumberFormatException e) {
             throw new IllegalArgumentException("Provided index: '%s' is not an Integer!".formatted(index));
         }
@@ -79,13 +121,42 @@ public class ListData implements IData {
     @Override
     public void remove(int index) {
         
-        getInternal().remove(index);
+        ensureWritable();
+        internal.remove(index);
     }
     
     @Override
     public IData getAt(int index) {
         
-        return TagToDataConverter.convert(getInternal().get(index));
+        Tag tag = internal.get(index);
+        if(!readOnly && CopyOnWrite.isMutableLeaf(tag)) {
+            // The wrapper modifies the array in place, which the copies of this list must not see
+            beforeWrite();
+        }
+        
+        final CopyOnWrite.Child cached = children == null ? null : children.get(index);
+        if(cached != null && cached.tag() == tag) {
+            return cached.data();
+        }
+        
+        final IData data;
+        if(readOnly && CopyOnWrite.isMutableLeaf(tag)) {
+            data = TagToDataConverter.convert(tag.copy());
+        } else {
+            if((shared || sharedChildren) && CopyOnWrite.isMutableLeaf(tag)) {
+                // Arrays are not tracked, so they are copied into this list as soon as they are accessed
+                ensureWritable();
+                tag = tag.copy();
+                internal.setTag(index, tag);
+            }
+            data = CopyOnWrite.wrap(tag, shared || sharedChildren, readOnly, childLink());
+        }
+        
+        if(children == null) {
+            children = new HashMap<>();
+        }
+        children.put(index, new CopyOnWrite.Child(tag, data));
+        return data;
     }
     
     @Override
@@ -98,8 +169,8 @@ public class ListData implements IData {
             }
         }
         
-        for(Tag value : getInternal()) {
-            if(TagToDataConverter.convert(value).contains(other)) {
+        for(int i = 0; i < internal.size(); i++) {
+            if(getAt(i).contains(other)) {
                 return true;
             }
         }
@@ -127,7 +198,7 @@ public class ListData implements IData {
     @Override
     public List<IData> asList() {
         
-        return getInternal().stream().map(TagToDataConverter::convert).toList();
+        return IntStream.range(0, internal.size()).mapToObj(this::getAt).toList();
     }
     
     @Override
@@ -172,7 +243,7 @@ public class ListData implements IData {
     @Override
     public int length() {
         
-        return asList().size();
+        return internal.size();
     }
     
     @Override
@@ -190,13 +261,30 @@ public class ListData implements IData {
     @Override
     public IData copy() {
         
-        return new ListData(getInternal());
+        return readOnly ? this : new ListData(getInternal());
     }
     
     @Override
     public IData copyInternal() {
         
-        return new ListData(getInternal().copy());
+        return new ListData(internal.copy());
+    }
+    
+    @Override
+    public IData copyOnWrite() {
+        
+        if(readOnly) {
+            return copyInternal();
+        }
+        final ListData copy = new ListData(internal, false, true, null);
+        lend(copy);
+        return copy;
+    }
+    
+    @Override
+    public IData asReadOnly() {
+        
+        return readOnly ? this : new ListData(internal, true, false, null);
     }
     
     @Override
@@ -221,13 +309,13 @@ public class ListData implements IData {
             return false;
         }
         ListData iData = (ListData) o;
-        return Objects.equals(getInternal(), iData.getInternal());
+        return Objects.equals(internal, iData.internal);
     }
     
     @Override
     public int hashCode() {
         
-        return Objects.hash(getInternal());
+        return Objects.hash(internal);
     }
     
     @Override
@@ -236,4 +324,133 @@ public class ListData implements IData {
         return getAsString();
     }
     
+    void adopt(ListTag tag) {
+        
+        final ListTag previous = internal;
+        internal = tag;
+        shared = false;
+        sharedChildren = false;
+        adoptChildren(previous);
+    }
+    
+    void detach() {
+        
+        beforeWrite();
+        ensureDetached();
+    }
+    
+    private void ensureWritable() {
+        
+        if(readOnly) {
+            throw CopyOnWrite.readOnly();
+        }
+        beforeWrite();
+        if(!shared) {
+            return;
+        }
+        
+        final ListTag previous = internal;
+        final ListTag copy = new ListTag();
+        copy.addAll(previous);
+        internal = copy;
+        shared = false;
+        sharedChildren = true;
+        if(link != null) {
+            link.reattach(previous, copy);
+        }
+    }
+    
+    private void ensureDetached() {
+        
+        if(!shared && !sharedChildren) {
+            return;
+        }
+        
+        final ListTag previous = internal;
+        adopt(previous.copy());
+        if(link != null) {
+            link.reattach(previous, internal);
+        }
+    }
+    
+    private void beforeWrite() {
+        
+        if(link != null) {
+            link.beforeWrite();
+        } else if(borrowers != null) {
+            borrowers.detachAll();
+        }
+    }
+    
+    private void lend(IData borrower) {
+        
+        if(link != null) {
+            link.lend(borrower);
+            return;
+        }
+        if(borrowers == null) {
+            borrowers = new CopyOnWrite.Borrowers();
+        }
+        borrowers.add(borrower);
+    }
+    
+    private CopyOnWrite.Link childLink() {
+        
+        return new CopyOnWrite.Link() {
+            @Override
+            public void reattach(Tag previous, Tag replacement) {
+                
+                reattachChild(previous, replacement);
+            }
+            
+            @Override
+            public void beforeWrite() {
+                
+                ListData.this.beforeWrite();
+            }
+            
+            @Override
+            public void lend(IData borrower) {
+                
+                ListData.this.lend(borrower);
+            }
+        };
+    }
+    
+    // Moves the cached wrappers over to the deep copy of their tag, so that they stay attached to this list
+    private void adoptChildren(ListTag previous) {
+        
+        if(children == null) {
+            return;
+        }
+        
+        final Map<Integer, CopyOnWrite.Child> adopted = new HashMap<>();
+        children.forEach((index, child) -> {
+            if(index >= previous.size() || child.tag() != previous.get(index) || CopyOnWrite.isMutableLeaf(child.tag())) {
+                return;
+            }
+            final Tag tag = internal.get(index);
+            CopyOnWrite.adopt(child.data(), tag);
+            adopted.put(index, new CopyOnWrite.Child(tag, child.data()));
+        });
+        children = adopted;
+    }
+    
+    private void reattachChild(Tag previous, Tag replacement) {
+        
+        // Elements may have moved since the wrapper was created, and wrappers whose tag has been replaced in the
+        // meantime are no longer part of this list
+        for(int i = 0; i < internal.size(); i++) {
+            if(internal.get(i) == previous) {
+                ensureWritable();
+                internal.setTag(i, replacement);
+                final CopyOnWrite.Child cached = children == null ? null : children.get(i);
+                if(cached != null && cached.tag() == previous) {
+                    children.put(i, new CopyOnWrite.Child(replacement, cached.data()));
+                }
+                return;
+            }
+        }
+    }
+    
 }
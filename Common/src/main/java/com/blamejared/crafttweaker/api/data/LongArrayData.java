@@ -66,12 +66,12 @@ public class LongArrayData implements IData {
     
     @Override
     public boolean contains(IData other) {
-    
+        
         if(other.isListable()) {
             List<IData> dataValues = other.asList();
             return dataValues != null && containsList(dataValues);
         }
-    
+        
         return getInternal().contains(LongTag.valueOf(other.asLong()));
     }
     
@@ -151,6 +151,13 @@ public class LongArrayData implements IData {
         return new LongArrayData(getInternal().copy());
     }
     
+    @Override
+    public IData asReadOnly() {
+        
+        // Arrays can be modified in place, so a view could not protect them
+        return copyInternal();
+    }
+    
     @Override
     public <T> T accept(DataVisitor<T> visitor) {
         
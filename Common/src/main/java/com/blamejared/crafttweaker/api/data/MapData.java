@@ -6,9 +6,12 @@ import com.blamejared.crafttweaker.api.data.visitor.DataVisitor;
 import com.blamejared.crafttweaker_annotations.annotations.Document;
 import com.mojang.datafixers.util.Pair;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
 import org.jetbrains.annotations.NotNull;
 import org.openzen.zencode.java.ZenCodeType;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
@@ -24,19 +27,40 @@ import java.util.stream.Collectors;
 @Document("vanilla/api/data/MapData")
 public class MapData implements IData {
     
-    private final CompoundTag internal;
     private final Set<String> boolDataKeys;
+    private final boolean readOnly;
+    private final CopyOnWrite.Link link;
+    private CompoundTag internal;
+    private boolean shared;
+    private boolean sharedChildren;
+    private Map<String, CopyOnWrite.Child> children;
+    private CopyOnWrite.Borrowers borrowers;
     
     public MapData(CompoundTag internal, Set<String> boolDataKeys) {
         
-        this.internal = internal;
-        this.boolDataKeys = boolDataKeys;
+        this(internal, boolDataKeys, false, false, null);
     }
     
     public MapData(CompoundTag internal) {
         
+        this(internal, new HashSet<>());
+    }
+    
+    MapData(CompoundTag internal, boolean readOnly, boolean shared, CopyOnWrite.Link link) {
+        
+        this(internal, new HashSet<>(), readOnly, shared, link);
+    }
+    
+    private MapData(CompoundTag internal, Set<String> boolDataKeys, boolean readOnly, boolean shared, CopyOnWrite.Link link) {
+        
         this.internal = internal;
-        this.boolDataKeys = new HashSet<>();
+        this.boolDataKeys = boolDataKeys;
+        this.readOnly = readOnly;
+        this.link = link;
+        this.shared = shared;
+        this.sharedChildren = false;
+        this.children = null;
+        this.borrowers = null;
     }
     
     @ZenCodeType.Constructor
@@ -63,8 +87,10 @@ public class MapData implements IData {
     @ZenCodeType.Method
     public void putAll(Map<String, IData> map) {
         
+        ensureWritable();
         map.forEach((s, iData) -> {
-            getInternal().put(s, iData.getInternal());
+            forget(s);
+            internal.put(s, iData.getInternal());
             if(iData instanceof BoolData) {
                 boolDataKeys.add(s);
             }
@@ -93,16 +119,46 @@ public class MapData implements IData {
     public IData getAt(String key) {
         
         if(boolDataKeys.contains(key)) {
-            return getInternal().getByte(key) == 1 ? BoolData.TRUE : BoolData.FALSE;
+            return internal.getByte(key) == 1 ? BoolData.TRUE : BoolData.FALSE;
+        }
+        
+        Tag tag = internal.get(key);
+        if(tag == null) {
+            return null;
+        }
+        if(!readOnly && CopyOnWrite.isMutableLeaf(tag)) {
+            // The wrapper modifies the array in place, which the copies of this map must not see
+            beforeWrite();
+        }
+        
+        final CopyOnWrite.Child cached = children == null ? null : children.get(key);
+        if(cached != null && cached.tag() == tag) {
+            return cached.data();
         }
         
-        return TagToDataConverter.convert(getInternal().get(key));
+        final IData data;
+        if(readOnly && CopyOnWrite.isMutableLeaf(tag)) {
+            data = TagToDataConverter.convert(tag.copy());
+        } else {
+            if((shared || sharedChildren) && CopyOnWrite.isMutableLeaf(tag)) {
+                // Arrays are not tracked, so they are copied into this map as soon as they are accessed
+                ensureWritable();
+                tag = tag.copy();
+                internal.put(key, tag);
+            }
+            data = CopyOnWrite.wrap(tag, shared || sharedChildren, readOnly, linkTo(key));
+        }
+        
+        if(children == null) {
+            children = new HashMap<>();
+        }
+        children.put(key, new CopyOnWrite.Child(tag, data));
+        return data;
     }
     
     @Override
     public boolean contains(IData other) {
         
-        CompoundTag internal = this.getInternal();
         if(other instanceof StringData) {
             return internal.contains(other.getAsString());
         }
@@ -115,7 +171,7 @@ public class MapData implements IData {
         for(Map.Entry<String, IData> dataEntry : dataMap.entrySet()) {
             if(!internal.contains(dataEntry.getKey())) {
                 return false;
-            } else if(!TagToDataConverter.convert(internal.get(dataEntry.getKey())).contains(dataEntry.getValue())) {
+            } else if(!getAt(dataEntry.getKey()).contains(dataEntry.getValue())) {
                 return false;
             }
         }
@@ -126,14 +182,16 @@ public class MapData implements IData {
     @Override
     public void put(String name, @ZenCodeType.Nullable IData data) {
         
+        ensureWritable();
+        forget(name);
         if(data == null) {
             boolDataKeys.remove(name);
-            getInternal().remove(name);
+            internal.remove(name);
         } else {
             if(data instanceof BoolData) {
                 boolDataKeys.add(name);
             }
-            getInternal().put(name, data.getInternal());
+            internal.put(name, data.getInternal());
         }
     }
     
@@ -169,7 +227,7 @@ public class MapData implements IData {
     @Override
     public Map<String, IData> asMap() {
         
-        return getInternal().getAllKeys()
+        return internal.getAllKeys()
                 .stream()
                 .map(s -> Pair.of(s, getAt(s)))
                 .collect(Collectors.toMap(Pair::getFirst, Pair::getSecond));
@@ -178,37 +236,74 @@ public class MapData implements IData {
     @Override
     public int length() {
         
-        return getInternal().size();
+        return internal.size();
     }
     
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Removing keys from the returned set removes them from this map only if this map owns its tag outright. While
+     * the tag may be shared with copy-on-write copies, or is part of the tag of a container this map was read from, an
+     * unmodifiable view is returned instead, and {@link #remove(String)} has to be used.</p>
+     */
     @Override
     public Set<String> getKeys() {
         
-        return getInternal().getAllKeys();
+        // The key set writes through to the tag without going through ensureWritable
+        final boolean exclusive = !readOnly && !shared && !sharedChildren && link == null && borrowers == null;
+        return exclusive ? internal.getAllKeys() : Collections.unmodifiableSet(internal.getAllKeys());
     }
     
     @Override
     public @NotNull Iterator<IData> iterator() {
         
-        return getInternal().getAllKeys().stream().map(StringData::new).map(iData -> (IData) iData).toList().iterator();
+        return internal.getAllKeys().stream().map(StringData::new).map(iData -> (IData) iData).toList().iterator();
     }
     
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The tag can be freely modified by the caller: copy-on-write copies of this data are detached first, and a
+     * copy-on-write copy copies its tag first. Read-only views return a copy of their tag.</p>
+     */
     @Override
     public CompoundTag getInternal() {
         
+        if(readOnly) {
+            return internal.copy();
+        }
+        beforeWrite();
+        ensureDetached();
         return internal;
     }
     
     @Override
     public IData copy() {
         
-        return new MapData(getInternal(), boolDataKeys);
+        return readOnly ? this : new MapData(getInternal(), boolDataKeys);
     }
     
     @Override
     public IData copyInternal() {
         
-        return new MapData(getInternal().copy(), new HashSet<>(boolDataKeys));
+        return new MapData(internal.copy(), new HashSet<>(boolDataKeys));
+    }
+    
+    @Override
+    public IData copyOnWrite() {
+        
+        if(readOnly) {
+            return copyInternal();
+        }
+        final MapData copy = new MapData(internal, new HashSet<>(boolDataKeys), false, true, null);
+        lend(copy);
+        return copy;
+    }
+    
+    @Override
+    public IData asReadOnly() {
+        
+        return readOnly ? this : new MapData(internal, boolDataKeys, true, false, null);
     }
     
     @Override
@@ -225,16 +320,19 @@ public class MapData implements IData {
     
     public Set<String> boolDataKeys() {
         
-        return boolDataKeys;
+        return readOnly ? Collections.unmodifiableSet(boolDataKeys) : boolDataKeys;
     }
     
     @Override
     public IData merge(IData other) {
         
         if(other instanceof MapData map) {
+            // Merging modifies nested maps in place, so they cannot be shared
+            ensureWritable();
+            ensureDetached();
             Set<String> newBoolDataKeys = new HashSet<>(boolDataKeys);
             newBoolDataKeys.addAll(map.boolDataKeys);
-            return new MapData(getInternal().merge(map.getInternal()), newBoolDataKeys);
+            return new MapData(internal.merge(map.getInternal()), newBoolDataKeys);
         }
         throw new IllegalArgumentException("Cannot merge incompatible data type: " + other.getType());
     }
@@ -249,13 +347,13 @@ public class MapData implements IData {
             return false;
         }
         MapData iData = (MapData) o;
-        return Objects.equals(getInternal(), iData.getInternal()) && Objects.equals(boolDataKeys, iData.boolDataKeys);
+        return Objects.equals(internal, iData.internal) && Objects.equals(boolDataKeys, iData.boolDataKeys);
     }
     
     @Override
     public int hashCode() {
         
-        return Objects.hash(getInternal(), boolDataKeys);
+        return Objects.hash(internal, boolDataKeys);
     }
     
     @Override
@@ -264,4 +362,137 @@ public class MapData implements IData {
         return getAsString();
     }
     
+    void adopt(CompoundTag tag) {
+        
+        final CompoundTag previous = internal;
+        internal = tag;
+        shared = false;
+        sharedChildren = false;
+        adoptChildren(previous);
+    }
+    
+    void detach() {
+        
+        beforeWrite();
+        ensureDetached();
+    }
+    
+    private void ensureWritable() {
+        
+        if(readOnly) {
+            throw CopyOnWrite.readOnly();
+        }
+        beforeWrite();
+        if(!shared) {
+            return;
+        }
+        
+        final CompoundTag previous = internal;
+        final CompoundTag copy = new CompoundTag();
+        previous.getAllKeys().forEach(key -> copy.put(key, previous.get(key)));
+        internal = copy;
+        shared = false;
+        sharedChildren = true;
+        if(link != null) {
+            link.reattach(previous, copy);
+        }
+    }
+    
+    private void ensureDetached() {
+        
+        if(!shared && !sharedChildren) {
+            return;
+        }
+        
+        final CompoundTag previous = internal;
+        adopt(previous.copy());
+        if(link != null) {
+            link.reattach(previous, internal);
+        }
+    }
+    
+    private void beforeWrite() {
+        
+        if(link != null) {
+            link.beforeWrite();
+        } else if(borrowers != null) {
+            borrowers.detachAll();
+        }
+    }
+    
+    private void lend(IData borrower) {
+        
+        if(link != null) {
+            link.lend(borrower);
+            return;
+        }
+        if(borrowers == null) {
+            borrowers = new CopyOnWrite.Borrowers();
+        }
+        borrowers.add(borrower);
+    }
+    
+    private CopyOnWrite.Link linkTo(String key) {
+        
+        return new CopyOnWrite.Link() {
+            @Override
+            public void reattach(Tag previous, Tag replacement) {
+                
+                reattachChild(key, previous, replacement);
+            }
+            
+            @Override
+            public void beforeWrite() {
+                
+                MapData.this.beforeWrite();
+            }
+            
+            @Override
+            public void lend(IData borrower) {
+                
+                MapData.this.lend(borrower);
+            }
+        };
+    }
+    
+    // Moves the cached wrappers over to the deep copy of their tag, so that they stay attached to this map
+    private void adoptChildren(CompoundTag previous) {
+        
+        if(children == null) {
+            return;
+        }
+        
+        final Map<String, CopyOnWrite.Child> adopted = new HashMap<>();
+        children.forEach((key, child) -> {
+            if(child.tag() != previous.get(key) || CopyOnWrite.isMutableLeaf(child.tag())) {
+                return;
+            }
+            final Tag tag = internal.get(key);
+            CopyOnWrite.adopt(child.data(), tag);
+            adopted.put(key, new CopyOnWrite.Child(tag, child.data()));
+        });
+        children = adopted;
+    }
+    
+    private void reattachChild(String key, Tag previous, Tag replacement) {
+        
+        // Wrappers whose tag has been replaced in the meantime are no longer part of this map
+        if(internal.get(key) != previous) {
+            return;
+        }
+        ensureWritable();
+        internal.put(key, replacement);
+        final CopyOnWrite.Child cached = children == null ? null : children.get(key);
+        if(cached != null && cached.tag() == previous) {
+            children.put(key, new CopyOnWrite.Child(replacement, cached.data()));
+        }
+    }
+    
+    private void forget(String key) {
+        
+        if(children != null) {
+            children.remove(key);
+        }
+    }
+    
 }
@@ -1,29 +1,54 @@
 package com.blamejared.crafttweaker.api.data.converter;
 
-import com.blamejared.crafttweaker.api.data.ByteData;
-import com.blamejared.crafttweaker.api.data.DoubleData;
-import com.blamejared.crafttweaker.api.data.FloatData;
 import com.blamejared.crafttweaker.api.data.IData;
-import com.blamejared.crafttweaker.api.data.IntData;
-import com.blamejared.crafttweaker.api.data.ListData;
-import com.blamejared.crafttweaker.api.data.LongData;
 import com.blamejared.crafttweaker.api.data.MapData;
-import com.blamejared.crafttweaker.api.data.ShortData;
-import com.blamejared.crafttweaker.api.data.StringData;
-import com.google.gson.JsonArray;
+import com.blamejared.crafttweaker.api.data.converter.tag.TagToDataConverter;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import net.minecraft.nbt.ByteTag;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.DoubleTag;
+import net.minecraft.nbt.FloatTag;
+import net.minecraft.nbt.IntTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.LongTag;
+import net.minecraft.nbt.ShortTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import javax.annotation.Nullable;
 import java.util.Map;
+import java.util.Objects;
 
 public class JSONConverter {
     
     public static IData convert(JsonElement json) {
         
+        return TagToDataConverter.convert(convertToTag(json));
+    }
+    
+    public static MapData convert(JsonObject jsonObject) {
+        
+        if(jsonObject == null) {
+            return null;
+        }
+        
+        return new MapData(convertToTag(jsonObject));
+    }
+    
+    /**
+     * Converts the given JsonElement straight to a vanilla Tag, without creating an IData for every element.
+     *
+     * <p>{@code null} values in objects are skipped, as a Tag cannot hold them.</p>
+     *
+     * @param json The element to convert.
+     *
+     * @return The Tag representation of the element, or {@code null} if the element is {@code null}.
+     */
+    @Nullable
+    public static Tag convertToTag(JsonElement json) {
+        
         if(json == null) {
             return null;
         }
@@ -31,7 +56,7 @@ public class JSONConverter {
         if(json.isJsonPrimitive()) {
             final JsonPrimitive primitive = json.getAsJsonPrimitive();
             if(primitive.isString() || primitive.isBoolean()) {
-                return new StringData(primitive.getAsString());
+                return StringTag.valueOf(primitive.getAsString());
             } else {
                 
                 Number number = primitive.getAsNumber();
@@ -40,31 +65,30 @@ public class JSONConverter {
                 }
                 
                 if(number instanceof Integer) {
-                    return new IntData(number.intValue());
+                    return IntTag.valueOf(number.intValue());
                 } else if(number instanceof Byte) {
-                    return new ByteData(number.byteValue());
+                    return ByteTag.valueOf(number.byteValue());
                 } else if(number instanceof Double) {
-                    return new DoubleData(number.doubleValue());
+                    return DoubleTag.valueOf(number.doubleValue());
                 } else if(number instanceof Float) {
-                    return new FloatData(number.floatValue());
+                    return FloatTag.valueOf(number.floatValue());
                 } else if(number instanceof Long) {
-                    return new LongData(number.longValue());
+                    return LongTag.valueOf(number.longValue());
                 } else if(number instanceof Short) {
-                    return new ShortData(number.shortValue());
+                    return ShortTag.valueOf(number.shortValue());
                 }
                 
-                return new DoubleData(number.doubleValue());
+                return DoubleTag.valueOf(number.doubleValue());
             }
             
         } else if(json.isJsonArray()) {
-            final JsonArray asJsonArray = json.getAsJsonArray();
-            final List<IData> dataList = new ArrayList<>(asJsonArray.size());
-            for(JsonElement jsonElement : asJsonArray) {
-                dataList.add(JSONConverter.convert(jsonElement));
+            final ListTag list = new ListTag();
+            for(JsonElement jsonElement : json.getAsJsonArray()) {
+                list.add(Objects.requireNonNull(convertToTag(jsonElement), "Lists cannot contain null values"));
             }
-            return new ListData(dataList);
+            return list;
         } else if(json.isJsonObject()) {
-            return convert(json.getAsJsonObject());
+            return convertToTag(json.getAsJsonObject());
         } else {
             //Must be jsonNull
             //Otherwise, good as fallthrough I guess?
@@ -72,17 +96,16 @@ public class JSONConverter {
         }
     }
     
-    public static MapData convert(JsonObject jsonObject) {
-        
-        if(jsonObject == null) {
-            return null;
-        }
+    private static CompoundTag convertToTag(JsonObject jsonObject) {
         
-        final Map<String, IData> dataMap = new HashMap<>();
+        final CompoundTag compound = new CompoundTag();
         for(Map.Entry<String, JsonElement> e : jsonObject.entrySet()) {
-            dataMap.put(e.getKey(), JSONConverter.convert(e.getValue()));
+            final Tag value = convertToTag(e.getValue());
+            if(value != null) {
+                compound.put(e.getKey(), value);
+            }
         }
-        return new MapData(dataMap);
+        return compound;
     }
     
 }
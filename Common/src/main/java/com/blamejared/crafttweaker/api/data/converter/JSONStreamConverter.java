@@ -0,0 +1,401 @@
+package com.blamejared.crafttweaker.api.data.converter;
+
+import com.blamejared.crafttweaker.api.data.BoolData;
+import com.blamejared.crafttweaker.api.data.ByteArrayData;
+import com.blamejared.crafttweaker.api.data.ByteData;
+import com.blamejared.crafttweaker.api.data.DoubleData;
+import com.blamejared.crafttweaker.api.data.FloatData;
+import com.blamejared.crafttweaker.api.data.IData;
+import com.blamejared.crafttweaker.api.data.IntArrayData;
+import com.blamejared.crafttweaker.api.data.IntData;
+import com.blamejared.crafttweaker.api.data.ListData;
+import com.blamejared.crafttweaker.api.data.LongArrayData;
+import com.blamejared.crafttweaker.api.data.LongData;
+import com.blamejared.crafttweaker.api.data.MapData;
+import com.blamejared.crafttweaker.api.data.ShortData;
+import com.blamejared.crafttweaker.api.data.StringData;
+import com.blamejared.crafttweaker.api.data.converter.tag.TagToDataConverter;
+import com.blamejared.crafttweaker.api.data.visitor.DataVisitor;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.DoubleTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Converts between JSON text and {@link IData} without building intermediate trees.
+ *
+ * <p>Reading pulls tokens from a {@link JsonReader} and creates the vanilla {@link Tag}s directly, which are then wrapped
+ * in a single {@link IData}. Values are converted the same way as {@link JSONConverter} converts a parsed
+ * {@link JsonElement}: numbers become doubles, booleans become strings and {@code null} values in objects are skipped.</p>
+ *
+ * <p>Writing visits the {@link IData} and emits tokens to a {@link JsonWriter} as it goes, producing the same JSON as
+ * {@link com.blamejared.crafttweaker.api.data.visitor.DataToJsonStringVisitor}.</p>
+ */
+public final class JSONStreamConverter {
+    
+    private static final TypeAdapter<IData> ADAPTER = new TypeAdapter<>() {
+        @Override
+        public void write(final JsonWriter out, final IData value) throws IOException {
+            
+            JSONStreamConverter.write(value, out);
+        }
+        
+        @Override
+        public IData read(final JsonReader in) throws IOException {
+            
+            return TagToDataConverter.convert(readTag(in));
+        }
+    };
+    
+    private JSONStreamConverter() {}
+    
+    /**
+     * Reads a single JSON value from the given reader.
+     *
+     * @param reader The reader to read the JSON text from.
+     *
+     * @return The IData representation of the JSON value, or {@code null} if the value is {@code null}.
+     *
+     * @throws JsonSyntaxException If the text is not valid JSON.
+     * @throws JsonIOException     If the reader could not be read.
+     */
+    @Nullable
+    public static IData read(final Reader reader) {
+        
+        final JsonReader jsonReader = new JsonReader(reader);
+        jsonReader.setLenient(true);
+        try {
+            final Tag tag = readTag(jsonReader);
+            if(jsonReader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("Did not consume the entire document.");
+            }
+            return TagToDataConverter.convert(tag);
+        } catch(final MalformedJsonException | IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        } catch(final IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+    
+    /**
+     * Reads a single JSON value from the given String.
+     *
+     * @param json The JSON text.
+     *
+     * @return The IData representation of the JSON value, or {@code null} if the value is {@code null}.
+     *
+     * @throws JsonSyntaxException If the text is not valid JSON.
+     */
+    @Nullable
+    public static IData read(final String json) {
+        
+        return read(new StringReader(json));
+    }
+    
+    /**
+     * Reads the next JSON value from the given reader as a vanilla Tag.
+     *
+     * @param reader The reader to pull the value from.
+     *
+     * @return The Tag representation of the value, or {@code null} if the value is {@code null}.
+     *
+     * @throws IOException If the reader could not be read or the value is malformed.
+     */
+    @Nullable
+    public static Tag readTag(final JsonReader reader) throws IOException {
+        
+        return switch(reader.peek()) {
+            case BEGIN_OBJECT -> readCompound(reader);
+            case BEGIN_ARRAY -> readList(reader);
+            case STRING -> StringTag.valueOf(reader.nextString());
+            case BOOLEAN -> StringTag.valueOf(Boolean.toString(reader.nextBoolean()));
+            case NUMBER -> DoubleTag.valueOf(reader.nextDouble());
+            case NULL -> {
+                reader.nextNull();
+                yield null;
+            }
+            default -> throw new MalformedJsonException("Unexpected token " + reader.peek() + " at " + reader.getPath());
+        };
+    }
+    
+    private static CompoundTag readCompound(final JsonReader reader) throws IOException {
+        
+        final CompoundTag compound = new CompoundTag();
+        reader.beginObject();
+        while(reader.hasNext()) {
+            final String key = reader.nextName();
+            final Tag value = readTag(reader);
+            if(value != null) {
+                compound.put(key, value);
+            }
+        }
+        reader.endObject();
+        return compound;
+    }
+    
+    private static ListTag readList(final JsonReader reader) throws IOException {
+        
+        final ListTag list = new ListTag();
+        reader.beginArray();
+        while(reader.hasNext()) {
+            final Tag value = readTag(reader);
+            if(value == null) {
+                throw new MalformedJsonException("Lists cannot contain null values at " + reader.getPath());
+            }
+            list.add(value);
+        }
+        reader.endArray();
+        return list;
+    }
+    
+    /**
+     * Writes the given data as JSON text to the given writer.
+     *
+     * <p>The writer is neither flushed nor closed.</p>
+     *
+     * @param data   The data to write.
+     * @param writer The writer to write the JSON text to.
+     *
+     * @throws JsonIOException If the writer could not be written to.
+     */
+    public static void write(@Nullable final IData data, final Writer writer) {
+        
+        final JsonWriter jsonWriter = new JsonWriter(writer);
+        try {
+            write(data, jsonWriter);
+        } catch(final IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+    
+    /**
+     * Writes the given data to the given JSON writer.
+     *
+     * <p>Non-finite numbers are written even if the writer is not lenient, as they are valid data values.</p>
+     *
+     * @param data   The data to write.
+     * @param writer The writer to emit the JSON tokens to.
+     *
+     * @throws IOException If the writer could not be written to.
+     */
+    public static void write(@Nullable final IData data, final JsonWriter writer) throws IOException {
+        
+        if(data == null) {
+            writer.nullValue();
+            return;
+        }
+        
+        final boolean lenient = writer.isLenient();
+        writer.setLenient(true);
+        try {
+            data.accept(new WritingVisitor(writer));
+        } catch(final UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            writer.setLenient(lenient);
+        }
+    }
+    
+    /**
+     * Writes the given data to a String.
+     *
+     * @param data The data to write.
+     *
+     * @return The JSON text representing the data.
+     */
+    public static String toJson(@Nullable final IData data) {
+        
+        final StringWriter writer = new StringWriter();
+        write(data, writer);
+        return writer.toString();
+    }
+    
+    /**
+     * Converts the given data to a Gson {@link JsonElement}, without going through JSON text.
+     *
+     * @param data The data to convert.
+     *
+     * @return The JsonElement representing the data.
+     */
+    public static JsonElement toJsonTree(@Nullable final IData data) {
+        
+        return ADAPTER.toJsonTree(data);
+    }
+    
+    /**
+     * Gets a Gson {@link TypeAdapter} backed by this converter, which can be registered to a Gson instance.
+     *
+     * @return The type adapter.
+     */
+    public static TypeAdapter<IData> typeAdapter() {
+        
+        return ADAPTER;
+    }
+    
+    private record WritingVisitor(JsonWriter writer) implements DataVisitor<Void> {
+        
+        private Void value(final Number value) {
+            
+            try {
+                this.writer.value(value);
+            } catch(final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        }
+        
+        @Override
+        public Void visitBool(final BoolData data) {
+            
+            try {
+                this.writer.value(data.asBool());
+            } catch(final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        }
+        
+        @Override
+        public Void visitByteArray(final ByteArrayData data) {
+            
+            try {
+                this.writer.beginArray();
+                for(final byte value : data.asByteArray()) {
+                    this.writer.value(value);
+                }
+                this.writer.endArray();
+            } catch(final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        }
+        
+        @Override
+        public Void visitByte(final ByteData data) {
+            
+            return this.value(data.asByte());
+        }
+        
+        @Override
+        public Void visitDouble(final DoubleData data) {
+            
+            return this.value(data.asDouble());
+        }
+        
+        @Override
+        public Void visitFloat(final FloatData data) {
+            
+            // Boxed as a float, so that it is printed without the widening error of a double
+            return this.value(data.asFloat());
+        }
+        
+        @Override
+        public Void visitIntArray(final IntArrayData data) {
+            
+            try {
+                this.writer.beginArray();
+                for(final int value : data.asIntArray()) {
+                    this.writer.value(value);
+                }
+                this.writer.endArray();
+            } catch(final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        }
+        
+        @Override
+        public Void visitInt(final IntData data) {
+            
+            return this.value(data.asInt());
+        }
+        
+        @Override
+        public Void visitList(final ListData data) {
+            
+            try {
+                this.writer.beginArray();
+                for(int i = 0; i < data.length(); i++) {
+                    data.getAt(i).accept(this);
+                }
+                this.writer.endArray();
+            } catch(final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        }
+        
+        @Override
+        public Void visitLongArray(final LongArrayData data) {
+            
+            try {
+                this.writer.beginArray();
+                for(final long value : data.asLongArray()) {
+                    this.writer.value(value);
+                }
+                this.writer.endArray();
+            } catch(final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        }
+        
+        @Override
+        public Void visitLong(final LongData data) {
+            
+            return this.value(data.asLong());
+        }
+        
+        @Override
+        public Void visitMap(final MapData data) {
+            
+            try {
+                this.writer.beginObject();
+                for(final String key : data.getKeys()) {
+                    this.writer.name(key);
+                    data.getAt(key).accept(this);
+                }
+                this.writer.endObject();
+            } catch(final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        }
+        
+        @Override
+        public Void visitShort(final ShortData data) {
+            
+            return this.value(data.asShort());
+        }
+        
+        @Override
+        public Void visitString(final StringData data) {
+            
+            try {
+                this.writer.value(data.getInternal().getAsString());
+            } catch(final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        }
+        
+    }
+    
+}
@@ -14,13 +14,11 @@ import com.blamejared.crafttweaker.api.data.LongData;
 import com.blamejared.crafttweaker.api.data.MapData;
 import com.blamejared.crafttweaker.api.data.ShortData;
 import com.blamejared.crafttweaker.api.data.StringData;
-import com.blamejared.crafttweaker.api.data.converter.tag.TagToDataConverter;
 import com.blamejared.crafttweaker.api.util.StringUtil;
 import com.blamejared.crafttweaker.api.zencode.util.ZenKeywordUtil;
 import net.minecraft.nbt.ByteTag;
 import net.minecraft.nbt.IntTag;
 import net.minecraft.nbt.LongTag;
-import net.minecraft.nbt.Tag;
 
 public enum DataToStringVisitor implements DataVisitor<String> {
     PLAIN(false),
@@ -109,13 +107,13 @@ public enum DataToStringVisitor implements DataVisitor<String> {
         StringBuilder output = new StringBuilder();
         output.append('[');
         boolean first = true;
-        for(Tag inbt : data.getInternal()) {
+        for(IData element : data) {
             if(first) {
                 first = false;
             } else {
                 output.append(", ");
             }
-            output.append(TagToDataConverter.convert(inbt).asString());
+            output.append(element.asString());
         }
         output.append(']');
         return output.toString();
@@ -152,7 +150,7 @@ public enum DataToStringVisitor implements DataVisitor<String> {
         StringBuilder result = new StringBuilder();
         result.append('{');
         boolean first = true;
-        for(String key : data.getInternal().getAllKeys()) {
+        for(String key : data.getKeys()) {
             IData value = data.getAt(key);
             if(first) {
                 first = false;
@@ -160,8 +160,7 @@ public class DataToTextComponentVisitor implements DataVisitor<Component> {
         
         if(data.isEmpty()) {
             return LIST_EMPTY;
-        } else if(INLINE_ELEMENT_TYPES.contains(data.getInternal()
-                .getElementType()) && data.length() <= INLINE_LIST_THRESHOLD) {
+        } else if(INLINE_ELEMENT_TYPES.contains(data.getElementType()) && data.length() <= INLINE_LIST_THRESHOLD) {
             String seperator = ELEMENT_SEPARATOR + ELEMENT_SPACING;
             MutableComponent component = Component.literal(LIST_OPEN);
             
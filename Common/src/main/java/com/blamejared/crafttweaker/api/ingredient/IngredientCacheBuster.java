@@ -25,7 +25,7 @@ public class IngredientCacheBuster {
     /**
      * Stops caching dissolved {@link Ingredient}s and invalidates the {@link Ingredient}s that were dissolved while claimed.
      */
-    public static void release() {
+    public static synchronized void release() {
         
         claimed = false;
         Services.PLATFORM.invalidateIngredients(ingredients);
@@ -46,7 +46,7 @@ public class IngredientCacheBuster {
      *
      * @param ingredient The ingredient to invalidate at a later point.
      */
-    public static void store(Ingredient ingredient) {
+    public static synchronized void store(Ingredient ingredient) {
         
         if(ingredient == null) {
             throw new IllegalStateException("Cannot store a null ingredient!");
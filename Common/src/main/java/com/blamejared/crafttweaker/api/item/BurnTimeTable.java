@@ -0,0 +1,107 @@
+package com.blamejared.crafttweaker.api.item;
+
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.util.IngredientLookupTable;
+import com.blamejared.crafttweaker.platform.Services;
+import com.mojang.datafixers.util.Pair;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.RecipeType;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lookup table for the burn times set by scripts for a recipe type, so that fuel checks do not test every ingredient.
+ *
+ * <p>Burn times are stored in an {@link IngredientLookupTable} from the most recently set one to the oldest one, so the
+ * first matching entry is the one that would have been applied last.</p>
+ *
+ * <p>Tables are built lazily from {@link Services#EVENT} and must be {@linkplain #invalidate() invalidated} whenever the
+ * burn times change. A build that races with an invalidation is discarded on the next lookup.</p>
+ */
+public final class BurnTimeTable {
+    
+    /**
+     * Returned by {@link #find(ItemStack)} when no burn time has been set for a stack.
+     */
+    public static final int NO_BURN_TIME = Integer.MIN_VALUE;
+    
+    private static final BurnTimeTable EMPTY = new BurnTimeTable(IngredientLookupTable.empty());
+    private static final Map<RecipeType<?>, Snapshot> TABLES = new ConcurrentHashMap<>();
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+    
+    private record Snapshot(BurnTimeTable table, int generation) {}
+    
+    private final IngredientLookupTable<Integer> table;
+    
+    private BurnTimeTable(final IngredientLookupTable<Integer> table) {
+        
+        this.table = table;
+    }
+    
+    /**
+     * Gets the table of the given recipe type, building it if the burn times changed since it was last used.
+     *
+     * @param type The recipe type, or {@code null} for fuel checks that do not belong to any recipe type.
+     */
+    public static BurnTimeTable of(@Nullable final RecipeType<?> type) {
+        
+        if(type == null) {
+            return EMPTY;
+        }
+        
+        // Read before building, so that an invalidation happening during the build is noticed next time
+        final int generation = GENERATION.get();
+        final Snapshot current = TABLES.get(type);
+        if(current != null && current.generation() == generation) {
+            return current.table();
+        }
+        
+        final BurnTimeTable built = build(type);
+        TABLES.put(type, new Snapshot(built, generation));
+        return built;
+    }
+    
+    /**
+     * Marks every table as outdated, so that they are built again from the current burn times.
+     */
+    public static void invalidate() {
+        
+        GENERATION.incrementAndGet();
+    }
+    
+    private static BurnTimeTable build(final RecipeType<?> type) {
+        
+        final List<Pair<IIngredient, Integer>> burnTimes = Services.EVENT.getBurnTimes().getOrDefault(type, List.of());
+        if(burnTimes.isEmpty()) {
+            return EMPTY;
+        }
+        
+        final IngredientLookupTable.Builder<Integer> builder = IngredientLookupTable.builder();
+        for(int i = burnTimes.size() - 1; i >= 0; i--) {
+            final Pair<IIngredient, Integer> pair = burnTimes.get(i);
+            builder.add(pair.getFirst(), pair.getSecond());
+        }
+        
+        return new BurnTimeTable(builder.build());
+    }
+    
+    /**
+     * Finds the burn time set last for an ingredient matching the given stack.
+     *
+     * @return The burn time, or {@link #NO_BURN_TIME} if no ingredient matches.
+     */
+    public int find(final ItemStack stack) {
+        
+        if(!this.table.hasCandidates(stack.getItem())) {
+            return NO_BURN_TIME;
+        }
+        
+        final IngredientLookupTable.Entry<Integer> entry = this.table.findFirst(IItemStack.ofMutable(stack), 0, it -> true);
+        return entry == null ? NO_BURN_TIME : entry.data();
+    }
+    
+}
@@ -0,0 +1,76 @@
+package com.blamejared.crafttweaker.api.item.tooltip;
+
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.util.IngredientLookupTable;
+import net.minecraft.world.item.Item;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Dispatch index mapping every {@link Item} to the tooltip ingredients that could possibly match it.
+ *
+ * <p>The ingredients are stored in an {@link IngredientLookupTable}, so matching ingredients are visited in the same
+ * order in which they appear in the tooltip map.</p>
+ *
+ * <p>Entries hold the live function lists of the tooltip map, so functions added to or removed from an existing list
+ * are seen without rebuilding the index. The index has to be {@linkplain #invalidate() invalidated} whenever an
+ * ingredient is added to the tooltip map, after it has been added, and is then rebuilt lazily. A rebuild that races with
+ * an invalidation is discarded on the next lookup.</p>
+ */
+public final class TooltipIndex {
+    
+    private record Snapshot(IngredientLookupTable<List<ITooltipFunction>> table, int generation) {}
+    
+    private final AtomicInteger generation;
+    private volatile Snapshot snapshot;
+    
+    public TooltipIndex() {
+        
+        this.generation = new AtomicInteger();
+        this.snapshot = null;
+    }
+    
+    public void invalidate() {
+        
+        this.generation.incrementAndGet();
+    }
+    
+    /**
+     * Visits all ingredients in the given tooltip map that match the given stack, along with their tooltip functions.
+     */
+    public void forEachMatching(final Map<IIngredient, ? extends List<ITooltipFunction>> tooltips, final IItemStack stack, final BiConsumer<IIngredient, List<ITooltipFunction>> consumer) {
+        
+        // Empty lists are indexed too, as functions may still be added to them
+        this.ensureBuilt(tooltips).table().forEachMatching(
+                stack,
+                it -> !it.data().isEmpty(),
+                it -> consumer.accept(it.ingredient(), it.data())
+        );
+    }
+    
+    private Snapshot ensureBuilt(final Map<IIngredient, ? extends List<ITooltipFunction>> tooltips) {
+        
+        // Read before building, so that an invalidation happening during the build is noticed next time
+        final int generation = this.generation.get();
+        final Snapshot current = this.snapshot;
+        if(current != null && current.generation() == generation) {
+            return current;
+        }
+        
+        final Snapshot built = build(tooltips, generation);
+        this.snapshot = built;
+        return built;
+    }
+    
+    private static Snapshot build(final Map<IIngredient, ? extends List<ITooltipFunction>> tooltips, final int generation) {
+        
+        final IngredientLookupTable.Builder<List<ITooltipFunction>> builder = IngredientLookupTable.builder();
+        tooltips.forEach(builder::add);
+        return new Snapshot(builder.build(), generation);
+    }
+    
+}
@@ -8,6 +8,8 @@ import net.minecraft.world.level.storage.loot.predicates.LootItemConditions;
 import org.openzen.zencode.java.ZenCodeType;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 @ZenRegister
@@ -17,16 +19,23 @@ import java.util.function.Predicate;
 public class LootConditions {
     
     private final Predicate<LootContext> gather;
+    private final List<LootItemCondition> requirements;
     
     private LootConditions(final Predicate<LootContext> gather) {
         
+        this(gather, null);
+    }
+    
+    private LootConditions(final Predicate<LootContext> gather, final List<LootItemCondition> requirements) {
+        
         this.gather = gather;
+        this.requirements = requirements;
     }
     
     @ZenCodeType.Method
     public static LootConditions none() {
         
-        return new LootConditions(it -> true);
+        return new LootConditions(it -> true, List.of());
     }
     
     @ZenCodeType.Method
@@ -38,7 +47,7 @@ public class LootConditions {
     @ZenCodeType.Method
     public static LootConditions only(final LootItemCondition condition) {
         
-        return new LootConditions(condition);
+        return new LootConditions(condition, List.of(condition));
     }
     
     @ZenCodeType.Method
@@ -50,7 +59,7 @@ public class LootConditions {
     @ZenCodeType.Method
     public static LootConditions allOf(final LootItemCondition... conditions) {
         
-        return new LootConditions(LootItemConditions.andConditions(conditions));
+        return new LootConditions(LootItemConditions.andConditions(conditions), List.of(conditions));
     }
     
     @ZenCodeType.Method
@@ -102,6 +111,19 @@ public class LootConditions {
         return this.gather;
     }
     
+    /**
+     * Gets the conditions that must all be satisfied for this set of conditions to be satisfied, if they are known.
+     *
+     * <p>The list is empty if no condition is required, whereas no list is returned if the set of conditions cannot be
+     * expressed as a conjunction of {@link LootItemCondition}s, e.g. because it has been negated or is random.</p>
+     *
+     * @return The list of required conditions, if known.
+     */
+    public Optional<List<LootItemCondition>> requirements() {
+        
+        return Optional.ofNullable(this.requirements);
+    }
+    
     private LootConditions flip() {
         
         return new LootConditions(this.gather.negate());
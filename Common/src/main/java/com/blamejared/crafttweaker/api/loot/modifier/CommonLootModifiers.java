@@ -5,6 +5,7 @@ import com.blamejared.crafttweaker.api.annotation.ZenRegister;
 import com.blamejared.crafttweaker.api.ingredient.IIngredient;
 import com.blamejared.crafttweaker.api.ingredient.IIngredientWithAmount;
 import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.util.IngredientLookupTable;
 import com.blamejared.crafttweaker.api.util.random.Percentaged;
 import com.blamejared.crafttweaker.natives.loot.ExpandLootContext;
 import com.blamejared.crafttweaker_annotations.annotations.Document;
@@ -16,6 +17,7 @@ import org.openzen.zencode.java.ZenCodeType;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -30,7 +32,10 @@ import java.util.stream.Stream;
 @Document("vanilla/api/loot/modifier/CommonLootModifiers")
 public final class CommonLootModifiers {
     
-    private static final ILootModifier LOOT_CLEARING_MODIFIER = (loot, context) -> new ArrayList<>();
+    private static final ILootModifier LOOT_CLEARING_MODIFIER = (loot, context) -> {
+        loot.clear();
+        return loot;
+    };
     
     //region Addition methods
     
@@ -420,33 +425,8 @@ public final class CommonLootModifiers {
         }
         
         return (loot, context) -> {
-            boolean hasFound = false;
-            List<IItemStack> newList = null;
-            
-            for(final IItemStack stack : loot) {
-                if(hasFound) {
-                    if(target.matches(stack)) {
-                        newList.add(replacement.copy());
-                    } else {
-                        newList.add(stack);
-                    }
-                } else {
-                    if(target.matches(stack)) {
-                        hasFound = true;
-                        newList = new ArrayList<>();
-                        
-                        for(final IItemStack other : loot) {
-                            if(other == stack) {
-                                break;
-                            }
-                            newList.add(other);
-                        }
-                        newList.add(replacement.copy());
-                    }
-                }
-            }
-            
-            return newList == null ? loot : newList;
+            loot.replaceAll(it -> target.matches(it) ? replacement.copy() : it);
+            return loot;
         };
     }
     
@@ -467,7 +447,32 @@ public final class CommonLootModifiers {
     @ZenCodeType.Method
     public static ILootModifier replaceAllWith(final Map<IIngredient, IItemStack> replacementMap) {
         
-        return chaining(replacementMap.entrySet().stream().map(it -> replaceWith(it.getKey(), it.getValue())));
+        final IngredientLookupTable.Builder<IItemStack> builder = IngredientLookupTable.builder();
+        replacementMap.forEach((target, replacement) -> {
+            if(!target.isEmpty()) {
+                builder.add(target, replacement);
+            }
+        });
+        final IngredientLookupTable<IItemStack> table = builder.build();
+        
+        if(table.isEmpty()) {
+            return ILootModifier.DEFAULT;
+        }
+        
+        return (loot, context) -> {
+            final ListIterator<IItemStack> iterator = loot.listIterator();
+            while(iterator.hasNext()) {
+                final IItemStack stack = iterator.next();
+                final IItemStack replaced = replaceAll(table, stack);
+                
+                if(replaced == null) {
+                    iterator.remove();
+                } else if(replaced != stack) {
+                    iterator.set(replaced);
+                }
+            }
+            return loot;
+        };
     }
     
     /**
@@ -508,48 +513,23 @@ public final class CommonLootModifiers {
         }
         
         return (loot, context) -> {
-            boolean hasFound = false;
-            List<IItemStack> newList = null;
-            
-            for(final IItemStack stack : loot) {
-                if(hasFound) {
-                    final int stackAmount;
-                    if(ingredient.matches(stack) && (stackAmount = stack.getAmount()) >= amount) {
-                        final int newAmount = stackAmount / amount;
-                        final int oldAmount = stackAmount % amount;
-                        
-                        newList.add(replacement.copy().setAmount(newAmount));
-                        if(oldAmount > 0) {
-                            newList.add(stack.setAmount(oldAmount));
-                        }
-                    } else {
-                        newList.add(stack);
-                    }
-                } else {
-                    final int stackAmount;
-                    if(ingredient.matches(stack) && (stackAmount = stack.getAmount()) >= amount) {
-                        hasFound = true;
-                        newList = new ArrayList<>();
-                        
-                        for(final IItemStack other : loot) {
-                            if(stack == other) {
-                                break;
-                            }
-                            newList.add(other);
-                        }
-                        
-                        final int newAmount = stackAmount / amount;
-                        final int oldAmount = stackAmount % amount;
-                        
-                        newList.add(replacement.copy().setAmount(newAmount));
-                        if(oldAmount > 0) {
-                            newList.add(stack.setAmount(oldAmount));
-                        }
-                    }
+            final ListIterator<IItemStack> iterator = loot.listIterator();
+            while(iterator.hasNext()) {
+                final IItemStack stack = iterator.next();
+                final int stackAmount = stack.getAmount();
+                if(stackAmount < amount || !ingredient.matches(stack)) {
+                    continue;
+                }
+                
+                final int newAmount = stackAmount / amount;
+                final int oldAmount = stackAmount % amount;
+                
+                iterator.set(replacement.copy().setAmount(newAmount));
+                if(oldAmount > 0) {
+                    iterator.add(stack.setAmount(oldAmount));
                 }
             }
-            
-            return newList == null ? loot : newList;
+            return loot;
         };
     }
     
@@ -572,7 +552,35 @@ public final class CommonLootModifiers {
     @ZenCodeType.Method
     public static ILootModifier replaceAllStacksWith(final Map<IIngredientWithAmount, IItemStack> replacementMap) {
         
-        return chaining(replacementMap.entrySet().stream().map(it -> replaceStackWith(it.getKey(), it.getValue())));
+        final IngredientLookupTable.Builder<Map.Entry<IIngredientWithAmount, IItemStack>> builder = IngredientLookupTable.builder();
+        for(final Map.Entry<IIngredientWithAmount, IItemStack> entry : replacementMap.entrySet()) {
+            if(!entry.getKey().getIngredient().isEmpty() && entry.getKey().getAmount() > 0) {
+                builder.add(entry.getKey().getIngredient(), entry);
+            }
+        }
+        final IngredientLookupTable<Map.Entry<IIngredientWithAmount, IItemStack>> table = builder.build();
+        
+        if(table.isEmpty()) {
+            return ILootModifier.DEFAULT;
+        }
+        
+        return (loot, context) -> {
+            final List<IItemStack> replaced = new ArrayList<>();
+            final ListIterator<IItemStack> iterator = loot.listIterator();
+            while(iterator.hasNext()) {
+                final IItemStack stack = iterator.next();
+                replaced.clear();
+                replaceAllStacks(table, stack, 0, replaced);
+                
+                if(replaced.size() == 1 && replaced.get(0) == stack) {
+                    continue;
+                }
+                
+                iterator.remove();
+                replaced.forEach(iterator::add);
+            }
+            return loot;
+        };
     }
     //endregion
     
@@ -671,6 +679,49 @@ public final class CommonLootModifiers {
         return random.nextDouble() <= stack.getPercentage() ? stack.getData().copy() : null;
     }
     
+    // Entries are applied in order, so a stack that has been replaced can be replaced again by a later entry, exactly as if
+    // every entry had been chained as a separate modifier
+    private static IItemStack replaceAll(final IngredientLookupTable<IItemStack> table, final IItemStack stack) {
+        
+        IItemStack current = stack;
+        for(IngredientLookupTable.Entry<IItemStack> entry = table.findFirst(current, 0, it -> true); entry != null; entry = table.findFirst(current, entry.ordinal() + 1, it -> true)) {
+            if(entry.data().isEmpty()) {
+                return null;
+            }
+            current = entry.data().copy();
+        }
+        return current;
+    }
+    
+    private static void replaceAllStacks(final IngredientLookupTable<Map.Entry<IIngredientWithAmount, IItemStack>> table, final IItemStack stack, final int from, final List<IItemStack> output) {
+        
+        final int stackAmount = stack.getAmount();
+        final IngredientLookupTable.Entry<Map.Entry<IIngredientWithAmount, IItemStack>> entry = table.findFirst(
+                stack,
+                from,
+                it -> it.data().getValue().isEmpty() || stackAmount >= it.data().getKey().getAmount()
+        );
+        
+        if(entry == null) {
+            output.add(stack);
+            return;
+        }
+        
+        final IItemStack replacement = entry.data().getValue();
+        if(replacement.isEmpty()) {
+            return;
+        }
+        
+        final int amount = entry.data().getKey().getAmount();
+        final int newAmount = stackAmount / amount;
+        final int oldAmount = stackAmount % amount;
+        
+        replaceAllStacks(table, replacement.copy().setAmount(newAmount), entry.ordinal() + 1, output);
+        if(oldAmount > 0) {
+            replaceAllStacks(table, stack.setAmount(oldAmount), entry.ordinal() + 1, output);
+        }
+    }
+    
     private static ILootModifier chaining(final Stream<ILootModifier> chain) {
         
         return chain.reduce(
@@ -3,7 +3,6 @@ package com.blamejared.crafttweaker.api.loot.modifier;
 
 import com.blamejared.crafttweaker.api.annotation.ZenRegister;
 import com.blamejared.crafttweaker.api.item.IItemStack;
-import com.blamejared.crafttweaker.natives.item.ExpandItemStack;
 import com.blamejared.crafttweaker_annotations.annotations.Document;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.minecraft.world.item.ItemStack;
@@ -11,7 +10,6 @@ import net.minecraft.world.level.storage.loot.LootContext;
 import org.openzen.zencode.java.ZenCodeType;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Represents a modifier that gets applied to the loot dropped by a loot table.
@@ -52,10 +50,7 @@ public interface ILootModifier {
      */
     default ObjectArrayList<ItemStack> doApply(final ObjectArrayList<ItemStack> loot, final LootContext context) {
         
-        return this.modify(loot.stream().map(ExpandItemStack::asIItemStack).collect(Collectors.toList()), context)
-                .stream()
-                .map(IItemStack::getImmutableInternal)
-                .collect(Collectors.toCollection(ObjectArrayList::new));
+        return LootModifierPipeline.unwrap(this.modify(LootModifierPipeline.wrap(loot), context));
     }
     
 }
\ No newline at end of file
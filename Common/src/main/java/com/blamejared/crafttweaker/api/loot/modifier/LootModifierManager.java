@@ -10,12 +10,10 @@ import com.blamejared.crafttweaker.api.util.NameUtil;
 import com.blamejared.crafttweaker.platform.Services;
 import com.blamejared.crafttweaker_annotations.annotations.Document;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.level.storage.loot.LootContext;
 import org.openzen.zencode.java.ZenCodeType;
 
 import java.util.List;
 import java.util.Map;
-import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
@@ -152,8 +150,7 @@ public enum LootModifierManager {
     
     private Supplier<ILootModifier> buildModifierCreator(final LootConditions conditions, final ILootModifier modifier) {
         
-        final Predicate<LootContext> condition = conditions.gather();
-        return () -> (loot, context) -> condition.test(context) ? modifier.modify(loot, context) : loot;
+        return () -> ScopedLootModifier.of(conditions, modifier);
     }
     
     private ResourceLocation fromName(final String name) {
@@ -0,0 +1,60 @@
+package com.blamejared.crafttweaker.api.loot.modifier;
+
+import com.blamejared.crafttweaker.api.item.IItemStack;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.storage.loot.LootContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies a sequence of {@link ILootModifier}s to the loot generated by a single loot table roll.
+ *
+ * <p>The generated loot is wrapped into a mutable list of {@link IItemStack}s only once, which is then handed to every
+ * modifier in turn, and unwrapped only once all modifiers have run. This avoids converting the loot back and forth for
+ * every modifier, as {@link ILootModifier#doApply(ObjectArrayList, LootContext)} would do.</p>
+ */
+public final class LootModifierPipeline {
+    
+    private LootModifierPipeline() {}
+    
+    public static ObjectArrayList<ItemStack> apply(final Iterable<ILootModifier> modifiers, final ObjectArrayList<ItemStack> generatedLoot, final LootContext context) {
+        
+        List<IItemStack> loot = null;
+        for(final ILootModifier modifier : modifiers) {
+            if(modifier == ILootModifier.DEFAULT) {
+                continue;
+            }
+            // Skip modifiers scoped to other tables before wrapping the loot, which could then be avoided altogether
+            if(modifier instanceof ScopedLootModifier scoped && !scoped.canApplyTo(context)) {
+                continue;
+            }
+            final List<IItemStack> current = loot == null ? wrap(generatedLoot) : loot;
+            final List<IItemStack> result = modifier.modify(current, context);
+            
+            // Modifiers returning a new list might return an immutable one, which the next modifiers could not edit
+            loot = result == current ? current : new ArrayList<>(result);
+        }
+        return loot == null ? generatedLoot : unwrap(loot);
+    }
+    
+    public static List<IItemStack> wrap(final ObjectArrayList<ItemStack> loot) {
+        
+        final List<IItemStack> wrapped = new ArrayList<>(loot.size());
+        for(final ItemStack stack : loot) {
+            wrapped.add(IItemStack.of(stack));
+        }
+        return wrapped;
+    }
+    
+    public static ObjectArrayList<ItemStack> unwrap(final List<IItemStack> loot) {
+        
+        final ObjectArrayList<ItemStack> unwrapped = new ObjectArrayList<>(loot.size());
+        for(final IItemStack stack : loot) {
+            unwrapped.add(stack.getImmutableInternal());
+        }
+        return unwrapped;
+    }
+    
+}
@@ -0,0 +1,106 @@
+package com.blamejared.crafttweaker.api.loot.modifier;
+
+import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.loot.condition.LootConditions;
+import com.blamejared.crafttweaker.platform.Services;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.storage.loot.LootContext;
+import net.minecraft.world.level.storage.loot.predicates.LootItemCondition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * An {@link ILootModifier} restricted by a set of {@link LootConditions}, which knows in advance which loot tables it
+ * can apply to.
+ *
+ * <p>Conditions that depend only on the id of the rolled loot table, such as loot table id or regex conditions, are
+ * split from the others and evaluated only once per loot table id: the result is cached, so that rolls of a table the
+ * modifier does not apply to can be discarded with a single lookup, without evaluating any condition nor running the
+ * modifier. The remaining conditions are evaluated on every roll as usual.</p>
+ *
+ * <p>If the platform is unable to provide the id of the rolled table, all conditions are evaluated on every roll.</p>
+ */
+public final class ScopedLootModifier implements ILootModifier {
+    
+    private final Predicate<LootContext> tableCondition;
+    private final Predicate<LootContext> residualCondition;
+    private final ILootModifier modifier;
+    private final Map<ResourceLocation, Boolean> tableCache;
+    
+    private ScopedLootModifier(final Predicate<LootContext> tableCondition, final Predicate<LootContext> residualCondition, final ILootModifier modifier) {
+        
+        this.tableCondition = tableCondition;
+        this.residualCondition = residualCondition;
+        this.modifier = modifier;
+        this.tableCache = new ConcurrentHashMap<>();
+    }
+    
+    public static ScopedLootModifier of(final LootConditions conditions, final ILootModifier modifier) {
+        
+        final Optional<List<LootItemCondition>> requirements = conditions.requirements();
+        if(requirements.isEmpty()) {
+            return new ScopedLootModifier(null, conditions.gather(), modifier);
+        }
+        
+        final List<LootItemCondition> table = new ArrayList<>();
+        final List<LootItemCondition> residual = new ArrayList<>();
+        requirements.get()
+                .forEach(it -> (Services.PLATFORM.isLootTableIdCondition(it) ? table : residual).add(it));
+        return new ScopedLootModifier(allOf(table), allOf(residual), modifier);
+    }
+    
+    private static Predicate<LootContext> allOf(final List<LootItemCondition> conditions) {
+        
+        if(conditions.isEmpty()) {
+            return null;
+        }
+        if(conditions.size() == 1) {
+            return conditions.get(0);
+        }
+        
+        final LootItemCondition[] array = conditions.toArray(LootItemCondition[]::new);
+        return context -> {
+            for(final LootItemCondition condition : array) {
+                if(!condition.test(context)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+    
+    /**
+     * Checks whether this modifier could apply to the loot table being rolled in the given context.
+     *
+     * <p>A {@code false} result guarantees that {@link #modify(List, LootContext)} would leave the loot untouched.</p>
+     */
+    public boolean canApplyTo(final LootContext context) {
+        
+        final Predicate<LootContext> tableCondition = this.tableCondition;
+        if(tableCondition == null) {
+            return true;
+        }
+        
+        return Services.PLATFORM.getQueriedLootTableId(context)
+                .map(id -> this.tableCache.computeIfAbsent(id, it -> tableCondition.test(context)))
+                .orElseGet(() -> tableCondition.test(context));
+    }
+    
+    @Override
+    public List<IItemStack> modify(final List<IItemStack> loot, final LootContext currentContext) {
+        
+        if(!this.canApplyTo(currentContext)) {
+            return loot;
+        }
+        if(this.residualCondition != null && !this.residualCondition.test(currentContext)) {
+            return loot;
+        }
+        return this.modifier.modify(loot, currentContext);
+    }
+    
+}
@@ -3,6 +3,7 @@ package com.blamejared.crafttweaker.api.recipe;
 import com.blamejared.crafttweaker.api.CraftTweakerAPI;
 import com.blamejared.crafttweaker.api.ingredient.IIngredient;
 import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.google.common.collect.MapMaker;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.crafting.Recipe;
 import net.minecraft.world.item.crafting.RecipeType;
@@ -12,6 +13,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 /**
@@ -23,6 +25,13 @@ import java.util.function.Predicate;
  */
 public class RecipeList<T extends Recipe<?>> {
     
+    private record DeferredRemoval<T>(Predicate<T> predicate, String description) {}
+    
+    private static final Map<Map<ResourceLocation, ?>, RecipeOutputIndex> OUTPUT_INDICES = new MapMaker().weakKeys()
+            .makeMap();
+    private static final Map<Map<ResourceLocation, ?>, List<DeferredRemoval<?>>> DEFERRED_REMOVALS = new MapMaker().weakKeys()
+            .makeMap();
+    
     private final RecipeType<T> recipeType;
     private final Map<ResourceLocation, T> recipes;
     private final Map<ResourceLocation, Recipe<?>> byName;
@@ -30,6 +39,9 @@ public class RecipeList<T extends Recipe<?>> {
     private final Map<ResourceLocation, T> unmodifiableRecipes;
     private final Map<ResourceLocation, Recipe<?>> unmodifiableByName;
     
+    private final RecipeOutputIndex outputIndex;
+    private final List<DeferredRemoval<?>> deferredRemovals;
+    
     public RecipeList(RecipeType<T> recipeType, Map<ResourceLocation, T> recipes, Map<ResourceLocation, Recipe<?>> byName) {
         
         this.recipeType = recipeType;
@@ -37,6 +49,8 @@ public class RecipeList<T extends Recipe<?>> {
         this.byName = byName;
         this.unmodifiableRecipes = Collections.unmodifiableMap(recipes);
         this.unmodifiableByName = Collections.unmodifiableMap(byName);
+        this.outputIndex = OUTPUT_INDICES.computeIfAbsent(recipes, it -> new RecipeOutputIndex());
+        this.deferredRemovals = DEFERRED_REMOVALS.computeIfAbsent(recipes, it -> new ArrayList<>());
     }
     
     /**
@@ -48,9 +62,19 @@ public class RecipeList<T extends Recipe<?>> {
      */
     public List<T> getRecipesByOutput(IIngredient output) {
         
-        return getRecipes().values()
+        flushDeferredRemovals();
+        final Optional<List<ResourceLocation>> candidates = outputIndex.findCandidates(recipes, output);
+        if(candidates.isEmpty()) {
+            return getRecipes().values()
+                    .stream()
+                    .filter(iRecipe -> output.matches(IItemStack.ofMutable(iRecipe.getResultItem())))
+                    .toList();
+        }
+        
+        return candidates.get()
                 .stream()
-                .filter(iRecipe -> output.matches(IItemStack.ofMutable(iRecipe.getResultItem())))
+                .map(recipes::get)
+                .filter(iRecipe -> iRecipe != null && output.matches(IItemStack.ofMutable(iRecipe.getResultItem())))
                 .toList();
     }
     
@@ -120,6 +144,7 @@ public class RecipeList<T extends Recipe<?>> {
      */
     public void add(ResourceLocation id, T recipe) {
         
+        flushDeferredRemovals();
         if(getByName().containsKey(recipe.getId())) {
             CraftTweakerAPI.LOGGER.warn(
                     "A recipe with the name '{}' already exists and will be overwritten: this is most likely an error in your scripts",
@@ -129,6 +154,7 @@ public class RecipeList<T extends Recipe<?>> {
         
         recipes.put(id, recipe);
         byName.put(id, recipe);
+        outputIndex.onAdd(id, recipe);
     }
     
     
@@ -139,8 +165,10 @@ public class RecipeList<T extends Recipe<?>> {
      */
     public void remove(ResourceLocation id) {
         
+        flushDeferredRemovals();
         recipes.remove(id);
         byName.remove(id);
+        outputIndex.onRemove(id);
     }
     
     /**
@@ -150,6 +178,7 @@ public class RecipeList<T extends Recipe<?>> {
      */
     public void removeByRecipeTest(Predicate<T> recipePredicate) {
         
+        flushDeferredRemovals();
         Iterator<ResourceLocation> iterator = recipes.keySet().iterator();
         
         while(iterator.hasNext()) {
@@ -158,10 +187,100 @@ public class RecipeList<T extends Recipe<?>> {
             if(recipePredicate.test(recipe)) {
                 byName.remove(next);
                 iterator.remove();
+                outputIndex.onRemove(next);
+            }
+        }
+    }
+    
+    /**
+     * Removes recipes whose output matches the given IIngredient.
+     *
+     * @param output The output of the recipes to remove.
+     */
+    public void removeByOutput(IIngredient output) {
+        
+        removeByOutput(output, recipe -> true);
+    }
+    
+    /**
+     * Removes recipes whose output matches the given IIngredient and that pass the given recipe Predicate.
+     *
+     * <p>Where possible, only recipes whose output item can match the given IIngredient are tested, instead of every
+     * recipe in this list.</p>
+     *
+     * @param output          The output of the recipes to remove.
+     * @param recipePredicate An additional predicate to check the recipes against.
+     */
+    public void removeByOutput(IIngredient output, Predicate<T> recipePredicate) {
+        
+        flushDeferredRemovals();
+        final Predicate<T> outputPredicate = recipe -> output.matches(IItemStack.ofMutable(recipe.getResultItem()));
+        final Optional<List<ResourceLocation>> candidates = outputIndex.findCandidates(recipes, output);
+        if(candidates.isEmpty()) {
+            removeByRecipeTest(outputPredicate.and(recipePredicate));
+            return;
+        }
+        
+        for(ResourceLocation id : candidates.get()) {
+            T recipe = recipes.get(id);
+            if(recipe != null && outputPredicate.test(recipe) && recipePredicate.test(recipe)) {
+                remove(id);
             }
         }
     }
     
+    /**
+     * Queues the removal of recipes that pass the given recipe Predicate.
+     *
+     * <p>All queued removals for the same recipe type are performed together in a single pass over the recipes, either
+     * when {@link #flushDeferredRemovals()} is called or the next time any {@link RecipeList} for the same recipe type
+     * is queried or modified.</p>
+     *
+     * @param recipePredicate The predicate to check the recipes against.
+     * @param description     A description of the removal, used to report errors thrown by the predicate.
+     */
+    public void deferRemovalByRecipeTest(Predicate<T> recipePredicate, String description) {
+        
+        deferredRemovals.add(new DeferredRemoval<>(recipePredicate, description));
+    }
+    
+    /**
+     * Performs all queued removals in a single pass over the recipes.
+     *
+     * <p>If one of the queued predicates throws an exception, it is logged and that predicate is skipped for the
+     * remaining recipes, without affecting the other queued removals.</p>
+     */
+    @SuppressWarnings("unchecked")
+    public void flushDeferredRemovals() {
+        
+        if(deferredRemovals.isEmpty()) {
+            return;
+        }
+        
+        final List<DeferredRemoval<T>> removals = new ArrayList<>(deferredRemovals.size());
+        deferredRemovals.forEach(it -> removals.add((DeferredRemoval<T>) it));
+        deferredRemovals.clear();
+        
+        final boolean[] failed = new boolean[removals.size()];
+        removeByRecipeTest(recipe -> {
+            for(int i = 0; i < failed.length; i++) {
+                if(failed[i]) {
+                    continue;
+                }
+                try {
+                    // A recipe removed by an earlier predicate would never have been seen by the later ones
+                    if(removals.get(i).predicate().test(recipe)) {
+                        return true;
+                    }
+                } catch(final Exception e) {
+                    failed[i] = true;
+                    CraftTweakerAPI.LOGGER.error("Unable to run action '{}' due to an error", removals.get(i).description(), e);
+                }
+            }
+            return false;
+        });
+    }
+    
     /**
      * Removes recipes that pass the given id Predicate.
      *
@@ -180,6 +299,7 @@ public class RecipeList<T extends Recipe<?>> {
      */
     public void removeByIdTest(Predicate<ResourceLocation> idPredicate, Predicate<String> exclusions) {
         
+        flushDeferredRemovals();
         Iterator<ResourceLocation> iterator = recipes.keySet().iterator();
         
         while(iterator.hasNext()) {
@@ -187,6 +307,7 @@ public class RecipeList<T extends Recipe<?>> {
             if(idPredicate.test(next) && !exclusions.test(next.getPath())) {
                 byName.remove(next);
                 iterator.remove();
+                outputIndex.onRemove(next);
             }
         }
     }
@@ -196,8 +317,10 @@ public class RecipeList<T extends Recipe<?>> {
      */
     public void removeAll() {
         
+        deferredRemovals.clear();
         byName.keySet().removeAll(recipes.keySet());
         recipes.clear();
+        outputIndex.invalidate();
     }
     
     /**
@@ -217,6 +340,7 @@ public class RecipeList<T extends Recipe<?>> {
      */
     public Map<ResourceLocation, T> getRecipes() {
         
+        flushDeferredRemovals();
         return unmodifiableRecipes;
     }
     
@@ -227,6 +351,7 @@ public class RecipeList<T extends Recipe<?>> {
      */
     public Map<ResourceLocation, Recipe<?>> getByName() {
         
+        flushDeferredRemovals();
         return unmodifiableByName;
     }
     
@@ -0,0 +1,127 @@
+package com.blamejared.crafttweaker.api.recipe;
+
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.util.IngredientUtil;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.crafting.Recipe;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Lazily built index mapping the output {@link Item} of every recipe in a recipe map to the ids of those recipes.
+ *
+ * <p>The index relies on every change to the backing map going through a {@link RecipeList}, which keeps it up to
+ * date. Changes made to the map directly are only detected on a best-effort basis: the index is rebuilt if the number
+ * of recipes no longer matches, or if one of the candidates it finds has been replaced or removed in the meantime, but
+ * recipes that are added without going through a {@link RecipeList} are missed if as many recipes are removed the same
+ * way. Candidates returned by the index must still be tested against the actual {@link IIngredient}, as the index only
+ * narrows the search down to recipes that can possibly match.</p>
+ */
+final class RecipeOutputIndex {
+    
+    private record Entry(Recipe<?> recipe, Item item) {}
+    
+    private final Map<Item, Set<ResourceLocation>> idsByItem;
+    private final Map<ResourceLocation, Entry> entriesById;
+    private boolean built;
+    
+    RecipeOutputIndex() {
+        
+        this.idsByItem = new HashMap<>();
+        this.entriesById = new HashMap<>();
+        this.built = false;
+    }
+    
+    /**
+     * Finds the ids of all recipes that could have an output matching the given ingredient.
+     *
+     * @return The candidate ids, or an empty optional if the ingredient cannot be narrowed down to a set of items and
+     * every recipe has to be tested.
+     */
+    Optional<List<ResourceLocation>> findCandidates(final Map<ResourceLocation, ? extends Recipe<?>> recipes, final IIngredient output) {
+        
+        final Set<Item> items = new HashSet<>();
+        // Tags can be resolved, since the items are looked up anew for every query
+        if(!IngredientUtil.collectCandidateItems(output, items, true)) {
+            return Optional.empty();
+        }
+        
+        this.ensureBuilt(recipes);
+        List<ResourceLocation> candidates = this.lookup(items);
+        if(!candidates.stream().allMatch(it -> this.entriesById.get(it).recipe() == recipes.get(it))) {
+            this.invalidate();
+            this.ensureBuilt(recipes);
+            candidates = this.lookup(items);
+        }
+        return Optional.of(candidates);
+    }
+    
+    void onAdd(final ResourceLocation id, final Recipe<?> recipe) {
+        
+        if(!this.built) {
+            return;
+        }
+        
+        this.onRemove(id);
+        this.index(id, recipe);
+    }
+    
+    void onRemove(final ResourceLocation id) {
+        
+        if(!this.built) {
+            return;
+        }
+        
+        final Entry entry = this.entriesById.remove(id);
+        if(entry == null) {
+            return;
+        }
+        
+        final Set<ResourceLocation> ids = this.idsByItem.get(entry.item());
+        if(ids != null && ids.remove(id) && ids.isEmpty()) {
+            this.idsByItem.remove(entry.item());
+        }
+    }
+    
+    void invalidate() {
+        
+        this.built = false;
+        this.idsByItem.clear();
+        this.entriesById.clear();
+    }
+    
+    private void ensureBuilt(final Map<ResourceLocation, ? extends Recipe<?>> recipes) {
+        
+        // A size mismatch means that the map has been changed without going through a RecipeList
+        if(this.built && this.entriesById.size() == recipes.size()) {
+            return;
+        }
+        
+        this.invalidate();
+        recipes.forEach(this::index);
+        this.built = true;
+    }
+    
+    private void index(final ResourceLocation id, final Recipe<?> recipe) {
+        
+        final Item item = recipe.getResultItem().getItem();
+        this.entriesById.put(id, new Entry(recipe, item));
+        this.idsByItem.computeIfAbsent(item, it -> new LinkedHashSet<>()).add(id);
+    }
+    
+    private List<ResourceLocation> lookup(final Set<Item> items) {
+        
+        final Set<ResourceLocation> candidates = new LinkedHashSet<>();
+        items.forEach(item -> candidates.addAll(this.idsByItem.getOrDefault(item, Set.of())));
+        return new ArrayList<>(candidates);
+    }
+    
+}
@@ -192,4 +192,30 @@ public interface IRecipeHandler<T extends Recipe<?>> {
      */
     Optional<T> recompose(final IRecipeManager<? super T> manager, final ResourceLocation name, final IDecomposedRecipe recipe);
     
+    /**
+     * Indicates whether {@link #decompose(IRecipeManager, Recipe)} and
+     * {@link #doesConflict(IRecipeManager, Recipe, Recipe)} can be safely invoked from multiple threads at the same
+     * time, and whether the {@link IDecomposedRecipe} returned by the former can be read and modified by the thread
+     * that decomposed the recipe while other recipes are being decomposed.
+     *
+     * <p>Thread-safe handlers allow a {@link com.blamejared.crafttweaker.api.recipe.replacement.Replacer} that has
+     * been set up for parallel execution to decompose their recipes concurrently and to apply the replacement requests
+     * to the decomposed recipes on the same threads. Requests that may invoke script code are always applied on the
+     * thread that is running the scripts, regardless of this value. Recomposition is also always performed on that
+     * thread, so it has no thread-safety requirements.</p>
+     *
+     * <p>The conflict command checks the recipes of a type for conflicts concurrently only if the handlers of all of
+     * them are thread-safe, so a handler may redirect conflict checks to the handler of the other recipe without
+     * further precautions.</p>
+     *
+     * @return Whether decomposition and conflict checks are thread-safe.
+     *
+     * @implSpec The default implementation returns {@code false}, which is always safe.
+     * @since 10.0.0
+     */
+    default boolean isThreadSafe() {
+        
+        return false;
+    }
+    
 }
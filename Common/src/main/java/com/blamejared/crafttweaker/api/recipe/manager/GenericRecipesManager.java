@@ -11,7 +11,7 @@ import com.blamejared.crafttweaker.api.action.recipe.generic.ActionRemoveGeneric
 import com.blamejared.crafttweaker.api.annotation.ZenRegister;
 import com.blamejared.crafttweaker.api.bracket.custom.RecipeTypeBracketHandler;
 import com.blamejared.crafttweaker.api.data.MapData;
-import com.blamejared.crafttweaker.api.data.visitor.DataToJsonStringVisitor;
+import com.blamejared.crafttweaker.api.data.converter.JSONStreamConverter;
 import com.blamejared.crafttweaker.api.ingredient.IIngredient;
 import com.blamejared.crafttweaker.api.item.IItemStack;
 import com.blamejared.crafttweaker.api.recipe.manager.base.IRecipeManager;
@@ -66,7 +66,7 @@ public enum GenericRecipesManager {
     @ZenCodeType.Method
     public void addJsonRecipe(String name, MapData data) {
         
-        JsonObject recipeObject = IRecipeManager.JSON_RECIPE_GSON.fromJson(data.accept(DataToJsonStringVisitor.INSTANCE), JsonObject.class);
+        JsonObject recipeObject = JSONStreamConverter.toJsonTree(data).getAsJsonObject();
         if(!recipeObject.has("type")) {
             throw new IllegalArgumentException("Serializer type missing!");
         }
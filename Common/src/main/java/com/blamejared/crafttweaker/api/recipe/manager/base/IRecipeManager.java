@@ -12,7 +12,7 @@ import com.blamejared.crafttweaker.api.action.recipe.ActionRemoveRecipeByRegex;
 import com.blamejared.crafttweaker.api.annotation.ZenRegister;
 import com.blamejared.crafttweaker.api.bracket.CommandStringDisplayable;
 import com.blamejared.crafttweaker.api.data.MapData;
-import com.blamejared.crafttweaker.api.data.visitor.DataToJsonStringVisitor;
+import com.blamejared.crafttweaker.api.data.converter.JSONStreamConverter;
 import com.blamejared.crafttweaker.api.ingredient.IIngredient;
 import com.blamejared.crafttweaker.api.item.IItemStack;
 import com.blamejared.crafttweaker.api.recipe.RecipeList;
@@ -68,7 +68,7 @@ public interface IRecipeManager<T extends Recipe<?>> extends CommandStringDispla
     default void addJsonRecipe(String name, MapData mapData) {
         
         name = fixRecipeName(name);
-        JsonObject recipeObject = JSON_RECIPE_GSON.fromJson(mapData.accept(DataToJsonStringVisitor.INSTANCE), JsonObject.class);
+        JsonObject recipeObject = JSONStreamConverter.toJsonTree(mapData).getAsJsonObject();
         ResourceLocation recipeTypeKey = getBracketResourceLocation();
         
         if(recipeObject.has("type")) {
@@ -1,16 +1,21 @@
 package com.blamejared.crafttweaker.api.recipe.replacement;
 
+import com.blamejared.crafttweaker.api.recipe.component.IRecipeComponent;
+
+import java.util.Optional;
 import java.util.function.Predicate;
 
 public final class DescriptivePredicate<T> implements Predicate<T> {
     
     private final Predicate<T> predicate;
     private final String description;
+    private final T oracle;
     
-    private DescriptivePredicate(final Predicate<T> predicate, final String description) {
+    private DescriptivePredicate(final Predicate<T> predicate, final String description, final T oracle) {
         
         this.predicate = predicate;
         this.description = description;
+        this.oracle = oracle;
     }
     
     public static <T> DescriptivePredicate<T> wrap(final Predicate<T> predicate) {
@@ -20,7 +25,12 @@ public final class DescriptivePredicate<T> implements Predicate<T> {
     
     public static <T> DescriptivePredicate<T> of(final Predicate<T> predicate, final String description) {
         
-        return new DescriptivePredicate<>(predicate, description);
+        return new DescriptivePredicate<>(predicate, description, null);
+    }
+    
+    public static <T> DescriptivePredicate<T> matching(final IRecipeComponent<T> component, final T oracle) {
+        
+        return new DescriptivePredicate<>(it -> component.match(oracle, it), oracle.toString(), oracle);
     }
     
     @Override
@@ -34,4 +44,9 @@ public final class DescriptivePredicate<T> implements Predicate<T> {
         return this.description;
     }
     
+    public Optional<T> oracle() {
+        
+        return Optional.ofNullable(this.oracle);
+    }
+    
 }
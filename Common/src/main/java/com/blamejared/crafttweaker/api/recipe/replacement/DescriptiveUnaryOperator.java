@@ -1,16 +1,19 @@
 package com.blamejared.crafttweaker.api.recipe.replacement;
 
+import java.util.Optional;
 import java.util.function.UnaryOperator;
 
 public final class DescriptiveUnaryOperator<T> implements UnaryOperator<T> {
     
     private final UnaryOperator<T> operator;
     private final String description;
+    private final T result;
     
-    private DescriptiveUnaryOperator(final UnaryOperator<T> operator, final String description) {
+    private DescriptiveUnaryOperator(final UnaryOperator<T> operator, final String description, final T result) {
         
         this.operator = operator;
         this.description = description;
+        this.result = result;
     }
     
     public static <T> DescriptiveUnaryOperator<T> wrap(final UnaryOperator<T> operator) {
@@ -20,7 +23,12 @@ public final class DescriptiveUnaryOperator<T> implements UnaryOperator<T> {
     
     public static <T> DescriptiveUnaryOperator<T> of(final UnaryOperator<T> operator, final String description) {
         
-        return new DescriptiveUnaryOperator<>(operator, description);
+        return new DescriptiveUnaryOperator<>(operator, description, null);
+    }
+    
+    public static <T> DescriptiveUnaryOperator<T> constant(final T result) {
+        
+        return new DescriptiveUnaryOperator<>(it -> result, result.toString(), result);
     }
     
     @Override
@@ -34,4 +42,9 @@ public final class DescriptiveUnaryOperator<T> implements UnaryOperator<T> {
         return this.description;
     }
     
+    public Optional<T> result() {
+        
+        return Optional.ofNullable(this.result);
+    }
+    
 }
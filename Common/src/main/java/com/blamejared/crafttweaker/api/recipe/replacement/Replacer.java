@@ -21,6 +21,12 @@ import java.util.function.Predicate;
  * {@link #execute()} method. It is suggested to chain as many replacements as possible in a single invocation to avoid
  * too big performance hits.</p>
  *
+ * <p>Executed replacers are not carried out immediately: consecutive replacers are instead merged and carried out in a
+ * single pass over all recipes, in the order they were executed. The merged replacers are carried out as soon as any
+ * other action is applied or the script run ends, whichever comes first, so they take effect in the same order as all
+ * other actions. Recipes queried directly by the script before that do not reflect them yet. A replacer is only merged with the previous ones if it cannot
+ * target anything they produce, so merging never changes which recipes are replaced.</p>
+ *
  * <p>A replacer instance can be created through {@link #create()} and various filters specified through
  * {@link #filter(IFilteringRule)}. Note that all filters are <strong>positive</strong>, meaning that they specify the
  * set of recipes the replacer should target. Replacements can then be specified with the various {@code replace}
@@ -37,12 +43,14 @@ public final class Replacer {
     private final List<IFilteringRule> rules;
     private final List<ReplacementRequest<?>> requests;
     private final AtomicBoolean done;
+    private boolean parallel;
     
     private Replacer() {
         
         this.rules = new ArrayList<>();
         this.requests = new ArrayList<>();
         this.done = new AtomicBoolean(false);
+        this.parallel = false;
     }
     
     /**
@@ -151,8 +159,8 @@ public final class Replacer {
             return this;
         }
         
-        final DescriptivePredicate<T> predicate = DescriptivePredicate.of(it -> component.match(toReplace, it), toReplace.toString());
-        final DescriptiveUnaryOperator<T> operator = DescriptiveUnaryOperator.of(it -> with, with.toString());
+        final DescriptivePredicate<T> predicate = DescriptivePredicate.matching(component, toReplace);
+        final DescriptiveUnaryOperator<T> operator = DescriptiveUnaryOperator.constant(with);
         return this.replace(component, strategy, predicate, operator);
     }
     
@@ -186,7 +194,7 @@ public final class Replacer {
     @ZenCodeType.Method
     public <T> Replacer replace(final IRecipeComponent<T> component, final ITargetingStrategy strategy, final T toReplace, final Function<T, T> with) {
         
-        final DescriptivePredicate<T> predicate = DescriptivePredicate.of(it -> component.match(toReplace, it), toReplace.toString());
+        final DescriptivePredicate<T> predicate = DescriptivePredicate.matching(component, toReplace);
         final DescriptiveUnaryOperator<T> operator = DescriptiveUnaryOperator.wrap(with::apply);
         return this.replace(component, strategy, predicate, operator);
     }
@@ -238,6 +246,30 @@ public final class Replacer {
         return this;
     }
     
+    /**
+     * Allows the replacer to examine recipes in parallel when it is executed.
+     *
+     * <p>Recipes whose handler declares itself as thread-safe will be decomposed and have the replacements applied on
+     * multiple threads at the same time, which can greatly speed up replacers that target a large amount of recipes.
+     * The recipes will then be replaced in the same order as they would have been when executing serially.</p>
+     *
+     * <p>Since replacements will be evaluated from multiple threads, any {@link Function} or {@link Predicate} that has
+     * been passed to the {@code replace} methods must not rely on or modify any shared state.</p>
+     *
+     * <p>A replacer cannot be modified after execution.</p>
+     *
+     * @return This replacer for chaining.
+     *
+     * @since 10.0.0
+     */
+    @ZenCodeType.Method
+    public Replacer allowParallelExecution() {
+        
+        this.checkDone();
+        this.parallel = true;
+        return this;
+    }
+    
     /**
      * Executes the replacer, carrying out all replacements determined up until now.
      *
@@ -251,7 +283,7 @@ public final class Replacer {
         
         this.checkDone();
         this.done.set(true);
-        CraftTweakerAPI.apply(ActionBatchReplacement.of(this.rules, this.requests));
+        CraftTweakerAPI.apply(ActionBatchReplacement.of(this.rules, this.requests, this.parallel));
     }
     
     private void checkDone() {
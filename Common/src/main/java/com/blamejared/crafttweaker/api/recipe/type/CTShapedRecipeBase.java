@@ -26,12 +26,12 @@ public class CTShapedRecipeBase implements CraftingRecipe {
     private static final Pair<Integer, Integer> INVALID = Pair.of(-1, -1);
     
     private final IIngredient[][] ingredients;
-    private final IIngredient[][][] mirroredIngredients;
     private final IItemStack output;
     private final MirrorAxis mirrorAxis;
     @Nullable
     private final RecipeFunction2D function;
     private final ResourceLocation resourceLocation;
+    private final ShapedRecipeMatcher matcher;
     
     private final int width;
     private final int height;
@@ -49,112 +49,25 @@ public class CTShapedRecipeBase implements CraftingRecipe {
                 .mapToInt(row -> row.length)
                 .max()
                 .orElse(0);
-        this.mirroredIngredients = new IIngredient[MirrorAxis.values().length][][];
         for(int index = 0; index < this.ingredients.length; index++) {
             if(this.ingredients[index].length < width) {
                 this.ingredients[index] = ArrayUtil.copyOf(this.ingredients[index], width, IItemStack.empty());
             }
         }
-        initMirroredIngredients();
-    }
-    
-    private void initMirroredIngredients() {
-        
-        this.mirroredIngredients[MirrorAxis.NONE.ordinal()] = ingredients;
-        if(mirrorAxis.isMirrored()) {
-            if(mirrorAxis.isVertical()) {
-                mirroredIngredients[MirrorAxis.VERTICAL.ordinal()] = ArrayUtil.mirror(ingredients);
-            }
-            if(mirrorAxis.isHorizontal()) {
-                IIngredient[][] workingIngredients = ArrayUtil.copy(this.ingredients);
-                for(int i = 0; i < workingIngredients.length; i++) {
-                    workingIngredients[i] = ArrayUtil.mirror(workingIngredients[i]);
-                }
-                mirroredIngredients[MirrorAxis.HORIZONTAL.ordinal()] = workingIngredients;
-            }
-            if(mirrorAxis.isDiagonal()) {
-                IIngredient[][] workingIngredients = ArrayUtil.mirror(this.ingredients);
-                for(int i = 0; i < workingIngredients.length; i++) {
-                    workingIngredients[i] = ArrayUtil.mirror(workingIngredients[i]);
-                }
-                mirroredIngredients[MirrorAxis.DIAGONAL.ordinal()] = workingIngredients;
-            }
-        }
-    }
-    
-    private Pair<Integer, Integer> calculateOffset(CraftingContainer inv) {
-        
-        Pair<Integer, Integer> offset = calculateOffset(mirroredIngredients[MirrorAxis.NONE.ordinal()], inv);
-        if(isValidOffset(offset) || !mirrorAxis.isMirrored()) {
-            return offset;
-        }
-        // These cannot be `else if` due to MirrorAxis.ALL
-        if(mirrorAxis.isVertical()) {
-            offset = calculateOffset(mirroredIngredients[MirrorAxis.VERTICAL.ordinal()], inv);
-            if(isValidOffset(offset)) {
-                return offset;
-            }
-        }
-        if(mirrorAxis.isHorizontal()) {
-            offset = calculateOffset(mirroredIngredients[MirrorAxis.HORIZONTAL.ordinal()], inv);
-            if(isValidOffset(offset)) {
-                return offset;
-            }
-        }
-        if(mirrorAxis.isDiagonal()) {
-            offset = calculateOffset(mirroredIngredients[MirrorAxis.DIAGONAL.ordinal()], inv);
-            if(isValidOffset(offset)) {
-                return offset;
-            }
-        }
-        
-        return INVALID;
-    }
-    
-    private Pair<Integer, Integer> calculateOffset(IIngredient[][] test, CraftingContainer inv) {
-        
-        for(int rowOffset = 0; rowOffset <= inv.getHeight() - test.length; rowOffset++) {
-            offset:
-            for(int columnOffset = 0; columnOffset <= inv.getWidth() - test[0].length; columnOffset++) {
-                
-                final boolean[] visited = new boolean[inv.getContainerSize()];
-                
-                for(int rowIndex = 0; rowIndex < test.length; rowIndex++) {
-                    final IIngredient[] row = test[rowIndex];
-                    for(int columnIndex = 0; columnIndex < row.length; columnIndex++) {
-                        final IIngredient item = row[columnIndex];
-                        final int slotNumber = (rowIndex + rowOffset) * inv.getWidth() + columnIndex + columnOffset;
-                        final ItemStack stackInSlot = inv.getItem(slotNumber);
-                        
-                        if(item == null && !stackInSlot.isEmpty() || item != null && !item.matches(IItemStack.ofMutable(stackInSlot))) {
-                            continue offset;
-                        }
-                        visited[slotNumber] = true;
-                    }
-                }
-                
-                for(int i = 0; i < visited.length; i++) {
-                    if(!visited[i] && !inv.getItem(i).isEmpty()) {
-                        continue offset;
-                    }
-                }
-                return Pair.of(rowOffset, columnOffset);
-            }
-        }
-        return INVALID;
+        this.matcher = new ShapedRecipeMatcher(this.ingredients, mirrorAxis, width, height);
     }
     
     @Override
     public boolean matches(CraftingContainer inv, @Nullable Level worldIn) {
         
-        return isValidOffset(calculateOffset(inv));
+        return matcher.find(inv) != ShapedRecipeMatcher.NO_MATCH;
     }
     
     @Override
     public ItemStack assemble(CraftingContainer container) {
         
-        final Pair<Integer, Integer> offset = calculateOffset(container);
-        if(offset == INVALID) {
+        final int match = matcher.find(container);
+        if(match == ShapedRecipeMatcher.NO_MATCH) {
             return ItemStack.EMPTY;
         }
         
@@ -162,13 +75,7 @@ public class CTShapedRecipeBase implements CraftingRecipe {
             return getResultItem();
         }
         
-        final int rowOffset;
-        final int columnOffset;
-        {
-            rowOffset = offset.getFirst();
-            columnOffset = offset.getSecond();
-        }
-        
+        // The stacks are passed as laid out in the recipe, even if they were placed mirrored in the grid
         IItemStack[][] stacks = new IItemStack[height][width];
         for(int rowIndex = 0; rowIndex < this.ingredients.length; rowIndex++) {
             final IIngredient[] row = this.ingredients[rowIndex];
@@ -177,7 +84,7 @@ public class CTShapedRecipeBase implements CraftingRecipe {
                 if(ingredient == null) {
                     continue;
                 }
-                final int slotIndex = (rowIndex + rowOffset) * container.getWidth() + columnIndex + columnOffset;
+                final int slotIndex = matcher.slotOf(match, rowIndex, columnIndex, container.getWidth());
                 stacks[rowIndex][columnIndex] = IItemStack.of(container.getItem(slotIndex)).setAmount(1);
             }
         }
@@ -199,36 +106,27 @@ public class CTShapedRecipeBase implements CraftingRecipe {
     @Override
     public NonNullList<ItemStack> getRemainingItems(CraftingContainer inv) {
         
-        IIngredient[][] workingIngredients = mirroredIngredients[MirrorAxis.NONE.ordinal()];
-        
-        Pair<Integer, Integer> offset = calculateOffset(workingIngredients, inv);
-        if(offset != INVALID || !mirrorAxis.isMirrored()) {
-            return getRemainingItems(inv, offset, workingIngredients);
-        }
+        final NonNullList<ItemStack> result = NonNullList.withSize(inv.getContainerSize(), ItemStack.EMPTY);
         
-        if(mirrorAxis.isVertical()) {
-            workingIngredients = mirroredIngredients[MirrorAxis.VERTICAL.ordinal()];
-            offset = calculateOffset(workingIngredients, inv);
-            if(offset != INVALID) {
-                return getRemainingItems(inv, offset, workingIngredients);
-            }
+        final int match = matcher.find(inv);
+        if(match == ShapedRecipeMatcher.NO_MATCH) {
+            return result;
         }
         
-        if(mirrorAxis.isHorizontal()) {
-            workingIngredients = mirroredIngredients[MirrorAxis.HORIZONTAL.ordinal()];
-            offset = calculateOffset(workingIngredients, inv);
-            if(offset != INVALID) {
-                return getRemainingItems(inv, offset, workingIngredients);
+        for(int rowIndex = 0; rowIndex < this.ingredients.length; rowIndex++) {
+            final IIngredient[] row = this.ingredients[rowIndex];
+            for(int columnIndex = 0; columnIndex < row.length; columnIndex++) {
+                final IIngredient ingredient = row[columnIndex];
+                if(ingredient == null) {
+                    continue;
+                }
+                final int slotIndex = matcher.slotOf(match, rowIndex, columnIndex, inv.getWidth());
+                result.set(slotIndex, ingredient.getRemainingItem(IItemStack.ofMutable(inv.getItem(slotIndex)))
+                        .getInternal());
             }
         }
         
-        if(mirrorAxis.isDiagonal()) {
-            workingIngredients = mirroredIngredients[MirrorAxis.DIAGONAL.ordinal()];
-            offset = calculateOffset(workingIngredients, inv);
-            // this should fall through to the call below
-        }
-        
-        return getRemainingItems(inv, offset, workingIngredients);
+        return result;
     }
     
     public NonNullList<ItemStack> getRemainingItems(CraftingContainer inv, Pair<Integer, Integer> offsetPair, IIngredient[][] ingredients) {
@@ -322,11 +220,6 @@ public class CTShapedRecipeBase implements CraftingRecipe {
     }
     
     
-    private boolean isValidOffset(Pair<Integer, Integer> pair) {
-        
-        return !pair.equals(INVALID);
-    }
-    
     public boolean isIncomplete() {
         
         NonNullList<Ingredient> ingredients = this.getIngredients();
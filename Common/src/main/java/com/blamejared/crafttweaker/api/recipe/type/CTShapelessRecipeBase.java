@@ -8,7 +8,6 @@ import com.blamejared.crafttweaker.api.recipe.fun.RecipeFunction1D;
 import com.blamejared.crafttweaker.platform.Services;
 import net.minecraft.core.NonNullList;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.Container;
 import net.minecraft.world.inventory.CraftingContainer;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.CraftingRecipe;
@@ -29,6 +28,7 @@ public class CTShapelessRecipeBase implements CraftingRecipe {
     @Nullable
     private final RecipeFunction1D function;
     private final ResourceLocation resourceLocation;
+    private final ShapelessRecipeMatcher matcher;
     
     
     public CTShapelessRecipeBase(String name, IItemStack output, IIngredient[] ingredients, @Nullable RecipeFunction1D function) {
@@ -52,23 +52,13 @@ public class CTShapelessRecipeBase implements CraftingRecipe {
                     .toArray(IIngredient[]::new);
         }
         this.ingredients = ingredients;
-        
+        this.matcher = new ShapelessRecipeMatcher(this.ingredients);
     }
     
     @Override
     public boolean matches(CraftingContainer inv, Level worldIn) {
-        //Don't do anything here, just make sure all slots have been visited
-        final boolean[] visited = forAllUniqueMatches(inv, (ingredientIndex, matchingSlot, stack) -> {});
-        
-        int visitedCount = 0;
-        for(int slot = 0; slot < visited.length; slot++) {
-            if(visited[slot]) {
-                visitedCount++;
-            } else if(!inv.getItem(slot).isEmpty()) {
-                return false;
-            }
-        }
-        return visitedCount == this.ingredients.length;
+        
+        return matcher.find(inv, null);
     }
     
     
@@ -79,9 +69,15 @@ public class CTShapelessRecipeBase implements CraftingRecipe {
             return this.output.getInternal().copy();
         }
         
-        final IItemStack[] stacks = new IItemStack[this.ingredients.length];
+        final int[] slots = new int[this.ingredients.length];
+        if(!matcher.find(inv, slots)) {
+            return ItemStack.EMPTY;
+        }
         
-        forAllUniqueMatches(inv, (ingredientIndex, matchingSlot, stack) -> stacks[ingredientIndex] = stack.setAmount(1));
+        final IItemStack[] stacks = new IItemStack[this.ingredients.length];
+        for(int ingredientIndex = 0; ingredientIndex < slots.length; ingredientIndex++) {
+            stacks[ingredientIndex] = IItemStack.of(inv.getItem(slots[ingredientIndex])).setAmount(1);
+        }
         
         return this.function.process(this.output, stacks).getImmutableInternal();
     }
@@ -109,47 +105,17 @@ public class CTShapelessRecipeBase implements CraftingRecipe {
     public NonNullList<ItemStack> getRemainingItems(CraftingContainer inv) {
         
         final NonNullList<ItemStack> remainingItems = NonNullList.withSize(inv.getContainerSize(), ItemStack.EMPTY);
-        forAllUniqueMatches(inv, (ingredientIndex, matchingSlot, stack) -> remainingItems.set(matchingSlot, this.ingredients[ingredientIndex]
-                .getRemainingItem(stack)
-                .getInternal()));
-        return remainingItems;
-    }
-    
-    /**
-     * Helper method to avoid redundant code.
-     * performs the Action for all matched items.
-     *
-     * Returns a bool array which slots have been visited, false implies the slot was not used.
-     * If there are less 'true' slots than there are ingredients, then the recipe doesn't match.
-     * It can be possible for a slot to not be visited but still contain items.
-     * Both cases need to be checked in the matches function!
-     */
-    private boolean[] forAllUniqueMatches(Container inv, ForAllUniqueAction action) {
-        
-        final boolean[] visited = new boolean[inv.getContainerSize()];
-        
-        outer:
-        for(int ingredientIndex = 0; ingredientIndex < this.ingredients.length; ingredientIndex++) {
-            IIngredient ingredient = this.ingredients[ingredientIndex];
-            for(int i = 0; i < inv.getContainerSize(); i++) {
-                if(visited[i]) {
-                    continue;
-                }
-                
-                final ItemStack stackInSlot = inv.getItem(i);
-                if(stackInSlot.isEmpty()) {
-                    continue;
-                }
-                
-                final IItemStack stack = IItemStack.of(stackInSlot);
-                if(ingredient.matches(stack)) {
-                    visited[i] = true;
-                    action.accept(ingredientIndex, i, stack);
-                    continue outer;
-                }
-            }
+        final int[] slots = new int[this.ingredients.length];
+        if(!matcher.find(inv, slots)) {
+            return remainingItems;
         }
-        return visited;
+        
+        for(int ingredientIndex = 0; ingredientIndex < slots.length; ingredientIndex++) {
+            final int slot = slots[ingredientIndex];
+            remainingItems.set(slot, this.ingredients[ingredientIndex].getRemainingItem(IItemStack.of(inv.getItem(slot)))
+                    .getInternal());
+        }
+        return remainingItems;
     }
     
     @Override
@@ -197,11 +163,5 @@ public class CTShapelessRecipeBase implements CraftingRecipe {
         return this.output;
     }
     
-    private interface ForAllUniqueAction {
-        
-        void accept(int ingredientIndex, int matchingSlot, IItemStack stack);
-        
-    }
-    
     
 }
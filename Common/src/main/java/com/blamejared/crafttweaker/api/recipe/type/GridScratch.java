@@ -0,0 +1,85 @@
+package com.blamejared.crafttweaker.api.recipe.type;
+
+import com.blamejared.crafttweaker.api.item.IItemStack;
+import net.minecraft.world.inventory.CraftingContainer;
+import net.minecraft.world.item.ItemStack;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Per-thread state of a crafting grid matcher: the {@link IItemStack} wrappers of the grid and the grid the last match
+ * was found in.
+ *
+ * <p>A slot is wrapped once, and the wrapper is reused for as long as the same stack stays in the slot. The stacks of
+ * the grid are remembered along with the matcher that found the last match, so that a matcher can tell whether it is
+ * looking at the same grid again. Matchers only remember hits, so looking up other recipes in between, as vanilla does
+ * before getting the remaining items, keeps the last match.</p>
+ *
+ * @param <M> The type of the matcher.
+ */
+class GridScratch<M> {
+    
+    private ItemStack[] wrapped = new ItemStack[0];
+    private IItemStack[] wrappers = new IItemStack[0];
+    private ItemStack[] lastStacks = new ItemStack[0];
+    private M lastMatcher;
+    private WeakReference<CraftingContainer> lastContainer = new WeakReference<>(null);
+    
+    /**
+     * Makes room for a grid of the given size, forgetting the last match if the grid is bigger than all previous ones.
+     */
+    void prepareGrid(final int containerSize) {
+        
+        if(this.wrapped.length < containerSize) {
+            this.wrapped = new ItemStack[containerSize];
+            this.wrappers = new IItemStack[containerSize];
+            this.lastStacks = new ItemStack[containerSize];
+            this.forget();
+        }
+    }
+    
+    void forget() {
+        
+        this.lastMatcher = null;
+    }
+    
+    IItemStack wrap(final int slot, final ItemStack stack) {
+        
+        if(this.wrapped[slot] != stack) {
+            this.wrapped[slot] = stack;
+            this.wrappers[slot] = IItemStack.ofMutable(stack);
+        }
+        return this.wrappers[slot];
+    }
+    
+    /**
+     * Checks whether the last match was found by the given matcher in the given grid, while it held the same stacks.
+     *
+     * <p>Stacks can change in place, so the match still has to be tested again.</p>
+     */
+    boolean isCached(final M matcher, final CraftingContainer container) {
+        
+        if(this.lastMatcher != matcher || this.lastContainer.get() != container) {
+            return false;
+        }
+        
+        for(int slot = 0; slot < container.getContainerSize(); slot++) {
+            if(this.lastStacks[slot] != container.getItem(slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    void cache(final M matcher, final CraftingContainer container) {
+        
+        this.lastMatcher = matcher;
+        if(this.lastContainer.get() != container) {
+            this.lastContainer = new WeakReference<>(container);
+        }
+        for(int slot = 0; slot < container.getContainerSize(); slot++) {
+            this.lastStacks[slot] = container.getItem(slot);
+        }
+    }
+    
+}
@@ -0,0 +1,249 @@
+package com.blamejared.crafttweaker.api.recipe.type;
+
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.recipe.MirrorAxis;
+import com.blamejared.crafttweaker.api.util.IngredientUtil;
+import net.minecraft.world.inventory.CraftingContainer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Finds where, and in which orientation, the pattern of a {@link CTShapedRecipeBase} is placed in a crafting grid.
+ *
+ * <p>Every slot of the pattern gets a prefilter with the items that can match it, so most placements are rejected with a
+ * set lookup instead of a call to {@link IIngredient#matches(IItemStack)}. Only placements whose pattern covers every
+ * filled slot of the grid are tried, and the stacks of the grid are wrapped once per thread and reused for as long as
+ * they stay in their slot.</p>
+ *
+ * <p>Vanilla calls {@code matches}, {@code assemble} and {@code getRemainingItems} in a row on the same grid, so the
+ * last match is remembered and only verified again, instead of being searched for, while the grid holds the same
+ * stacks.</p>
+ */
+final class ShapedRecipeMatcher {
+    
+    static final int NO_MATCH = -1;
+    
+    private static final int FLIP_ROWS = 1;
+    private static final int FLIP_COLUMNS = 2;
+    
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+    
+    private final IIngredient[][] ingredients;
+    private final Set<Item>[][] filters;
+    private final int[] layouts;
+    private final int width;
+    private final int height;
+    
+    ShapedRecipeMatcher(final IIngredient[][] ingredients, final MirrorAxis mirrorAxis, final int width, final int height) {
+        
+        this.ingredients = ingredients;
+        this.width = width;
+        this.height = height;
+        this.filters = createFilters(ingredients, width, height);
+        this.layouts = createLayouts(mirrorAxis);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Set<Item>[][] createFilters(final IIngredient[][] ingredients, final int width, final int height) {
+        
+        final Set<Item>[][] filters = (Set<Item>[][]) new Set[height][width];
+        for(int row = 0; row < height; row++) {
+            for(int column = 0; column < width; column++) {
+                final IIngredient ingredient = ingredients[row][column];
+                if(ingredient == null) {
+                    filters[row][column] = Set.of(Items.AIR);
+                    continue;
+                }
+                
+                final Set<Item> items = new HashSet<>();
+                // Tags and custom ingredients have no known items, so they are always tested
+                filters[row][column] = IngredientUtil.collectCandidateItems(ingredient, items) ? Set.copyOf(items) : null;
+            }
+        }
+        return filters;
+    }
+    
+    private static int[] createLayouts(final MirrorAxis mirrorAxis) {
+        
+        // Same order as the orientations were tried in before, as the first match decides what the grid is assembled from
+        final int[] layouts = new int[4];
+        int count = 0;
+        layouts[count++] = 0;
+        if(mirrorAxis.isVertical()) {
+            layouts[count++] = FLIP_ROWS;
+        }
+        if(mirrorAxis.isHorizontal()) {
+            layouts[count++] = FLIP_COLUMNS;
+        }
+        if(mirrorAxis.isDiagonal()) {
+            layouts[count++] = FLIP_ROWS | FLIP_COLUMNS;
+        }
+        return Arrays.copyOf(layouts, count);
+    }
+    
+    /**
+     * Finds the placement of the pattern in the given grid.
+     *
+     * @param container The grid to search.
+     *
+     * @return The placement, or {@link #NO_MATCH} if the pattern is not in the grid.
+     */
+    int find(final CraftingContainer container) {
+        
+        final Scratch scratch = SCRATCH.get();
+        scratch.prepareGrid(container.getContainerSize());
+        
+        // Stacks can change in place, so even a remembered match has to be tested again
+        if(scratch.isCached(this, container)) {
+            final int match = scratch.lastMatch;
+            if(this.test(container, scratch, layout(match), rowOffset(match), columnOffset(match))) {
+                return match;
+            }
+        }
+        
+        // A miss is never remembered, so that looking up other recipes in between keeps the last match
+        final int match = this.search(container, scratch);
+        if(match != NO_MATCH) {
+            scratch.cache(this, container, match);
+        }
+        return match;
+    }
+    
+    private int search(final CraftingContainer container, final Scratch scratch) {
+        
+        final int containerWidth = container.getWidth();
+        final int containerHeight = container.getHeight();
+        
+        // Bounds of the filled slots, which every placement has to cover
+        int minRow = containerHeight;
+        int maxRow = -1;
+        int minColumn = containerWidth;
+        int maxColumn = -1;
+        for(int slot = 0; slot < container.getContainerSize(); slot++) {
+            if(!container.getItem(slot).isEmpty()) {
+                final int row = slot / containerWidth;
+                final int column = slot % containerWidth;
+                minRow = Math.min(minRow, row);
+                maxRow = Math.max(maxRow, row);
+                minColumn = Math.min(minColumn, column);
+                maxColumn = Math.max(maxColumn, column);
+            }
+        }
+        
+        final int firstRow = Math.max(0, maxRow - this.height + 1);
+        final int lastRow = Math.min(minRow, containerHeight - this.height);
+        final int firstColumn = Math.max(0, maxColumn - this.width + 1);
+        final int lastColumn = Math.min(minColumn, containerWidth - this.width);
+        
+        for(final int layout : this.layouts) {
+            for(int rowOffset = firstRow; rowOffset <= lastRow; rowOffset++) {
+                for(int columnOffset = firstColumn; columnOffset <= lastColumn; columnOffset++) {
+                    if(this.testPattern(container, scratch, layout, rowOffset, columnOffset)) {
+                        return encode(layout, rowOffset, columnOffset);
+                    }
+                }
+            }
+        }
+        return NO_MATCH;
+    }
+    
+    private boolean test(final CraftingContainer container, final Scratch scratch, final int layout, final int rowOffset, final int columnOffset) {
+        
+        if(!this.testPattern(container, scratch, layout, rowOffset, columnOffset)) {
+            return false;
+        }
+        
+        // The pattern matched, so everything outside of it has to be empty
+        final int containerWidth = container.getWidth();
+        for(int slot = 0; slot < container.getContainerSize(); slot++) {
+            final int row = slot / containerWidth - rowOffset;
+            final int column = slot % containerWidth - columnOffset;
+            final boolean inPattern = row >= 0 && row < this.height && column >= 0 && column < this.width;
+            if(!inPattern && !container.getItem(slot).isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private boolean testPattern(final CraftingContainer container, final Scratch scratch, final int layout, final int rowOffset, final int columnOffset) {
+        
+        final int containerWidth = container.getWidth();
+        for(int row = 0; row < this.height; row++) {
+            final int patternRow = (layout & FLIP_ROWS) != 0 ? this.height - 1 - row : row;
+            for(int column = 0; column < this.width; column++) {
+                final int patternColumn = (layout & FLIP_COLUMNS) != 0 ? this.width - 1 - column : column;
+                final int slot = (row + rowOffset) * containerWidth + column + columnOffset;
+                final ItemStack stack = container.getItem(slot);
+                
+                final Set<Item> filter = this.filters[patternRow][patternColumn];
+                if(filter != null && !filter.contains(stack.getItem())) {
+                    return false;
+                }
+                
+                final IIngredient ingredient = this.ingredients[patternRow][patternColumn];
+                if(ingredient == null ? !stack.isEmpty() : !ingredient.matches(scratch.wrap(slot, stack))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Gets the slot of the grid the given slot of the pattern is placed in.
+     *
+     * @param match          The placement of the pattern, as returned by {@link #find(CraftingContainer)}.
+     * @param row            The row of the slot in the pattern, as it was defined.
+     * @param column         The column of the slot in the pattern, as it was defined.
+     * @param containerWidth The width of the grid.
+     *
+     * @return The index of the slot in the grid.
+     */
+    int slotOf(final int match, final int row, final int column, final int containerWidth) {
+        
+        final int layout = layout(match);
+        final int placedRow = (layout & FLIP_ROWS) != 0 ? this.height - 1 - row : row;
+        final int placedColumn = (layout & FLIP_COLUMNS) != 0 ? this.width - 1 - column : column;
+        return (placedRow + rowOffset(match)) * containerWidth + placedColumn + columnOffset(match);
+    }
+    
+    private static int encode(final int layout, final int rowOffset, final int columnOffset) {
+        
+        return layout << 16 | rowOffset << 8 | columnOffset;
+    }
+    
+    private static int layout(final int match) {
+        
+        return match >>> 16;
+    }
+    
+    private static int rowOffset(final int match) {
+        
+        return match >>> 8 & 0xFF;
+    }
+    
+    private static int columnOffset(final int match) {
+        
+        return match & 0xFF;
+    }
+    
+    private static final class Scratch extends GridScratch<ShapedRecipeMatcher> {
+        
+        private int lastMatch = NO_MATCH;
+        
+        void cache(final ShapedRecipeMatcher matcher, final CraftingContainer container, final int match) {
+            
+            this.cache(matcher, container);
+            this.lastMatch = match;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,226 @@
+package com.blamejared.crafttweaker.api.recipe.type;
+
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.util.IngredientUtil;
+import net.minecraft.world.inventory.CraftingContainer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Assigns every ingredient of a {@link CTShapelessRecipeBase} to its own filled slot of a crafting grid.
+ *
+ * <p>The ingredients that can match a slot are looked up by the item in it, so only those, and the ingredients whose
+ * items are not known in advance, are tested against it. The assignment is then solved as a bipartite matching, so an
+ * ingredient that could take the slot of another one is moved out of its way instead of making the recipe fail. Each
+ * ingredient keeps the first slot it matches whenever that does not prevent a full assignment.</p>
+ *
+ * <p>Like {@link ShapedRecipeMatcher}, the state used while matching is kept per thread and the last assignment is
+ * remembered, so that {@code assemble} and {@code getRemainingItems} only have to verify it again.</p>
+ */
+final class ShapelessRecipeMatcher {
+    
+    private static final int[] NONE = new int[0];
+    
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+    
+    private final IIngredient[] ingredients;
+    private final Map<Item, int[]> byItem;
+    private final int[] unindexed;
+    
+    ShapelessRecipeMatcher(final IIngredient[] ingredients) {
+        
+        this.ingredients = ingredients;
+        
+        final Map<Item, List<Integer>> byItem = new HashMap<>();
+        final List<Integer> unindexed = new ArrayList<>();
+        for(int index = 0; index < ingredients.length; index++) {
+            final Set<Item> items = new HashSet<>();
+            if(IngredientUtil.collectCandidateItems(ingredients[index], items)) {
+                final int ingredientIndex = index;
+                items.forEach(it -> byItem.computeIfAbsent(it, key -> new ArrayList<>()).add(ingredientIndex));
+            } else {
+                unindexed.add(index);
+            }
+        }
+        
+        this.byItem = new HashMap<>(byItem.size());
+        byItem.forEach((item, indices) -> this.byItem.put(item, toArray(indices)));
+        this.unindexed = toArray(unindexed);
+    }
+    
+    private static int[] toArray(final List<Integer> list) {
+        
+        return list.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
+    /**
+     * Finds a slot for every ingredient in the given grid.
+     *
+     * @param container The grid to search.
+     * @param slots     The array the slot of every ingredient is written to, by the index of the ingredient, or
+     *                  {@code null} if only whether the recipe matches is needed.
+     *
+     * @return Whether every ingredient got a slot and every filled slot got an ingredient.
+     */
+    boolean find(final CraftingContainer container, @Nullable final int[] slots) {
+        
+        final Scratch scratch = SCRATCH.get();
+        scratch.prepare(container.getContainerSize(), this.ingredients.length);
+        
+        // Stacks can change in place, so a remembered assignment is tested again; misses are never remembered, so that
+        // looking up other recipes in between keeps the last match
+        if(!scratch.isCached(this, container) || !this.test(container, scratch)) {
+            if(!this.search(container, scratch)) {
+                return false;
+            }
+            scratch.cache(this, container);
+        }
+        
+        if(slots != null) {
+            System.arraycopy(scratch.assignment, 0, slots, 0, this.ingredients.length);
+        }
+        return true;
+    }
+    
+    private boolean test(final CraftingContainer container, final Scratch scratch) {
+        
+        int filled = 0;
+        for(int slot = 0; slot < container.getContainerSize(); slot++) {
+            if(!container.getItem(slot).isEmpty()) {
+                ++filled;
+            }
+        }
+        if(filled != this.ingredients.length) {
+            return false;
+        }
+        
+        for(int index = 0; index < this.ingredients.length; index++) {
+            final int slot = scratch.assignment[index];
+            final ItemStack stack = container.getItem(slot);
+            if(stack.isEmpty() || !this.ingredients[index].matches(scratch.wrap(slot, stack))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private boolean search(final CraftingContainer container, final Scratch scratch) {
+        
+        final int size = this.ingredients.length;
+        
+        // Every ingredient takes exactly one filled slot, so the amounts have to be the same
+        int filled = 0;
+        for(int slot = 0; slot < container.getContainerSize(); slot++) {
+            if(!container.getItem(slot).isEmpty()) {
+                if(filled == size) {
+                    return false;
+                }
+                scratch.filled[filled++] = slot;
+            }
+        }
+        if(filled != size) {
+            return false;
+        }
+        
+        // edges[ingredient * size + filled slot] tells whether the ingredient matches the stack in the slot
+        final boolean[] edges = scratch.edges;
+        for(int i = 0; i < size * size; i++) {
+            edges[i] = false;
+        }
+        for(int target = 0; target < size; target++) {
+            final int slot = scratch.filled[target];
+            final ItemStack stack = container.getItem(slot);
+            this.connect(scratch, target, slot, stack, this.byItem.getOrDefault(stack.getItem(), NONE));
+            this.connect(scratch, target, slot, stack, this.unindexed);
+        }
+        
+        for(int target = 0; target < size; target++) {
+            scratch.owner[target] = -1;
+        }
+        for(int index = 0; index < size; index++) {
+            if(!this.claimFree(scratch, index)) {
+                ++scratch.stamp;
+                if(!this.augment(scratch, index)) {
+                    return false;
+                }
+            }
+        }
+        
+        for(int target = 0; target < size; target++) {
+            scratch.assignment[scratch.owner[target]] = scratch.filled[target];
+        }
+        return true;
+    }
+    
+    private void connect(final Scratch scratch, final int target, final int slot, final ItemStack stack, final int[] candidates) {
+        
+        final int size = this.ingredients.length;
+        for(final int index : candidates) {
+            if(this.ingredients[index].matches(scratch.wrap(slot, stack))) {
+                scratch.edges[index * size + target] = true;
+            }
+        }
+    }
+    
+    private boolean claimFree(final Scratch scratch, final int index) {
+        
+        final int size = this.ingredients.length;
+        for(int target = 0; target < size; target++) {
+            if(scratch.edges[index * size + target] && scratch.owner[target] == -1) {
+                scratch.owner[target] = index;
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // Kuhn's augmenting path search: frees a slot for the ingredient by moving the ingredients in the way
+    private boolean augment(final Scratch scratch, final int index) {
+        
+        final int size = this.ingredients.length;
+        for(int target = 0; target < size; target++) {
+            if(!scratch.edges[index * size + target] || scratch.seen[target] == scratch.stamp) {
+                continue;
+            }
+            scratch.seen[target] = scratch.stamp;
+            if(scratch.owner[target] == -1 || this.augment(scratch, scratch.owner[target])) {
+                scratch.owner[target] = index;
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static final class Scratch extends GridScratch<ShapelessRecipeMatcher> {
+        
+        private int[] filled = new int[0];
+        private int[] owner = new int[0];
+        private int[] seen = new int[0];
+        private int[] assignment = new int[0];
+        private boolean[] edges = new boolean[0];
+        private int stamp;
+        
+        void prepare(final int containerSize, final int ingredients) {
+            
+            this.prepareGrid(containerSize);
+            if(this.filled.length < ingredients) {
+                this.filled = new int[ingredients];
+                this.owner = new int[ingredients];
+                this.seen = new int[ingredients];
+                this.assignment = new int[ingredients];
+                this.edges = new boolean[ingredients * ingredients];
+                this.forget();
+            }
+        }
+        
+    }
+    
+}
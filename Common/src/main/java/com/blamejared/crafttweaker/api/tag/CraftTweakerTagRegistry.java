@@ -55,6 +55,7 @@ public final class CraftTweakerTagRegistry {
     private final Map<ResourceKey<? extends Registry<?>>, ITagManager<?>> registeredManagers = new HashMap<>();
     private final Set<ResourceKey<? extends Registry<?>>> knownManagers = new HashSet<>();
     private final Set<ResourceKey<? extends Registry<?>>> knownManagersView = Collections.unmodifiableSet(knownManagers);
+    private boolean transactional = false;
     
     /**
      * Adds a new {@link ITagManager} to the registry.
@@ -319,6 +320,44 @@ public final class CraftTweakerTagRegistry {
         }
     }
     
+    /**
+     * Puts the registry in transactional mode.
+     *
+     * <p>While in transactional mode, elements added to or removed from tags are recorded as per-tag edits instead
+     * of being applied right away. Edits are applied all at once when {@link #commitTransaction()} is called, or as soon
+     * as the contents of a tag of the same manager are queried.</p>
+     */
+    public void beginTransaction() {
+        
+        this.transactional = true;
+    }
+    
+    /**
+     * Applies all pending tag edits and leaves transactional mode, refreshing the tag maps of all managers.
+     */
+    public void commitTransaction() {
+        
+        this.transactional = false;
+        for(ITagManager<?> manager : this.registeredManagers.values()) {
+            if(manager instanceof KnownTagManager<?> known) {
+                known.flush();
+            } else if(manager instanceof UnknownTagManager unknown) {
+                unknown.flush();
+            }
+            manager.recalculate();
+        }
+    }
+    
+    /**
+     * Checks if the registry is in transactional mode.
+     *
+     * @return True if tag edits are currently being deferred.
+     */
+    public boolean isTransactional() {
+        
+        return this.transactional;
+    }
+    
     public String makeTagFolder(ResourceKey<?> key) {
         
         String tagDir = TagManager.getTagDir(GenericUtil.uncheck(key));
@@ -0,0 +1,180 @@
+package com.blamejared.crafttweaker.api.tag.manager.type;
+
+import com.blamejared.crafttweaker.api.CraftTweakerAPI;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Membership index for the tags of a {@link KnownTagManager}.
+ *
+ * <p>Every tag is stored as a {@link BitSet} over the registry ids of its elements, alongside a reverse map from the
+ * registry id of every element to the tags that contain it. This allows checking whether a tag contains an element and
+ * finding all the tags of an element without going through the elements of every tag.</p>
+ *
+ * <p>The index is built lazily from the tags of the manager and is then kept up to date by the tag actions, which
+ * notify it of the elements they add or remove. Elements that do not belong to the registry are not indexed and are
+ * looked up in the tags directly.</p>
+ *
+ * <p>All accesses are synchronized, as tags may be queried from any thread while the tag actions update the index.</p>
+ *
+ * @param <T> The type of element the tags hold.
+ */
+public final class KnownTagIndex<T> {
+    
+    private final ResourceKey<? extends Registry<T>> resourceKey;
+    private final Supplier<Map<ResourceLocation, Collection<Holder<T>>>> tags;
+    private Registry<T> registry;
+    private Map<ResourceLocation, BitSet> members;
+    private Int2ObjectMap<Set<ResourceLocation>> tagsByElement;
+    
+    KnownTagIndex(final ResourceKey<? extends Registry<T>> resourceKey, final Supplier<Map<ResourceLocation, Collection<Holder<T>>>> tags) {
+        
+        this.resourceKey = resourceKey;
+        this.tags = tags;
+        this.invalidate();
+    }
+    
+    public synchronized boolean contains(final ResourceLocation tag, final T element) {
+        
+        this.ensureBuilt();
+        final int id = this.registry.getId(element);
+        if(id < 0) {
+            final Collection<Holder<T>> holders = this.tags.get().get(tag);
+            return holders != null && holders.stream().anyMatch(it -> it.value() == element);
+        }
+        
+        final BitSet bits = this.members.get(tag);
+        return bits != null && bits.get(id);
+    }
+    
+    public synchronized Set<ResourceLocation> tagsOf(final T element) {
+        
+        this.ensureBuilt();
+        final int id = this.registry.getId(element);
+        if(id < 0) {
+            return this.tags.get()
+                    .entrySet()
+                    .stream()
+                    .filter(it -> it.getValue().stream().anyMatch(holder -> holder.value() == element))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toSet());
+        }
+        // Copied, since the set keeps changing with the tags once the lock is released
+        return Set.copyOf(this.tagsByElement.getOrDefault(id, Set.of()));
+    }
+    
+    public synchronized Set<ResourceLocation> tagsOf(final ResourceLocation elementId) {
+        
+        this.ensureBuilt();
+        return this.registry.getOptional(elementId).map(this::tagsOf).orElseGet(Set::of);
+    }
+    
+    public synchronized void onAdded(final ResourceLocation tag, final Collection<Holder<T>> holders) {
+        
+        if(this.members == null) {
+            return;
+        }
+        
+        add(this.registry, this.members, this.tagsByElement, tag, holders);
+    }
+    
+    public synchronized void onRemoved(final ResourceLocation tag, final Collection<Holder<T>> holders) {
+        
+        if(this.members == null) {
+            return;
+        }
+        
+        final BitSet bits = this.members.get(tag);
+        if(bits == null) {
+            return;
+        }
+        for(final Holder<T> holder : holders) {
+            final int id = this.registry.getId(holder.value());
+            if(id >= 0 && bits.get(id)) {
+                bits.clear(id);
+                this.removeReverse(id, tag);
+            }
+        }
+    }
+    
+    public synchronized void onCleared(final ResourceLocation tag) {
+        
+        if(this.members == null) {
+            return;
+        }
+        
+        final BitSet bits = this.members.get(tag);
+        if(bits == null) {
+            return;
+        }
+        for(int id = bits.nextSetBit(0); id >= 0; id = bits.nextSetBit(id + 1)) {
+            this.removeReverse(id, tag);
+        }
+        bits.clear();
+    }
+    
+    public synchronized void invalidate() {
+        
+        this.registry = null;
+        this.members = null;
+        this.tagsByElement = null;
+    }
+    
+    private void removeReverse(final int id, final ResourceLocation tag) {
+        
+        final Set<ResourceLocation> tags = this.tagsByElement.get(id);
+        if(tags != null && tags.remove(tag) && tags.isEmpty()) {
+            this.tagsByElement.remove(id);
+        }
+    }
+    
+    private void ensureBuilt() {
+        
+        if(this.members != null) {
+            return;
+        }
+        
+        // Only published once complete, so that the incremental updates never see a partial index
+        final Registry<T> registry = CraftTweakerAPI.getAccessibleElementsProvider()
+                .registryAccess()
+                .registryOrThrow(this.resourceKey);
+        final Map<ResourceLocation, BitSet> members = new HashMap<>();
+        final Int2ObjectMap<Set<ResourceLocation>> tagsByElement = new Int2ObjectOpenHashMap<>();
+        this.tags.get().forEach((tag, holders) -> add(registry, members, tagsByElement, tag, holders));
+        this.registry = registry;
+        this.members = members;
+        this.tagsByElement = tagsByElement;
+    }
+    
+    private static <T> void add(
+            final Registry<T> registry,
+            final Map<ResourceLocation, BitSet> members,
+            final Int2ObjectMap<Set<ResourceLocation>> tagsByElement,
+            final ResourceLocation tag,
+            final Collection<Holder<T>> holders
+    ) {
+        
+        final BitSet bits = members.computeIfAbsent(tag, it -> new BitSet());
+        for(final Holder<T> holder : holders) {
+            final int id = registry.getId(holder.value());
+            if(id >= 0) {
+                bits.set(id);
+                tagsByElement.computeIfAbsent(id, it -> new HashSet<>()).add(tag);
+            }
+        }
+    }
+    
+}
@@ -6,6 +6,7 @@ import com.blamejared.crafttweaker.api.action.tag.known.ActionKnownTagClear;
 import com.blamejared.crafttweaker.api.action.tag.known.ActionKnownTagCreate;
 import com.blamejared.crafttweaker.api.action.tag.known.ActionKnownTagRemove;
 import com.blamejared.crafttweaker.api.annotation.ZenRegister;
+import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
 import com.blamejared.crafttweaker.api.tag.MutableLoadResult;
 import com.blamejared.crafttweaker.api.tag.manager.ITagManager;
 import com.blamejared.crafttweaker.api.tag.type.KnownTag;
@@ -26,6 +27,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -39,6 +41,8 @@ public class KnownTagManager<T> implements ITagManager<KnownTag<T>> {
     private final ResourceKey<? extends Registry<T>> resourceKey;
     private final Class<T> elementClass;
     private final MutableLoadResult<T> backingResult;
+    private final KnownTagIndex<T> index;
+    private final Map<ResourceLocation, TagDelta<Holder<T>>> pendingEdits;
     private Map<ResourceLocation, KnownTag<T>> tagCache;
     
     public KnownTagManager(ResourceKey<? extends Registry<T>> resourceKey, Class<T> elementClass) {
@@ -46,6 +50,8 @@ public class KnownTagManager<T> implements ITagManager<KnownTag<T>> {
         this.resourceKey = resourceKey;
         this.elementClass = elementClass;
         this.backingResult = new MutableLoadResult<>();
+        this.index = new KnownTagIndex<>(resourceKey, this.backingResult::tagMap);
+        this.pendingEdits = new LinkedHashMap<>();
         this.tagCache = new HashMap<>();
     }
     
@@ -154,9 +160,24 @@ public class KnownTagManager<T> implements ITagManager<KnownTag<T>> {
         return tagMap().getOrDefault(id, new KnownTag<>(id, this));
     }
     
+    @Override
+    public boolean exists(ResourceLocation id) {
+        
+        return backingResult.tagMap().containsKey(id);
+    }
+    
     @Override
     public void recalculate() {
         
+        // Edits in transactional mode never change the set of tags: the cache is refreshed lazily once a tag is created
+        if(CraftTweakerTagRegistry.INSTANCE.isTransactional()) {
+            return;
+        }
+        this.rebuildTagCache();
+    }
+    
+    private void rebuildTagCache() {
+        
         this.tagCache = backingResult.tagMap()
                 .keySet()
                 .stream()
@@ -168,8 +189,8 @@ public class KnownTagManager<T> implements ITagManager<KnownTag<T>> {
     @ZenCodeType.Getter("tagMap")
     public Map<ResourceLocation, KnownTag<T>> tagMap() {
         
-        if(this.tagCache.isEmpty()) {
-            this.recalculate();
+        if(this.tagCache.isEmpty() || this.tagCache.size() != backingResult.tagMap().size()) {
+            this.rebuildTagCache();
         }
         return tagCache;
     }
@@ -182,6 +203,7 @@ public class KnownTagManager<T> implements ITagManager<KnownTag<T>> {
     @Nullable
     public Collection<Holder<T>> getInternal(KnownTag<T> tag) {
     
+        this.flush();
         return backingResult.tagMap().get(tag.id());
     }
     
@@ -201,7 +223,10 @@ public class KnownTagManager<T> implements ITagManager<KnownTag<T>> {
     @Override
     public <U> void addTag(ResourceLocation id, Collection<Holder<U>> tag) {
     
+        this.flush();
         this.backingResult.addTag(id, GenericUtil.uncheck(tag));
+        this.index.onCleared(id);
+        this.index.onAdded(id, GenericUtil.uncheck(tag));
         recalculate();
     }
     
@@ -209,12 +234,92 @@ public class KnownTagManager<T> implements ITagManager<KnownTag<T>> {
     public void bind(TagManager.LoadResult<?> result) {
         
         this.backingResult.bind((TagManager.LoadResult<T>) result);
+        this.pendingEdits.clear();
+        this.index.invalidate();
+    }
+    
+    public KnownTagIndex<T> index() {
+        
+        this.flush();
+        return this.index;
+    }
+    
+    /**
+     * Adds the given holders to the given tag, deferring the edit if the tag registry is in transactional mode.
+     *
+     * @param to      The tag to add to.
+     * @param holders The holders to add.
+     */
+    public void addHolders(KnownTag<T> to, List<Holder<T>> holders) {
+        
+        if(CraftTweakerTagRegistry.INSTANCE.isTransactional()) {
+            this.pendingEdits.computeIfAbsent(to.id(), it -> new TagDelta<>()).add(holders);
+            return;
+        }
+        backingResult.tagMap().get(to.id()).addAll(holders);
+        this.index.onAdded(to.id(), holders);
+    }
+    
+    /**
+     * Removes the given holders from the given tag, deferring the edit if the tag registry is in transactional mode.
+     *
+     * @param from    The tag to remove from.
+     * @param holders The holders to remove.
+     */
+    public void removeHolders(KnownTag<T> from, List<Holder<T>> holders) {
+        
+        if(CraftTweakerTagRegistry.INSTANCE.isTransactional()) {
+            this.pendingEdits.computeIfAbsent(from.id(), it -> new TagDelta<>()).remove(holders);
+            return;
+        }
+        backingResult.tagMap().get(from.id()).removeAll(holders);
+        this.index.onRemoved(from.id(), holders);
+    }
+    
+    /**
+     * Removes all holders from the given tag, deferring the edit if the tag registry is in transactional mode.
+     *
+     * @param from The tag to clear.
+     */
+    public void clearHolders(KnownTag<T> from) {
+        
+        if(CraftTweakerTagRegistry.INSTANCE.isTransactional()) {
+            this.pendingEdits.computeIfAbsent(from.id(), it -> new TagDelta<>()).clear();
+            return;
+        }
+        backingResult.tagMap().get(from.id()).clear();
+        this.index.onCleared(from.id());
+    }
+    
+    /**
+     * Applies all edits deferred while the tag registry was in transactional mode.
+     */
+    public void flush() {
+        
+        if(this.pendingEdits.isEmpty()) {
+            return;
+        }
+        this.pendingEdits.forEach((id, delta) -> {
+            delta.applyTo(backingResult.tagMap().get(id));
+            if(delta.cleared()) {
+                this.index.onCleared(id);
+            }
+            this.index.onRemoved(id, delta.removed());
+            this.index.onAdded(id, delta.added());
+        });
+        this.pendingEdits.clear();
     }
     
     @ZenCodeType.Method
     public List<KnownTag<T>> getTagsFor(T element) {
         
-        return tags().stream().filter(tag -> tag.contains(element)).toList();
+        return this.index().tagsOf(element).stream().map(this::tag).toList();
+    }
+    
+    @Override
+    public List<KnownTag<T>> getTagsFor(ResourceLocation element) {
+        
+        return this.index().tagsOf(element).stream().map(this::tag).toList();
     }
     
 }
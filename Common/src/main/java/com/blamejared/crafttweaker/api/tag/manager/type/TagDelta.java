@@ -0,0 +1,78 @@
+package com.blamejared.crafttweaker.api.tag.manager.type;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Pending edits of a single tag, recorded while the {@link com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry}
+ * is in transactional mode.
+ *
+ * <p>Edits are coalesced as they are recorded, so that adding and then removing the same element cancels out, and are
+ * then applied to the holders of the tag in a single pass.</p>
+ *
+ * @param <H> The type of the holders of the tag.
+ */
+final class TagDelta<H> {
+    
+    private final Set<H> added;
+    private final Set<H> removed;
+    private boolean cleared;
+    
+    TagDelta() {
+        
+        this.added = new LinkedHashSet<>();
+        this.removed = new HashSet<>();
+        this.cleared = false;
+    }
+    
+    void add(final Collection<? extends H> holders) {
+        
+        this.removed.removeAll(holders);
+        this.added.addAll(holders);
+    }
+    
+    void remove(final Collection<? extends H> holders) {
+        
+        this.added.removeAll(holders);
+        this.removed.addAll(holders);
+    }
+    
+    void clear() {
+        
+        this.added.clear();
+        this.removed.clear();
+        this.cleared = true;
+    }
+    
+    void applyTo(final Collection<H> holders) {
+        
+        if(this.cleared) {
+            holders.clear();
+        }
+        if(!this.removed.isEmpty()) {
+            holders.removeIf(this.removed::contains);
+        }
+        if(!this.added.isEmpty()) {
+            final Set<H> present = new HashSet<>(holders);
+            this.added.stream().filter(it -> !present.contains(it)).forEach(holders::add);
+        }
+    }
+    
+    boolean cleared() {
+        
+        return this.cleared;
+    }
+    
+    Set<H> added() {
+        
+        return this.added;
+    }
+    
+    Set<H> removed() {
+        
+        return this.removed;
+    }
+    
+}
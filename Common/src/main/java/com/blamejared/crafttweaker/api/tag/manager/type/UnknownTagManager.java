@@ -7,6 +7,7 @@ import com.blamejared.crafttweaker.api.action.tag.unknown.ActionUnknownTagClear;
 import com.blamejared.crafttweaker.api.action.tag.unknown.ActionUnknownTagCreate;
 import com.blamejared.crafttweaker.api.action.tag.unknown.ActionUnknownTagRemove;
 import com.blamejared.crafttweaker.api.annotation.ZenRegister;
+import com.blamejared.crafttweaker.api.tag.CraftTweakerTagRegistry;
 import com.blamejared.crafttweaker.api.tag.MutableLoadResult;
 import com.blamejared.crafttweaker.api.tag.manager.ITagManager;
 import com.blamejared.crafttweaker.api.tag.type.UnknownTag;
@@ -25,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -36,12 +38,14 @@ public class UnknownTagManager implements ITagManager<UnknownTag> {
     
     private final ResourceKey<? extends Registry<?>> resourceKey;
     private final MutableLoadResult<?> backingResult;
+    private final Map<ResourceLocation, TagDelta<Holder<?>>> pendingEdits;
     private Map<ResourceLocation, UnknownTag> tagCache;
     
     public UnknownTagManager(ResourceKey<? extends Registry<?>> resourceKey) {
         
         this.resourceKey = resourceKey;
         this.backingResult = new MutableLoadResult<>();
+        this.pendingEdits = new LinkedHashMap<>();
         this.tagCache = new HashMap<>();
     }
     
@@ -93,9 +97,24 @@ public class UnknownTagManager implements ITagManager<UnknownTag> {
         return tagMap().getOrDefault(id, new UnknownTag(id, this));
     }
     
+    @Override
+    public boolean exists(ResourceLocation id) {
+        
+        return backingResult.tagMap().containsKey(id);
+    }
+    
     @Override
     public void recalculate() {
         
+        // Edits in transactional mode never change the set of tags: the cache is refreshed lazily once a tag is created
+        if(CraftTweakerTagRegistry.INSTANCE.isTransactional()) {
+            return;
+        }
+        this.rebuildTagCache();
+    }
+    
+    private void rebuildTagCache() {
+        
         this.tagCache = backingResult.tagMap()
                 .keySet()
                 .stream()
@@ -107,8 +126,8 @@ public class UnknownTagManager implements ITagManager<UnknownTag> {
     @ZenCodeType.Getter("tagMap")
     public Map<ResourceLocation, UnknownTag> tagMap() {
         
-        if(this.tagCache.isEmpty()) {
-            this.recalculate();
+        if(this.tagCache.isEmpty() || this.tagCache.size() != backingResult.tagMap().size()) {
+            this.rebuildTagCache();
         }
         return tagCache;
     }
@@ -122,6 +141,7 @@ public class UnknownTagManager implements ITagManager<UnknownTag> {
     @Override
     public Collection<Holder<?>> getInternalRaw(UnknownTag tag) {
         
+        this.flush();
         return GenericUtil.uncheck(backingResult.tagMap().get(tag.id()));
     }
     
@@ -134,6 +154,7 @@ public class UnknownTagManager implements ITagManager<UnknownTag> {
     @Override
     public <U> void addTag(ResourceLocation id, Collection<Holder<U>> tag) {
     
+        this.flush();
         this.backingResult.addTag(id, GenericUtil.uncheck(tag));
         recalculate();
     }
@@ -142,6 +163,68 @@ public class UnknownTagManager implements ITagManager<UnknownTag> {
     public void bind(TagManager.LoadResult<?> result) {
         
         this.backingResult.bind(GenericUtil.uncheck(result));
+        this.pendingEdits.clear();
+    }
+    
+    /**
+     * Adds the given holders to the given tag, deferring the edit if the tag registry is in transactional mode.
+     *
+     * @param to      The tag to add to.
+     * @param holders The holders to add.
+     */
+    public void addHolders(UnknownTag to, List<Holder<?>> holders) {
+        
+        if(CraftTweakerTagRegistry.INSTANCE.isTransactional()) {
+            this.pendingEdits.computeIfAbsent(to.id(), it -> new TagDelta<>()).add(holders);
+            return;
+        }
+        this.internal(to.id()).addAll(holders);
+    }
+    
+    /**
+     * Removes the given holders from the given tag, deferring the edit if the tag registry is in transactional mode.
+     *
+     * @param from    The tag to remove from.
+     * @param holders The holders to remove.
+     */
+    public void removeHolders(UnknownTag from, List<Holder<?>> holders) {
+        
+        if(CraftTweakerTagRegistry.INSTANCE.isTransactional()) {
+            this.pendingEdits.computeIfAbsent(from.id(), it -> new TagDelta<>()).remove(holders);
+            return;
+        }
+        this.internal(from.id()).removeAll(holders);
+    }
+    
+    /**
+     * Removes all holders from the given tag, deferring the edit if the tag registry is in transactional mode.
+     *
+     * @param from The tag to clear.
+     */
+    public void clearHolders(UnknownTag from) {
+        
+        if(CraftTweakerTagRegistry.INSTANCE.isTransactional()) {
+            this.pendingEdits.computeIfAbsent(from.id(), it -> new TagDelta<>()).clear();
+            return;
+        }
+        this.internal(from.id()).clear();
+    }
+    
+    /**
+     * Applies all edits deferred while the tag registry was in transactional mode.
+     */
+    public void flush() {
+        
+        if(this.pendingEdits.isEmpty()) {
+            return;
+        }
+        this.pendingEdits.forEach((id, delta) -> delta.applyTo(this.internal(id)));
+        this.pendingEdits.clear();
+    }
+    
+    private Collection<Holder<?>> internal(ResourceLocation id) {
+        
+        return GenericUtil.uncheck(backingResult.tagMap().get(id));
     }
     
 }
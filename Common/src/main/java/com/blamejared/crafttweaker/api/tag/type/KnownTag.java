@@ -70,7 +70,7 @@ public class KnownTag<T> implements MCTag, Iterable<T> {
     @ZenCodeType.Operator(ZenCodeType.OperatorType.CONTAINS)
     public boolean contains(T element) {
         
-        return elements().contains(element);
+        return manager().index().contains(id(), element);
     }
     
     @ZenCodeType.Method
@@ -0,0 +1,151 @@
+package com.blamejared.crafttweaker.api.util;
+
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.item.IItemStack;
+import net.minecraft.world.item.Item;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Lookup table for ordered ingredient-keyed entries, so that a stack is only tested against the ingredients that could
+ * possibly match it.
+ *
+ * <p>Ingredients that can be narrowed down to a set of items through
+ * {@link IngredientUtil#collectCandidateItems(IIngredient, Set)} are stored by {@link Item}, whereas all other
+ * ingredients, such as tags, are kept in a fallback list that is tested for every stack. Entries are numbered in the
+ * order in which they are added, and lookups always visit them in that order.</p>
+ *
+ * @param <T> The type of the data associated to every ingredient.
+ */
+public final class IngredientLookupTable<T> {
+    
+    public record Entry<T>(int ordinal, IIngredient ingredient, T data) {}
+    
+    private final Map<Item, List<Entry<T>>> byItem;
+    private final List<Entry<T>> fallback;
+    
+    private IngredientLookupTable(final Map<Item, List<Entry<T>>> byItem, final List<Entry<T>> fallback) {
+        
+        this.byItem = byItem;
+        this.fallback = fallback;
+    }
+    
+    public static <T> Builder<T> builder() {
+        
+        return new Builder<>();
+    }
+    
+    public static <T> IngredientLookupTable<T> empty() {
+        
+        return new IngredientLookupTable<>(Map.of(), List.of());
+    }
+    
+    public boolean isEmpty() {
+        
+        return this.byItem.isEmpty() && this.fallback.isEmpty();
+    }
+    
+    /**
+     * Checks whether any entry could match a stack of the given item, without testing the ingredients themselves.
+     */
+    public boolean hasCandidates(final Item item) {
+        
+        return !this.fallback.isEmpty() || this.byItem.containsKey(item);
+    }
+    
+    /**
+     * Finds the first entry, starting from the given ordinal, that satisfies the given condition and whose ingredient
+     * matches the given stack.
+     *
+     * <p>The condition is tested before the ingredient, so it should be used for checks cheaper than matching.</p>
+     *
+     * @return The entry, or {@code null} if no entry matches.
+     */
+    @Nullable
+    public Entry<T> findFirst(final IItemStack stack, final int from, final Predicate<Entry<T>> condition) {
+        
+        return this.visit(stack.getDefinition(), from, it -> condition.test(it) && it.ingredient().matches(stack));
+    }
+    
+    /**
+     * Visits, in order, all entries that satisfy the given condition and whose ingredient matches the given stack.
+     *
+     * <p>The condition is tested before the ingredient, so it should be used for checks cheaper than matching.</p>
+     */
+    public void forEachMatching(final IItemStack stack, final Predicate<Entry<T>> condition, final Consumer<Entry<T>> consumer) {
+        
+        this.visit(stack.getDefinition(), 0, it -> {
+            if(condition.test(it) && it.ingredient().matches(stack)) {
+                consumer.accept(it);
+            }
+            return false;
+        });
+    }
+    
+    @Nullable
+    private Entry<T> visit(final Item item, final int from, final Predicate<Entry<T>> visitor) {
+        
+        final List<Entry<T>> indexed = this.byItem.getOrDefault(item, List.of());
+        
+        // Both lists are sorted by ordinal, so they can be merged on the fly
+        int i = 0;
+        int j = 0;
+        while(i < indexed.size() || j < this.fallback.size()) {
+            final Entry<T> next;
+            if(j >= this.fallback.size() || (i < indexed.size() && indexed.get(i).ordinal() < this.fallback.get(j).ordinal())) {
+                next = indexed.get(i++);
+            } else {
+                next = this.fallback.get(j++);
+            }
+            
+            if(next.ordinal() >= from && visitor.test(next)) {
+                return next;
+            }
+        }
+        return null;
+    }
+    
+    public static final class Builder<T> {
+        
+        private final Map<Item, List<Entry<T>>> byItem;
+        private final List<Entry<T>> fallback;
+        private int ordinal;
+        
+        private Builder() {
+            
+            this.byItem = new HashMap<>();
+            this.fallback = new ArrayList<>();
+            this.ordinal = 0;
+        }
+        
+        /**
+         * Adds an entry after all the entries added so far.
+         */
+        public Builder<T> add(final IIngredient ingredient, final T data) {
+            
+            final Entry<T> entry = new Entry<>(this.ordinal++, ingredient, data);
+            final Set<Item> items = new HashSet<>();
+            if(IngredientUtil.collectCandidateItems(ingredient, items)) {
+                items.forEach(it -> this.byItem.computeIfAbsent(it, key -> new ArrayList<>()).add(entry));
+            } else {
+                this.fallback.add(entry);
+            }
+            return this;
+        }
+        
+        public IngredientLookupTable<T> build() {
+            
+            return new IngredientLookupTable<>(this.byItem, this.fallback);
+        }
+        
+    }
+    
+}
@@ -1,12 +1,22 @@
 package com.blamejared.crafttweaker.api.util;
 
 
+import com.blamejared.crafttweaker.api.ingredient.IIngredient;
+import com.blamejared.crafttweaker.api.ingredient.type.IIngredientConditioned;
+import com.blamejared.crafttweaker.api.ingredient.type.IIngredientEmpty;
+import com.blamejared.crafttweaker.api.ingredient.type.IIngredientList;
+import com.blamejared.crafttweaker.api.ingredient.type.IIngredientTransformed;
+import com.blamejared.crafttweaker.api.item.IItemStack;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
 import net.minecraft.world.item.crafting.Ingredient;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -95,4 +105,72 @@ public final class IngredientUtil {
         return intersection == null ? List.of() : intersection;
     }
     
+    /**
+     * Collects the items a stack must be made of to match the given ingredient.
+     *
+     * <p>Only ingredients whose items can be determined in advance are supported, namely stacks, lists of supported
+     * ingredients and conditioned or transformed supported ingredients. Tags are not supported, as their contents can
+     * change after the ingredient has been created. An empty stack is made of {@link Items#AIR}.</p>
+     *
+     * @param ingredient The ingredient to collect the items of.
+     * @param items      The set the items are added to.
+     *
+     * @return Whether the ingredient is supported; if not, the contents of the set must not be used.
+     */
+    public static boolean collectCandidateItems(final IIngredient ingredient, final Set<Item> items) {
+        
+        return collectCandidateItems(ingredient, items, false);
+    }
+    
+    /**
+     * Collects the items a stack must be made of to match the given ingredient, optionally resolving the ingredients
+     * that are not supported by {@link #collectCandidateItems(IIngredient, Set)}, such as tags, through
+     * {@link IIngredient#getItems()}.
+     *
+     * <p>Resolved items are only valid as long as the contents of tags do not change, so they must not be kept across
+     * reloads. Ingredients that resolve to no items at all are never supported, as they might still match stacks
+     * through {@link IIngredient#contains(IIngredient)}.</p>
+     *
+     * @param ingredient   The ingredient to collect the items of.
+     * @param items        The set the items are added to.
+     * @param resolveItems Whether unsupported ingredients may be resolved through their items.
+     *
+     * @return Whether the ingredient is supported; if not, the contents of the set must not be used.
+     */
+    public static boolean collectCandidateItems(final IIngredient ingredient, final Set<Item> items, final boolean resolveItems) {
+        
+        if(ingredient instanceof IItemStack stack) {
+            items.add(stack.getDefinition());
+            return true;
+        }
+        
+        if(ingredient instanceof IIngredientEmpty) {
+            items.add(Items.AIR);
+            return true;
+        }
+        
+        if(ingredient instanceof IIngredientList list) {
+            return Arrays.stream(list.getIngredients()).allMatch(it -> collectCandidateItems(it, items, resolveItems));
+        }
+        
+        if(ingredient instanceof IIngredientConditioned<?> conditioned) {
+            return collectCandidateItems(conditioned.getBaseIngredient(), items, resolveItems);
+        }
+        
+        if(ingredient instanceof IIngredientTransformed<?> transformed) {
+            return collectCandidateItems(transformed.getBaseIngredient(), items, resolveItems);
+        }
+        
+        if(!resolveItems) {
+            return false;
+        }
+        
+        final IItemStack[] stacks = ingredient.getItems();
+        if(stacks.length == 0) {
+            return false;
+        }
+        Arrays.stream(stacks).map(IItemStack::getDefinition).forEach(items::add);
+        return true;
+    }
+    
 }
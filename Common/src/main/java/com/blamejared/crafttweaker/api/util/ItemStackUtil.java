@@ -23,7 +23,7 @@ public final class ItemStackUtil {
         final CompoundTag tag;
         if((tag = stack.getTag()) != null) {
             
-            final IData data = Objects.requireNonNull(TagToDataConverter.convert(tag)).copyInternal();
+            final IData data = Objects.requireNonNull(TagToDataConverter.convert(tag)).copyOnWrite();
             
             //Damage is special case, if we have more special cases we can handle them here.
             if(stack.getItem().canBeDepleted()) {
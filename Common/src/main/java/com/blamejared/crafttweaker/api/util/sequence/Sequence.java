@@ -2,6 +2,7 @@ package com.blamejared.crafttweaker.api.util.sequence;
 
 import com.blamejared.crafttweaker.api.annotation.ZenRegister;
 import com.blamejared.crafttweaker.api.util.sequence.task.ISequenceTask;
+import com.blamejared.crafttweaker.impl.script.watchdog.ScriptWatchdog;
 import com.blamejared.crafttweaker_annotations.annotations.Document;
 import org.openzen.zencode.java.ZenCodeType;
 
@@ -25,13 +26,26 @@ public class Sequence<T, U> {
     private final Queue<ISequenceTask<T, U>> timeline;
     private boolean stopped;
     private final SequenceContext<T, U> context;
+    private final ScriptWatchdog.Tracker tracker;
     
     public Sequence(Supplier<T> actor, U data, Queue<ISequenceTask<T, U>> timeline) {
         
+        this(actor, data, timeline, ScriptWatchdog.get().track(ScriptWatchdog.Category.SEQUENCE, ScriptWatchdog.findScriptPosition()));
+    }
+    
+    /**
+     * Creates a sequence watched by the given tracker, so that callers that start many sequences from the same place
+     * only have to look up where that place is in the scripts once.
+     *
+     * <p>The watchdog is internal, so only the builders of this package can pass a tracker.</p>
+     */
+    Sequence(Supplier<T> actor, U data, Queue<ISequenceTask<T, U>> timeline, ScriptWatchdog.Tracker tracker) {
+        
         this.actor = actor;
         this.timeline = timeline;
         this.stopped = false;
         this.context = new SequenceContext<>(this, data);
+        this.tracker = tracker;
     }
     
     /**
@@ -96,4 +110,14 @@ public class Sequence<T, U> {
         return context;
     }
     
+    /**
+     * Gets the watchdog tracker of the script line this sequence was built from.
+     *
+     * @return The tracker of this sequence.
+     */
+    ScriptWatchdog.Tracker getTracker() {
+        
+        return tracker;
+    }
+    
 }
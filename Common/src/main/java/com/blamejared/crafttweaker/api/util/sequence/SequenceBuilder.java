@@ -5,6 +5,7 @@ import com.blamejared.crafttweaker.api.util.sequence.task.ISequenceTask;
 import com.blamejared.crafttweaker.api.util.sequence.task.type.InstantTask;
 import com.blamejared.crafttweaker.api.util.sequence.task.type.SleepTask;
 import com.blamejared.crafttweaker.api.util.sequence.task.type.SleepUntilTask;
+import com.blamejared.crafttweaker.impl.script.watchdog.ScriptWatchdog;
 import com.blamejared.crafttweaker_annotations.annotations.Document;
 import org.openzen.zencode.java.ZenCodeType;
 
@@ -31,6 +32,7 @@ public class SequenceBuilder<T, U> {
     private final Supplier<T> actor;
     private final U data;
     private final Queue<ISequenceTask<T, U>> timeline;
+    private final ScriptWatchdog.Tracker tracker;
     
     public SequenceBuilder(SequenceType type, Supplier<T> actor, U data) {
         
@@ -38,6 +40,8 @@ public class SequenceBuilder<T, U> {
         this.actor = actor;
         this.data = data;
         this.timeline = new LinkedList<>();
+        // Builders are created where the script starts the sequence, so the stack only has to be walked once per builder
+        this.tracker = ScriptWatchdog.get().track(ScriptWatchdog.Category.SEQUENCE, ScriptWatchdog.findScriptPosition());
     }
     
     /**
@@ -173,7 +177,7 @@ public class SequenceBuilder<T, U> {
     @ZenCodeType.Method
     public Sequence<T, U> start() {
         
-        Sequence<T, U> schedule = new Sequence<>(actor, data, timeline);
+        Sequence<T, U> schedule = new Sequence<>(actor, data, timeline, tracker);
         SequenceManager.addSequence(type, schedule);
         return schedule;
     }
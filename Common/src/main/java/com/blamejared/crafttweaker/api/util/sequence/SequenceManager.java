@@ -1,5 +1,7 @@
 package com.blamejared.crafttweaker.api.util.sequence;
 
+import com.blamejared.crafttweaker.impl.script.watchdog.ScriptWatchdog;
+
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -14,6 +16,7 @@ public class SequenceManager {
     
     private static final Map<SequenceType, List<Sequence<?, ?>>> sequences = new HashMap<>();
     private static final Map<SequenceType, List<Sequence<?, ?>>> sequencesView = Collections.unmodifiableMap(sequences);
+    private static final Map<SequenceType, ScriptWatchdog.Tracker> tickTrackers = new HashMap<>();
     
     /**
      * Adds a new Sequence.
@@ -50,14 +53,25 @@ public class SequenceManager {
             return;
         }
         
+        final long start = System.nanoTime();
         Iterator<Sequence<?, ?>> tasks = sequences.get(type).iterator();
         while(tasks.hasNext()) {
             Sequence<?, ?> sequence = tasks.next();
-            sequence.tick();
+            final ScriptWatchdog.Tracker tracker = sequence.getTracker();
+            // Sequences of a disabled script line are dropped, otherwise every sequence started from it would pile up
+            if(tracker.isDisabled()) {
+                sequence.stop();
+            } else {
+                final long sequenceStart = System.nanoTime();
+                sequence.tick();
+                tracker.record(System.nanoTime() - sequenceStart);
+            }
             if(sequence.isComplete() || sequence.isStopped()) {
                 tasks.remove();
             }
         }
+        tickTrackers.computeIfAbsent(type, it -> ScriptWatchdog.get().track(ScriptWatchdog.Category.SEQUENCE_TICK, it.name()))
+                .record(System.nanoTime() - start);
     }
     
     /**
@@ -6,9 +6,7 @@ import com.blamejared.crafttweaker.api.bracket.custom.RecipeTypeBracketHandler;
 import com.blamejared.crafttweaker.api.command.CommandUtilities;
 import com.blamejared.crafttweaker.api.command.argument.RecipeTypeArgument;
 import com.blamejared.crafttweaker.api.plugin.ICommandRegistrationHandler;
-import com.blamejared.crafttweaker.api.recipe.handler.IRecipeHandlerRegistry;
 import com.blamejared.crafttweaker.api.recipe.manager.base.IRecipeManager;
-import com.blamejared.crafttweaker.api.util.GenericUtil;
 import com.blamejared.crafttweaker.mixin.common.access.recipe.AccessRecipeManager;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
@@ -21,22 +19,21 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Recipe;
-import net.minecraft.world.item.crafting.RecipeManager;
 import net.minecraft.world.item.crafting.RecipeType;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Spliterator;
-import java.util.Spliterators;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.ToIntBiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 public final class ConflictCommand {
     
@@ -47,6 +44,14 @@ public final class ConflictCommand {
         t.setContextClassLoader(ConflictCommand.class.getClassLoader());
         return t;
     });
+    private static final ForkJoinPool CONFLICT_POOL = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), pool -> {
+        
+        final ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool); // Daemon by default
+        t.setName(CraftTweakerConstants.MOD_ID + ":conflict_resolution_worker_" + t.getPoolIndex());
+        t.setContextClassLoader(ConflictCommand.class.getClassLoader());
+        return t;
+    }, null, false);
+    private static final AtomicReference<ConflictTask> RUNNING_TASK = new AtomicReference<>();
     
     private ConflictCommand() {}
     
@@ -67,6 +72,8 @@ public final class ConflictCommand {
                                                 context,
                                                 (player, item) -> conflicts(player, DescriptiveFilter.of(item))
                                         )))
+                                .then(Commands.literal("cancel")
+                                        .executes(context -> cancel(context.getSource().getPlayerOrException())))
                                 .executes(context -> conflicts(context.getSource()
                                         .getPlayerOrException(), DescriptiveFilter.of()))
         );
@@ -88,6 +95,18 @@ public final class ConflictCommand {
     
     private static int conflicts(final Player player, final DescriptiveFilter filter) {
         
+        // Cloning the map to avoid /reload messing up with CMEs when looping on it from off-thread
+        // Also, this deep copies only the two maps: the recipe type, RL, and recipe objects are not also deep copied
+        final Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipes = deepCopy(((AccessRecipeManager) player.level.getRecipeManager()).crafttweaker$getRecipes(), filter);
+        final ConflictTask task = new ConflictTask(player, recipes.values().stream().mapToLong(Map::size).sum());
+        
+        if(!RUNNING_TASK.compareAndSet(null, task)) {
+            
+            CommandUtilities.send(Component.translatable("crafttweaker.command.conflict.running")
+                    .withStyle(ChatFormatting.RED), player);
+            return -1;
+        }
+        
         CommandUtilities.send(
                 Component.translatable("crafttweaker.command.conflict.begin", filter.description())
                         .withStyle(ChatFormatting.GREEN)
@@ -96,19 +115,33 @@ public final class ConflictCommand {
                 player
         );
         
-        runConflicts(player, player.level.getRecipeManager(), filter);
+        runConflicts(player, recipes, task);
         
         return 0;
     }
     
-    private static void runConflicts(final Player player, final RecipeManager manager, final DescriptiveFilter filter) {
+    private static int cancel(final Player player) {
         
-        // Cloning the map to avoid /reload messing up with CMEs when looping on it from off-thread
-        // Also, this deep copies only the two maps: the recipe type, RL, and recipe objects are not also deep copied
-        final Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipes = deepCopy(((AccessRecipeManager) manager).crafttweaker$getRecipes(), filter);
-        CompletableFuture.supplyAsync(() -> computeConflicts(recipes), OFF_THREAD_SERVICE)
+        final ConflictTask task = RUNNING_TASK.get();
+        if(task == null) {
+            
+            CommandUtilities.send(Component.translatable("crafttweaker.command.conflict.cancel.none")
+                    .withStyle(ChatFormatting.RED), player);
+            return -1;
+        }
+        
+        task.cancel();
+        CommandUtilities.send(Component.translatable("crafttweaker.command.conflict.cancel.requested")
+                .withStyle(ChatFormatting.GREEN), player);
+        return 0;
+    }
+    
+    private static void runConflicts(final Player player, final Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipes, final ConflictTask task) {
+        
+        CompletableFuture.supplyAsync(() -> computeConflicts(recipes, task), OFF_THREAD_SERVICE)
+                .whenCompleteAsync((message, exception) -> RUNNING_TASK.compareAndSet(task, null), OFF_THREAD_SERVICE)
                 .thenAcceptAsync(message -> dispatchCompletionTo(message, player), OFF_THREAD_SERVICE)
-                .exceptionallyAsync(exception -> dispatchExceptionTo(exception, player), OFF_THREAD_SERVICE);
+                .exceptionallyAsync(exception -> dispatchExceptionTo(exception, task, player), OFF_THREAD_SERVICE);
     }
     
     private static Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> deepCopy(final Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> original, final DescriptiveFilter filter) {
@@ -124,16 +157,18 @@ public final class ConflictCommand {
         return clone;
     }
     
-    private static String computeConflicts(final Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipes) {
+    private static String computeConflicts(final Map<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> recipes, final ConflictTask task) {
         
-        return recipes.entrySet()
+        final String conflicts = recipes.entrySet()
                 .stream()
-                .flatMap(ConflictCommand::computeConflictsFor)
+                .flatMap(it -> computeConflictsFor(it, task))
                 .map(it -> "- " + it)
                 .collect(Collectors.joining("\n"));
+        task.logSummary();
+        return conflicts;
     }
     
-    private static Stream<String> computeConflictsFor(final Map.Entry<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> entry) {
+    private static Stream<String> computeConflictsFor(final Map.Entry<RecipeType<?>, Map<ResourceLocation, Recipe<?>>> entry, final ConflictTask task) {
         
         final IRecipeManager<?> manager = RecipeTypeBracketHandler.getOrDefault(entry.getKey());
         
@@ -142,25 +177,7 @@ public final class ConflictCommand {
         }
         
         final List<Map.Entry<ResourceLocation, Recipe<?>>> recipes = new ArrayList<>(entry.getValue().entrySet());
-        final RecipeLongIterator iterator = new RecipeLongIterator(recipes.size());
-        final int characteristics = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
-        
-        return StreamSupport.longStream(Spliterators.spliterator(iterator, iterator.estimateLength(), characteristics), false)
-                .filter(it -> conflictsWith(manager, recipes.get(RecipeLongIterator.first(it))
-                        .getValue(), recipes.get(RecipeLongIterator.second(it)).getValue()))
-                .mapToObj(it -> formatConflict(manager, recipes.get(RecipeLongIterator.first(it))
-                        .getKey(), recipes.get(RecipeLongIterator.second(it)).getKey()));
-    }
-    
-    private static <T extends Recipe<?>> boolean conflictsWith(final IRecipeManager<?> manager, final T first, final Recipe<?> second) {
-        
-        return first != second && IRecipeHandlerRegistry.getHandlerFor(first)
-                .doesConflict(GenericUtil.uncheck(manager), first, second);
-    }
-    
-    private static String formatConflict(final IRecipeManager<?> manager, final ResourceLocation firstName, final ResourceLocation secondName) {
-        
-        return String.format("Recipes '%s' and '%s' in type '%s' have conflicting inputs", firstName, secondName, manager.getCommandString());
+        return CONFLICT_POOL.invoke(ConflictFinder.of(manager, recipes, task)).stream();
     }
     
     private static void dispatchCompletionTo(final String message, final Player player) {
@@ -180,9 +197,16 @@ public final class ConflictCommand {
         }
     }
     
-    private static Void dispatchExceptionTo(final Throwable exception, final Player player) {
+    private static Void dispatchExceptionTo(final Throwable exception, final ConflictTask task, final Player player) {
         //TODO make this go on the correct thread
         
+        if(task.isCancelled()) {
+            
+            CommandUtilities.send(Component.translatable("crafttweaker.command.conflict.cancelled")
+                    .withStyle(ChatFormatting.YELLOW), player);
+            return null;
+        }
+        
         try {
             CraftTweakerAPI.LOGGER.error("Unable to verify for conflicts due to an exception", exception);
             CommandUtilities.send(CommandUtilities.openingLogFile(Component.translatable("crafttweaker.command.conflict.error")
@@ -0,0 +1,177 @@
+package com.blamejared.crafttweaker.impl.command.type.conflict;
+
+import com.blamejared.crafttweaker.api.recipe.handler.IRecipeHandlerRegistry;
+import com.blamejared.crafttweaker.api.recipe.manager.base.IRecipeManager;
+import com.blamejared.crafttweaker.api.util.GenericUtil;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.crafting.Recipe;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds all conflicting pairs of recipes of a single recipe type.
+ *
+ * <p>Rather than comparing every possible pair of recipes, every recipe is compared only against the recipes that have
+ * a compatible {@link RecipeSignature}. The recipes are then split in ranges that are checked in parallel if all of the
+ * involved recipe handlers are thread-safe. Conflicts are reported in the same order regardless of parallelism.</p>
+ */
+final class ConflictFinder {
+    
+    private final class RangeTask extends RecursiveTask<List<String>> {
+        
+        private final int from;
+        private final int to;
+        
+        RangeTask(final int from, final int to) {
+            
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected List<String> compute() {
+            
+            if(this.to - this.from <= ConflictFinder.this.threshold) {
+                final List<String> conflicts = new ArrayList<>();
+                for(int i = this.from; i < this.to; ++i) {
+                    ConflictFinder.this.findConflictsOf(i, conflicts);
+                }
+                return conflicts;
+            }
+            
+            final int middle = (this.from + this.to) >>> 1;
+            final RangeTask right = new RangeTask(middle, this.to);
+            right.fork();
+            final List<String> conflicts = new ArrayList<>(new RangeTask(this.from, middle).compute());
+            conflicts.addAll(right.join());
+            return conflicts;
+        }
+        
+    }
+    
+    private static final int PARALLEL_THRESHOLD = 64;
+    
+    private final IRecipeManager<?> manager;
+    private final List<Map.Entry<ResourceLocation, Recipe<?>>> recipes;
+    private final List<RecipeSignature> signatures;
+    private final Map<Object, BitSet> buckets;
+    private final BitSet wildcards;
+    private final ConflictTask task;
+    private final int threshold;
+    
+    private ConflictFinder(final IRecipeManager<?> manager, final List<Map.Entry<ResourceLocation, Recipe<?>>> recipes, final ConflictTask task) {
+        
+        this.manager = manager;
+        this.recipes = recipes;
+        this.signatures = computeSignatures(recipes);
+        this.buckets = new HashMap<>();
+        this.wildcards = new BitSet(recipes.size());
+        this.task = task;
+        this.threshold = recipes.stream().map(Map.Entry::getValue).allMatch(ConflictFinder::isThreadSafe) ? PARALLEL_THRESHOLD : Integer.MAX_VALUE;
+        this.fillBuckets();
+    }
+    
+    static RecursiveTask<List<String>> of(final IRecipeManager<?> manager, final List<Map.Entry<ResourceLocation, Recipe<?>>> recipes, final ConflictTask task) {
+        
+        task.onTypeStarted(recipes.size());
+        final ConflictFinder finder = new ConflictFinder(manager, recipes, task);
+        return finder.new RangeTask(0, recipes.size());
+    }
+    
+    // Signatures can only be compared within the same family: recipes not belonging to the most common one are
+    // compared against every other recipe instead
+    private static List<RecipeSignature> computeSignatures(final List<Map.Entry<ResourceLocation, Recipe<?>>> recipes) {
+        
+        final List<RecipeSignature> signatures = recipes.stream()
+                .map(Map.Entry::getValue)
+                .map(RecipeSignature::of)
+                .toList();
+        
+        final Map<RecipeSignature.Family, Integer> families = new EnumMap<>(RecipeSignature.Family.class);
+        signatures.stream()
+                .filter(it -> !it.isWildcard())
+                .forEach(it -> families.merge(it.family(), 1, Integer::sum));
+        final RecipeSignature.Family dominant = families.entrySet()
+                .stream()
+                .max(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+                .map(Map.Entry::getKey)
+                .orElse(RecipeSignature.Family.WILDCARD);
+        
+        return signatures.stream()
+                .map(it -> it.family() == dominant ? it : RecipeSignature.WILDCARD)
+                .toList();
+    }
+    
+    private static <T extends Recipe<?>> boolean isThreadSafe(final T recipe) {
+        
+        return IRecipeHandlerRegistry.getHandlerFor(recipe).isThreadSafe();
+    }
+    
+    private void fillBuckets() {
+        
+        for(int i = 0; i < this.signatures.size(); ++i) {
+            final RecipeSignature signature = this.signatures.get(i);
+            if(signature.isWildcard()) {
+                this.wildcards.set(i);
+                continue;
+            }
+            
+            final int index = i;
+            signature.keys().forEach(it -> this.buckets.computeIfAbsent(it, key -> new BitSet()).set(index));
+        }
+    }
+    
+    private void findConflictsOf(final int index, final List<String> conflicts) {
+        
+        this.task.checkCancelled();
+        
+        final BitSet candidates = this.findCandidates(index);
+        final Map.Entry<ResourceLocation, Recipe<?>> first = this.recipes.get(index);
+        for(int i = candidates.nextSetBit(index + 1); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            final Map.Entry<ResourceLocation, Recipe<?>> second = this.recipes.get(i);
+            if(conflictsWith(this.manager, first.getValue(), second.getValue())) {
+                conflicts.add(formatConflict(this.manager, first.getKey(), second.getKey()));
+            }
+        }
+        
+        this.task.onRecipeChecked(candidates.get(index + 1, this.recipes.size()).cardinality());
+    }
+    
+    private BitSet findCandidates(final int index) {
+        
+        final BitSet candidates = new BitSet(this.recipes.size());
+        final RecipeSignature signature = this.signatures.get(index);
+        if(signature.isWildcard()) {
+            candidates.set(index + 1, this.recipes.size());
+            return candidates;
+        }
+        
+        candidates.or(this.wildcards);
+        signature.probes().forEach(it -> {
+            final BitSet bucket = this.buckets.get(it);
+            if(bucket != null) {
+                candidates.or(bucket);
+            }
+        });
+        return candidates;
+    }
+    
+    private static <T extends Recipe<?>> boolean conflictsWith(final IRecipeManager<?> manager, final T first, final Recipe<?> second) {
+        
+        return first != second && IRecipeHandlerRegistry.getHandlerFor(first)
+                .doesConflict(GenericUtil.uncheck(manager), first, second);
+    }
+    
+    private static String formatConflict(final IRecipeManager<?> manager, final ResourceLocation firstName, final ResourceLocation secondName) {
+        
+        return String.format("Recipes '%s' and '%s' in type '%s' have conflicting inputs", firstName, secondName, manager.getCommandString());
+    }
+    
+}
@@ -0,0 +1,91 @@
+package com.blamejared.crafttweaker.impl.command.type.conflict;
+
+import com.blamejared.crafttweaker.api.CraftTweakerAPI;
+import com.blamejared.crafttweaker.api.command.CommandUtilities;
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.entity.player.Player;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the progress of a conflict computation, reporting it to the player who requested it and allowing it to be
+ * cancelled while it is running.
+ */
+final class ConflictTask {
+    
+    private static final int PROGRESS_STEPS = 4;
+    
+    private final Player player;
+    private final long totalRecipes;
+    private final AtomicLong checkedRecipes;
+    private final AtomicLong comparedPairs;
+    private final AtomicLong possiblePairs;
+    private final AtomicInteger reportedStep;
+    private volatile boolean cancelled;
+    
+    ConflictTask(final Player player, final long totalRecipes) {
+        
+        this.player = player;
+        this.totalRecipes = totalRecipes;
+        this.checkedRecipes = new AtomicLong();
+        this.comparedPairs = new AtomicLong();
+        this.possiblePairs = new AtomicLong();
+        this.reportedStep = new AtomicInteger();
+        this.cancelled = false;
+    }
+    
+    void cancel() {
+        
+        this.cancelled = true;
+    }
+    
+    boolean isCancelled() {
+        
+        return this.cancelled;
+    }
+    
+    void checkCancelled() {
+        
+        if(this.cancelled) {
+            throw new CancellationException("Conflict testing has been cancelled");
+        }
+    }
+    
+    void onTypeStarted(final int recipes) {
+        
+        this.possiblePairs.addAndGet((long) recipes * (recipes - 1) / 2);
+    }
+    
+    void onRecipeChecked(final int comparedPairs) {
+        
+        this.comparedPairs.addAndGet(comparedPairs);
+        
+        if(this.totalRecipes <= 0) {
+            return;
+        }
+        
+        final long checked = this.checkedRecipes.incrementAndGet();
+        final int step = (int) (checked * PROGRESS_STEPS / this.totalRecipes);
+        final int previous = this.reportedStep.get();
+        
+        // Only the thread that manages to advance the step reports it, and the last step is reported upon completion
+        if(step > previous && step < PROGRESS_STEPS && this.reportedStep.compareAndSet(previous, step)) {
+            final Component message = Component.translatable("crafttweaker.command.conflict.progress", step * 100 / PROGRESS_STEPS, checked, this.totalRecipes)
+                    .withStyle(ChatFormatting.GRAY);
+            final MinecraftServer server = this.player.getServer();
+            if(server != null) {
+                server.execute(() -> CommandUtilities.send(message, this.player));
+            }
+        }
+    }
+    
+    void logSummary() {
+        
+        CraftTweakerAPI.LOGGER.debug("Conflict testing compared {} pairs of recipes out of {} possible ones", this.comparedPairs.get(), this.possiblePairs.get());
+    }
+    
+}
@@ -0,0 +1,129 @@
+package com.blamejared.crafttweaker.impl.command.type.conflict;
+
+import com.blamejared.crafttweaker.api.recipe.handler.IRecipeHandler;
+import com.blamejared.crafttweaker.api.recipe.handler.IRecipeHandlerRegistry;
+import com.blamejared.crafttweaker.api.recipe.type.CTShapedRecipeBase;
+import com.blamejared.crafttweaker.api.recipe.type.CTShapelessRecipeBase;
+import com.blamejared.crafttweaker.impl.recipe.handler.type.crafttweaker.CTShapedRecipeHandler;
+import com.blamejared.crafttweaker.impl.recipe.handler.type.crafttweaker.CTShapelessRecipeHandler;
+import com.blamejared.crafttweaker.impl.recipe.handler.type.vanilla.CookingRecipeHandler;
+import com.blamejared.crafttweaker.impl.recipe.handler.type.vanilla.ShapedRecipeHandler;
+import com.blamejared.crafttweaker.impl.recipe.handler.type.vanilla.ShapelessRecipeHandler;
+import com.blamejared.crafttweaker.impl.recipe.handler.type.vanilla.SmithingRecipeHandler;
+import com.blamejared.crafttweaker.impl.recipe.handler.type.vanilla.StoneCutterRecipeHandler;
+import com.blamejared.crafttweaker.mixin.common.access.recipe.AccessUpgradeRecipe;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.AbstractCookingRecipe;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.ShapedRecipe;
+import net.minecraft.world.item.crafting.ShapelessRecipe;
+import net.minecraft.world.item.crafting.StonecutterRecipe;
+import net.minecraft.world.item.crafting.UpgradeRecipe;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Cheap summary of the inputs of a recipe, used to discard pairs of recipes that cannot possibly conflict before
+ * querying their handlers.
+ *
+ * <p>Every signature is stored in the buckets identified by its keys and looks for conflicting recipes in the buckets
+ * identified by its probes: two recipes of the same family are compared only if the probes of either of them share at
+ * least one element with the keys of the other. Keys and probes mirror the checks performed by the builtin recipe
+ * handlers, e.g. two shaped recipes must have the same size and ingredients sharing at least one item in their first
+ * slot to conflict. Recipes whose handler is not known are given a {@link Family#WILDCARD} signature and must be
+ * compared against every other recipe.</p>
+ */
+record RecipeSignature(Family family, Set<Object> keys, Set<Object> probes) {
+    
+    enum Family {
+        CRAFTING,
+        COOKING,
+        SMITHING,
+        NEVER_CONFLICTING,
+        WILDCARD
+    }
+    
+    private record ShapeKey(int width, int height, Object firstSlot) {}
+    
+    private record ShapedCountKey(int count) {}
+    
+    private record ShapelessCountKey(int count) {}
+    
+    // Ingredients without items only conflict with other ingredients without items
+    private static final Object NO_ITEMS = new Object();
+    
+    static final RecipeSignature WILDCARD = new RecipeSignature(Family.WILDCARD, Set.of(), Set.of());
+    
+    static <T extends Recipe<?>> RecipeSignature of(final T recipe) {
+        
+        final IRecipeHandler<T> handler = IRecipeHandlerRegistry.getHandlerFor(recipe);
+        
+        if(handler instanceof ShapedRecipeHandler && recipe instanceof ShapedRecipe shaped) {
+            return shaped(shaped, shaped.getWidth(), shaped.getHeight());
+        }
+        if(handler instanceof CTShapedRecipeHandler && recipe instanceof CTShapedRecipeBase shaped) {
+            return shaped(shaped, shaped.getRecipeWidth(), shaped.getRecipeHeight());
+        }
+        if((handler instanceof ShapelessRecipeHandler && recipe instanceof ShapelessRecipe) || (handler instanceof CTShapelessRecipeHandler && recipe instanceof CTShapelessRecipeBase)) {
+            return shapeless(recipe);
+        }
+        if(handler instanceof CookingRecipeHandler && recipe instanceof AbstractCookingRecipe cooking) {
+            return matching(Family.COOKING, cooking.getIngredients().get(0));
+        }
+        if(handler instanceof SmithingRecipeHandler && recipe instanceof UpgradeRecipe smithing) {
+            return matching(Family.SMITHING, ((AccessUpgradeRecipe) smithing).crafttweaker$getBase());
+        }
+        if(handler instanceof StoneCutterRecipeHandler && recipe instanceof StonecutterRecipe) {
+            return new RecipeSignature(Family.NEVER_CONFLICTING, Set.of(), Set.of());
+        }
+        return WILDCARD;
+    }
+    
+    private static RecipeSignature shaped(final Recipe<?> recipe, final int width, final int height) {
+        
+        // Shaped recipes with the same size must have conflicting ingredients in every slot, shapeless ones must have
+        // as many ingredients as the non-empty slots of the shaped recipe
+        final int count = (int) recipe.getIngredients().stream().filter(it -> it != Ingredient.EMPTY).count();
+        final Set<Object> shapes = collect(recipe.getIngredients().get(0), it -> new ShapeKey(width, height, it));
+        
+        final Set<Object> keys = new HashSet<>(shapes);
+        keys.add(new ShapedCountKey(count));
+        final Set<Object> probes = new HashSet<>(shapes);
+        probes.add(new ShapelessCountKey(count));
+        return new RecipeSignature(Family.CRAFTING, keys, probes);
+    }
+    
+    private static RecipeSignature shapeless(final Recipe<?> recipe) {
+        
+        final int count = recipe.getIngredients().size();
+        return new RecipeSignature(Family.CRAFTING, Set.of(new ShapelessCountKey(count)), Set.of(new ShapedCountKey(count), new ShapelessCountKey(count)));
+    }
+    
+    private static RecipeSignature matching(final Family family, final Ingredient ingredient) {
+        
+        final Set<Object> keys = collect(ingredient, Function.identity());
+        return new RecipeSignature(family, keys, keys);
+    }
+    
+    private static Set<Object> collect(final Ingredient ingredient, final Function<Object, Object> keyMaker) {
+        
+        final ItemStack[] stacks = ingredient.getItems();
+        if(stacks.length == 0) {
+            return Set.of(keyMaker.apply(NO_ITEMS));
+        }
+        
+        final Set<Object> keys = new HashSet<>();
+        Arrays.stream(stacks).map(ItemStack::getItem).map(keyMaker).forEach(keys::add);
+        return keys;
+    }
+    
+    boolean isWildcard() {
+        
+        return this.family() == Family.WILDCARD;
+    }
+    
+}
@@ -7,10 +7,16 @@ import com.blamejared.crafttweaker.api.plugin.ICommandRegistrationHandler;
 import com.blamejared.crafttweaker.api.util.PathUtil;
 import com.blamejared.crafttweaker.api.zencode.IScriptLoadSource;
 import com.blamejared.crafttweaker.api.zencode.scriptrun.ScriptRunConfiguration;
+import com.blamejared.crafttweaker.impl.script.scriptrun.ScriptRunProfiler;
+import com.blamejared.crafttweaker.impl.script.watchdog.ScriptWatchdog;
 import com.mojang.brigadier.Command;
+import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 
+import java.io.IOException;
+import java.util.List;
+
 public final class ScriptCommands {
     
     private ScriptCommands() {}
@@ -37,6 +43,55 @@ public final class ScriptCommands {
                 })
         );
         
+        handler.registerRootCommand(
+                "profile",
+                Component.translatable("crafttweaker.command.description.profile"),
+                builder -> builder.executes(context -> {
+                    if(!ScriptRunProfiler.isEnabled()) {
+                        CommandUtilities.send(Component.translatable("crafttweaker.command.profile.disabled")
+                                .withStyle(ChatFormatting.RED), context.getSource());
+                        return Command.SINGLE_SUCCESS;
+                    }
+                    
+                    final ScriptRunProfiler profiler = ScriptRunProfiler.get();
+                    if(!profiler.hasData()) {
+                        CommandUtilities.send(Component.translatable("crafttweaker.command.profile.empty")
+                                .withStyle(ChatFormatting.RED), context.getSource());
+                        return Command.SINGLE_SUCCESS;
+                    }
+                    
+                    try {
+                        profiler.dump(PathUtil.findFromGameDirectory("ct_dumps"));
+                    } catch(final IOException e) {
+                        CraftTweakerAPI.LOGGER.error("Unable to write script run profile", e);
+                        CommandUtilities.send(Component.translatable("crafttweaker.command.profile.error")
+                                .withStyle(ChatFormatting.RED), context.getSource());
+                        return 0;
+                    }
+                    CommandUtilities.send(CommandUtilities.openingFile(Component.translatable("crafttweaker.command.files.created")
+                            .withStyle(ChatFormatting.GREEN), "ct_dumps"), context.getSource());
+                    return Command.SINGLE_SUCCESS;
+                })
+        );
+        
+        handler.registerRootCommand(
+                "watchdog",
+                Component.translatable("crafttweaker.command.description.watchdog"),
+                builder -> builder.executes(context -> {
+                    final List<String> lines = ScriptWatchdog.get().describe();
+                    if(lines.isEmpty()) {
+                        CommandUtilities.send(Component.translatable("crafttweaker.command.watchdog.empty")
+                                .withStyle(ChatFormatting.RED), context.getSource());
+                        return Command.SINGLE_SUCCESS;
+                    }
+                    
+                    lines.forEach(CraftTweakerAPI.LOGGER::info);
+                    CommandUtilities.send(CommandUtilities.openingLogFile(Component.translatable("crafttweaker.command.list.check.log", CommandUtilities.makeNoticeable(Component.translatable("crafttweaker.command.misc.watchdog")), CommandUtilities.getFormattedLogFile())
+                            .withStyle(ChatFormatting.GREEN)), context.getSource());
+                    return Command.SINGLE_SUCCESS;
+                })
+        );
+        
         handler.registerRootCommand(
                 "syntax",
                 Component.translatable("crafttweaker.command.description.syntax"),
@@ -12,6 +12,7 @@ import com.blamejared.crafttweaker.api.plugin.IBracketParserRegistrationHandler;
 import com.blamejared.crafttweaker.api.plugin.ICommandRegistrationHandler;
 import com.blamejared.crafttweaker.api.plugin.ICraftTweakerPlugin;
 import com.blamejared.crafttweaker.api.plugin.IJavaNativeIntegrationRegistrationHandler;
+import com.blamejared.crafttweaker.api.plugin.IListenerRegistrationHandler;
 import com.blamejared.crafttweaker.api.plugin.ILoaderRegistrationHandler;
 import com.blamejared.crafttweaker.api.plugin.IRecipeComponentRegistrationHandler;
 import com.blamejared.crafttweaker.api.plugin.IRecipeHandlerRegistrationHandler;
@@ -24,6 +25,7 @@ import com.blamejared.crafttweaker.api.recipe.component.BuiltinRecipeComponents;
 import com.blamejared.crafttweaker.api.recipe.replacement.ITargetingStrategy;
 import com.blamejared.crafttweaker.api.villager.CTTradeObject;
 import com.blamejared.crafttweaker.api.zencode.scriptrun.IScriptRunModuleConfigurator;
+import com.blamejared.crafttweaker.api.zencode.scriptrun.ScriptRunConfiguration;
 import com.blamejared.crafttweaker.impl.command.type.DumpCommands;
 import com.blamejared.crafttweaker.impl.command.type.HandCommands;
 import com.blamejared.crafttweaker.impl.command.type.InventoryCommands;
@@ -35,6 +37,7 @@ import com.blamejared.crafttweaker.impl.command.type.script.ScriptCommands;
 import com.blamejared.crafttweaker.impl.command.type.script.example.ExamplesCommand;
 import com.blamejared.crafttweaker.impl.recipe.replacement.DefaultTargetingFilters;
 import com.blamejared.crafttweaker.impl.recipe.replacement.DefaultTargetingStrategies;
+import com.blamejared.crafttweaker.impl.script.watchdog.ScriptWatchdog;
 import com.blamejared.crafttweaker.mixin.common.access.villager.AccessDyedArmorForEmeralds;
 import com.blamejared.crafttweaker.mixin.common.access.villager.AccessEmeraldForItems;
 import com.blamejared.crafttweaker.mixin.common.access.villager.AccessEnchantedItemForEmeralds;
@@ -142,6 +145,16 @@ public final class BuiltinCraftTweakerPlugin implements ICraftTweakerPlugin {
         this.handlerGatherer.gatherAndRegisterHandlers(handler);
     }
     
+    @Override
+    public void registerListeners(final IListenerRegistrationHandler handler) {
+        
+        handler.onExecuteRun(configuration -> {
+            if(configuration.runKind() == ScriptRunConfiguration.RunKind.EXECUTE) {
+                ScriptWatchdog.get().enableAll();
+            }
+        });
+    }
+    
     @Override
     public void registerVillagerTradeConverters(final IVillagerTradeRegistrationHandler handler) {
         
@@ -67,6 +67,12 @@ public final class CTShapedRecipeHandler implements IRecipeHandler<CTShapedRecip
         return Optional.of(decomposedRecipe);
     }
     
+    @Override
+    public boolean isThreadSafe() {
+        
+        return true;
+    }
+    
     @Override
     public Optional<CTShapedRecipeBase> recompose(final IRecipeManager<? super CTShapedRecipeBase> manager, final ResourceLocation name, final IDecomposedRecipe recipe) {
         
@@ -59,6 +59,12 @@ public final class CTShapelessRecipeHandler implements IRecipeHandler<CTShapeles
         return Optional.of(decomposedRecipe);
     }
     
+    @Override
+    public boolean isThreadSafe() {
+        
+        return true;
+    }
+    
     @Override
     public Optional<CTShapelessRecipeBase> recompose(IRecipeManager<? super CTShapelessRecipeBase> manager, ResourceLocation name, IDecomposedRecipe recipe) {
         
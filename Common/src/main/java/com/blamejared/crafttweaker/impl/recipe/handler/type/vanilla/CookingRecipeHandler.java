@@ -80,6 +80,12 @@ public final class CookingRecipeHandler implements IRecipeHandler<AbstractCookin
         return Optional.of(decomposition);
     }
     
+    @Override
+    public boolean isThreadSafe() {
+        
+        return true;
+    }
+    
     @Override
     public Optional<AbstractCookingRecipe> recompose(final IRecipeManager<? super AbstractCookingRecipe> manager, final ResourceLocation name, final IDecomposedRecipe recipe) {
         
@@ -63,6 +63,12 @@ public final class ShapedRecipeHandler implements IRecipeHandler<ShapedRecipe> {
         return Optional.of(decomposedRecipe);
     }
     
+    @Override
+    public boolean isThreadSafe() {
+        
+        return true;
+    }
+    
     @Override
     public Optional<ShapedRecipe> recompose(final IRecipeManager<? super ShapedRecipe> manager, final ResourceLocation name, final IDecomposedRecipe recipe) {
         
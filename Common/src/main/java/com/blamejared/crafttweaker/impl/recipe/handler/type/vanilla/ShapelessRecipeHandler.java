@@ -56,6 +56,12 @@ public final class ShapelessRecipeHandler implements IRecipeHandler<ShapelessRec
         return Optional.of(decomposedRecipe);
     }
     
+    @Override
+    public boolean isThreadSafe() {
+        
+        return true;
+    }
+    
     @Override
     public Optional<ShapelessRecipe> recompose(final IRecipeManager<? super ShapelessRecipe> manager, final ResourceLocation name, final IDecomposedRecipe recipe) {
         
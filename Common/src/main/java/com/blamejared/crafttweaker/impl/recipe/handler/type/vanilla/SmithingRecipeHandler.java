@@ -70,6 +70,12 @@ public final class SmithingRecipeHandler implements IRecipeHandler<UpgradeRecipe
         return Optional.of(decomposed);
     }
     
+    @Override
+    public boolean isThreadSafe() {
+        
+        return true;
+    }
+    
     @Override
     public Optional<UpgradeRecipe> recompose(final IRecipeManager<? super UpgradeRecipe> manager, final ResourceLocation name, final IDecomposedRecipe recipe) {
         
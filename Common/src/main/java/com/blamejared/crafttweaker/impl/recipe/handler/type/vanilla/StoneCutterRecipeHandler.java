@@ -47,6 +47,12 @@ public final class StoneCutterRecipeHandler implements IRecipeHandler<Stonecutte
         return Optional.of(decomposedRecipe);
     }
     
+    @Override
+    public boolean isThreadSafe() {
+        
+        return true;
+    }
+    
     @Override
     public Optional<StonecutterRecipe> recompose(final IRecipeManager<? super StonecutterRecipe> manager, final ResourceLocation name, final IDecomposedRecipe recipe) {
         
@@ -32,8 +32,8 @@ final class RunInfo implements IScriptRunInfo {
     private final ScriptRunConfiguration configuration;
     private final Actions actions;
     private final ActionsView view;
-    private boolean displayBranding;
-    private boolean dumpClasses;
+    private volatile boolean displayBranding;
+    private volatile boolean dumpClasses;
     private Boolean firstRun;
     
     private RunInfo(final ScriptRunConfiguration configuration) {
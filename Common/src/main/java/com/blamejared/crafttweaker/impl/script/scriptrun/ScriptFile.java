@@ -141,6 +141,12 @@ final class ScriptFile implements IScriptFile {
         matches.computeIfAbsent(preprocessor, it -> new ArrayList<>(1)).add(match);
     }
     
+    ScriptFile preprocessEagerly() {
+        
+        this.preprocessedFile.get();
+        return this;
+    }
+    
     @Override
     public String name() {
         
@@ -1,8 +1,12 @@
 package com.blamejared.crafttweaker.impl.script.scriptrun;
 
 import com.blamejared.crafttweaker.api.CraftTweakerAPI;
+import com.blamejared.crafttweaker.api.CraftTweakerConstants;
 import com.blamejared.crafttweaker.api.action.base.IAction;
 import com.blamejared.crafttweaker.api.action.base.IRuntimeAction;
+import com.blamejared.crafttweaker.api.action.recipe.ActionRemoveRecipe;
+import com.blamejared.crafttweaker.api.action.recipe.replace.ActionBatchReplacement;
+import com.blamejared.crafttweaker.api.recipe.manager.base.IRecipeManager;
 import com.blamejared.crafttweaker.api.zencode.IPreprocessor;
 import com.blamejared.crafttweaker.api.zencode.IScriptLoader;
 import com.blamejared.crafttweaker.api.zencode.scriptrun.IScriptFile;
@@ -11,21 +15,29 @@ import com.blamejared.crafttweaker.api.zencode.scriptrun.IScriptRunInfo;
 import com.blamejared.crafttweaker.api.zencode.scriptrun.IScriptRunManager;
 import com.blamejared.crafttweaker.api.zencode.scriptrun.ScriptRunConfiguration;
 import com.blamejared.crafttweaker.impl.helper.FileGathererHelper;
+import com.blamejared.crafttweaker.impl.preprocessor.LoaderPreprocessor;
+import com.blamejared.crafttweaker.platform.Services;
 import com.google.common.base.Suppliers;
 import org.openzen.zencode.shared.SourceFile;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 public final class ScriptRunManager implements IScriptRunManager {
@@ -42,14 +54,27 @@ public final class ScriptRunManager implements IScriptRunManager {
                 .thenComparing(IScriptFile::name);
     });
     
+    private static final Supplier<ForkJoinPool> READER_POOL = Suppliers.memoize(() -> new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), pool -> {
+        
+        final ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool); // Daemon by default
+        t.setName(CraftTweakerConstants.MOD_ID + ":script_reader_" + t.getPoolIndex());
+        return t;
+    }, null, false));
+    
+    private static final String BUILTIN_PREPROCESSOR_PACKAGE = LoaderPreprocessor.class.getPackageName();
+    
     private final Map<IScriptLoader, RunInfoQueue> previousRunQueues;
     private final ThreadLocal<Integer> nestingLevel;
+    private final Set<IRecipeManager<?>> deferredRemovalManagers;
+    private final List<ActionBatchReplacement> deferredReplacements;
     private RunInfo currentRunInfo;
     
     private ScriptRunManager() {
         
         this.previousRunQueues = new HashMap<>();
         this.nestingLevel = ThreadLocal.withInitial(() -> 0);
+        this.deferredRemovalManagers = new LinkedHashSet<>();
+        this.deferredReplacements = new ArrayList<>();
         this.currentRunInfo = null;
     }
     
@@ -75,9 +100,8 @@ public final class ScriptRunManager implements IScriptRunManager {
         
         final List<IPreprocessor> preprocessors = CraftTweakerAPI.getRegistry().getPreprocessors();
         final RunInfo info = RunInfo.create(configuration);
-        final List<SourceFile> sources = files
-                .stream()
-                .map(it -> ScriptFile.of(root, it, info, preprocessors))
+        final List<ScriptFile> scripts = this.readFiles(root, files, preprocessors, it -> ScriptFile.of(root, it, info, preprocessors).preprocessEagerly());
+        final List<SourceFile> sources = scripts.stream()
                 .sorted(FILE_COMPARATOR.get())
                 .map(ScriptFile::toSourceFile)
                 .filter(Optional::isPresent)
@@ -125,6 +149,34 @@ public final class ScriptRunManager implements IScriptRunManager {
         );
     }
     
+    private List<ScriptFile> readFiles(final Path root, final List<Path> files, final List<IPreprocessor> preprocessors, final Function<Path, ScriptFile> reader) {
+        
+        // Custom file systems (e.g. the recipe one) make no guarantees about concurrent reads, and preprocessors added
+        // by other mods are not required to be thread-safe
+        if(root.getFileSystem() != FileSystems.getDefault() || !preprocessors.stream().allMatch(ScriptRunManager::isBuiltin)) {
+            return files.stream().map(reader).toList();
+        }
+        
+        // Workers use the context class loader of the caller, as mod loaders rely on it to find classes
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        final Function<Path, ScriptFile> task = file -> {
+            final Thread thread = Thread.currentThread();
+            final ClassLoader previous = thread.getContextClassLoader();
+            thread.setContextClassLoader(loader);
+            try {
+                return reader.apply(file);
+            } finally {
+                thread.setContextClassLoader(previous);
+            }
+        };
+        return READER_POOL.get().submit(() -> files.parallelStream().map(task).toList()).join();
+    }
+    
+    private static boolean isBuiltin(final IPreprocessor preprocessor) {
+        
+        return preprocessor.getClass().getPackageName().startsWith(BUILTIN_PREPROCESSOR_PACKAGE);
+    }
+    
     private List<Path> lookupScriptFiles(final Path root) {
         
         try {
@@ -153,6 +205,7 @@ public final class ScriptRunManager implements IScriptRunManager {
         }
         
         this.currentRunInfo = current;
+        ScriptRunProfiler.get().beginRun(current.configuration());
     }
     
     private void attemptRunStop() {
@@ -161,8 +214,16 @@ public final class ScriptRunManager implements IScriptRunManager {
             throw new IllegalStateException("Unable to terminate a script run that never started");
         }
         
-        this.previousRunQueues.get(this.currentRunInfo.loader()).offer(this.currentRunInfo);
-        this.currentRunInfo = null;
+        try {
+            this.flushDeferredReplacements();
+            this.flushDeferredRemovals();
+        } finally {
+            ScriptRunProfiler.get().endRun();
+            this.previousRunQueues.get(this.currentRunInfo.loader()).offer(this.currentRunInfo);
+            this.currentRunInfo = null;
+            // Published even if the run failed, as the previous handlers have been undone already
+            Services.EVENT.publishScriptEventHandlers();
+        }
     }
     
     private void applyActionOutsideRun(@SuppressWarnings("unused") final IAction action) {
@@ -190,9 +251,18 @@ public final class ScriptRunManager implements IScriptRunManager {
             try {
                 
                 this.nestingLevel.set(nestLevel + 1);
-                CraftTweakerAPI.LOGGER.info(this.makeNestedDescription(action, nestLevel));
-                action.apply();
-                info.enqueueAction(action, true);
+                final String description = this.makeDescription(action);
+                CraftTweakerAPI.LOGGER.info(this.makeNestedDescription(description, nestLevel));
+                final ScriptRunProfiler.Sample sample = ScriptRunProfiler.get().startAction();
+                final boolean applied;
+                try {
+                    applied = this.apply(action);
+                } finally {
+                    ScriptRunProfiler.get().stopAction(sample, action, description);
+                }
+                if(applied) {
+                    info.enqueueAction(action, true);
+                }
             } finally {
                 
                 this.nestingLevel.set(nestLevel);
@@ -203,9 +273,70 @@ public final class ScriptRunManager implements IScriptRunManager {
         }
     }
     
-    private String makeNestedDescription(final IAction action, final int nestLevel) {
+    // Returns false if the action has been queued, in which case it is enqueued into the run once it is carried out
+    private boolean apply(final IAction action) {
+        
+        if(action instanceof ActionBatchReplacement replacement) {
+            this.flushDeferredRemovals();
+            this.deferredReplacements.add(replacement);
+            return false;
+        }
+        
+        // Replacements take effect before any later action, so that actions are carried out in the order they were
+        // applied in
+        this.flushDeferredReplacements();
+        
+        if(action instanceof ActionRemoveRecipe<?> removal && removal.canBeDeferred()) {
+            removal.applyDeferred();
+            this.deferredRemovalManagers.add(removal.getManager());
+            return true;
+        }
+        
+        // Any other action may depend on the recipes being up to date
+        this.flushDeferredRemovals();
+        action.apply();
+        return true;
+    }
+    
+    private void flushDeferredReplacements() {
+        
+        if(this.deferredReplacements.isEmpty()) {
+            return;
+        }
+        
+        // Replacing recipes applies further recipe actions, which must not attempt to flush the same replacements again
+        final List<ActionBatchReplacement> replacements = List.copyOf(this.deferredReplacements);
+        this.deferredReplacements.clear();
+        final ScriptRunProfiler.Sample sample = ScriptRunProfiler.get().startPhase();
+        try {
+            final RunInfo info = this.currentRunInfo;
+            ActionBatchReplacement.applyFused(replacements, (replacement, e) -> CraftTweakerAPI.LOGGER.error("Unable to run action '{}' due to an error", replacement.describe(), e))
+                    .forEach(it -> info.enqueueAction(it, true));
+        } catch(final Exception e) {
+            CraftTweakerAPI.LOGGER.error("Unable to run action due to an error", e);
+        } finally {
+            ScriptRunProfiler.get().stopPhase(sample, "deferred_replacements");
+        }
+    }
+    
+    private void flushDeferredRemovals() {
+        
+        if(this.deferredRemovalManagers.isEmpty()) {
+            return;
+        }
+        
+        final ScriptRunProfiler.Sample sample = ScriptRunProfiler.get().startPhase();
+        try {
+            this.deferredRemovalManagers.forEach(it -> it.getRecipeList().flushDeferredRemovals());
+        } finally {
+            this.deferredRemovalManagers.clear();
+            ScriptRunProfiler.get().stopPhase(sample, "deferred_removals");
+        }
+    }
+    
+    private String makeNestedDescription(final String description, final int nestLevel) {
         
-        return "-".repeat(nestLevel) + (nestLevel > 0 ? " " : "") + this.makeDescription(action);
+        return "-".repeat(nestLevel) + (nestLevel > 0 ? " " : "") + description;
     }
     
     private String makeDescription(final IAction action) {
@@ -0,0 +1,397 @@
+package com.blamejared.crafttweaker.impl.script.scriptrun;
+
+import com.blamejared.crafttweaker.api.action.base.IAction;
+import com.blamejared.crafttweaker.api.zencode.scriptrun.ScriptRunConfiguration;
+import com.google.common.base.Suppliers;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Records how much time and memory every action and every phase of a script run takes.
+ *
+ * <p>Samples are nested: the self time of a sample is the time it took minus the time taken by all samples that were
+ * started and stopped while it was running. Only the latest run of every loader is kept.</p>
+ *
+ * <p>Nothing is recorded unless the {@code crafttweaker.profile} system property is set to {@code true}, in which case
+ * every sample is taken under a lock and every action walks the stack to find its script file. When profiling is
+ * disabled, starting a sample returns {@code null}, which is accepted when stopping it.</p>
+ */
+public final class ScriptRunProfiler {
+    
+    public static final class Sample {
+        
+        private final long startNanos;
+        private final long startBytes;
+        private final String file;
+        private long childNanos;
+        private long childBytes;
+        
+        private Sample(final long startNanos, final long startBytes, final String file) {
+            
+            this.startNanos = startNanos;
+            this.startBytes = startBytes;
+            this.file = file;
+            this.childNanos = 0;
+            this.childBytes = 0;
+        }
+        
+    }
+    
+    private record Entry(String type, String description, String file, long nanos, long selfNanos, long bytes, long selfBytes) {
+        
+        JsonObject toJson() {
+            
+            final JsonObject object = new JsonObject();
+            object.addProperty("type", this.type());
+            object.addProperty("description", this.description());
+            object.addProperty("file", this.file());
+            object.addProperty("nanos", this.nanos());
+            object.addProperty("selfNanos", this.selfNanos());
+            object.addProperty("bytes", this.bytes());
+            object.addProperty("selfBytes", this.selfBytes());
+            return object;
+        }
+        
+    }
+    
+    private static final class Totals {
+        
+        private long count;
+        private long nanos;
+        private long selfNanos;
+        private long bytes;
+        private long selfBytes;
+        
+        void add(final Entry entry) {
+            
+            ++this.count;
+            this.nanos += entry.nanos();
+            this.selfNanos += entry.selfNanos();
+            this.bytes += entry.bytes();
+            this.selfBytes += entry.selfBytes();
+        }
+        
+        JsonObject toJson() {
+            
+            final JsonObject object = new JsonObject();
+            object.addProperty("count", this.count);
+            object.addProperty("nanos", this.nanos);
+            object.addProperty("selfNanos", this.selfNanos);
+            object.addProperty("bytes", this.bytes);
+            object.addProperty("selfBytes", this.selfBytes);
+            return object;
+        }
+        
+    }
+    
+    private static final class RunProfile {
+        
+        private final String loader;
+        private final ScriptRunConfiguration.RunKind kind;
+        private final long startNanos;
+        private final List<Entry> actions;
+        private final Map<String, Totals> phases;
+        private long nanos;
+        
+        RunProfile(final String loader, final ScriptRunConfiguration.RunKind kind, final long startNanos) {
+            
+            this.loader = loader;
+            this.kind = kind;
+            this.startNanos = startNanos;
+            this.actions = new ArrayList<>();
+            this.phases = new LinkedHashMap<>();
+            this.nanos = -1;
+        }
+        
+        Map<String, Totals> group(final Function<Entry, String> classifier) {
+            
+            final Map<String, Totals> groups = new LinkedHashMap<>();
+            this.actions.forEach(it -> groups.computeIfAbsent(classifier.apply(it), key -> new Totals()).add(it));
+            return groups;
+        }
+        
+    }
+    
+    private static final Supplier<ScriptRunProfiler> INSTANCE = Suppliers.memoize(ScriptRunProfiler::new);
+    private static final Supplier<Gson> GSON = Suppliers.memoize(() -> new GsonBuilder().setPrettyPrinting().create());
+    private static final boolean ENABLED = Boolean.getBoolean("crafttweaker.profile");
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean TRACKS_ALLOCATIONS = tracksAllocations();
+    private static final String SCRIPT_EXTENSION = ".zs";
+    private static final String UNKNOWN_FILE = "<unknown>";
+    private static final int SUMMARY_SIZE = 20;
+    
+    private final Map<String, RunProfile> profiles;
+    private final Deque<Sample> samples;
+    private RunProfile current;
+    
+    private ScriptRunProfiler() {
+        
+        this.profiles = new LinkedHashMap<>();
+        this.samples = new ArrayDeque<>();
+        this.current = null;
+    }
+    
+    public static ScriptRunProfiler get() {
+        
+        return INSTANCE.get();
+    }
+    
+    public static boolean isEnabled() {
+        
+        return ENABLED;
+    }
+    
+    void beginRun(final ScriptRunConfiguration configuration) {
+        
+        if(!ENABLED) {
+            return;
+        }
+        
+        final String loader = configuration.loader().name();
+        synchronized(this) {
+            this.samples.clear();
+            this.current = new RunProfile(loader, configuration.runKind(), System.nanoTime());
+            this.profiles.remove(loader);
+            this.profiles.put(loader, this.current);
+        }
+    }
+    
+    void endRun() {
+        
+        if(!ENABLED) {
+            return;
+        }
+        
+        synchronized(this) {
+            if(this.current != null) {
+                this.current.nanos = System.nanoTime() - this.current.startNanos;
+            }
+            this.samples.clear();
+            this.current = null;
+        }
+    }
+    
+    @Nullable
+    Sample startAction() {
+        
+        if(!ENABLED) {
+            return null;
+        }
+        
+        synchronized(this) {
+            final Sample parent = this.samples.peek();
+            return this.start(parent == null ? findScriptFile() : parent.file);
+        }
+    }
+    
+    void stopAction(@Nullable final Sample sample, final IAction action, final String description) {
+        
+        if(sample == null) {
+            return;
+        }
+        
+        synchronized(this) {
+            final Entry entry = this.stop(sample, action.getClass().getName(), description);
+            if(this.current != null) {
+                this.current.actions.add(entry);
+            }
+        }
+    }
+    
+    @Nullable
+    public Sample startPhase() {
+        
+        if(!ENABLED) {
+            return null;
+        }
+        
+        synchronized(this) {
+            final Sample parent = this.samples.peek();
+            return this.start(parent == null ? UNKNOWN_FILE : parent.file);
+        }
+    }
+    
+    public void stopPhase(@Nullable final Sample sample, final String phase) {
+        
+        if(sample == null) {
+            return;
+        }
+        
+        synchronized(this) {
+            final Entry entry = this.stop(sample, phase, phase);
+            if(this.current != null) {
+                this.current.phases.computeIfAbsent(phase, it -> new Totals()).add(entry);
+            }
+        }
+    }
+    
+    public synchronized boolean hasData() {
+        
+        return !this.profiles.isEmpty();
+    }
+    
+    /**
+     * Writes the recorded data to the given directory, both as JSON and as a human-readable summary.
+     *
+     * @return The paths of the created files.
+     */
+    public synchronized List<Path> dump(final Path directory) throws IOException {
+        
+        Files.createDirectories(directory);
+        final Path json = directory.resolve("profile.json");
+        final Path summary = directory.resolve("profile.txt");
+        Files.writeString(json, GSON.get().toJson(this.toJson()), StandardCharsets.UTF_8);
+        Files.write(summary, this.summarize(), StandardCharsets.UTF_8);
+        return List.of(json, summary);
+    }
+    
+    private Sample start(final String file) {
+        
+        final Sample sample = new Sample(System.nanoTime(), allocatedBytes(), file);
+        this.samples.push(sample);
+        return sample;
+    }
+    
+    private Entry stop(final Sample sample, final String type, final String description) {
+        
+        final long nanos = System.nanoTime() - sample.startNanos;
+        final long bytes = TRACKS_ALLOCATIONS ? allocatedBytes() - sample.startBytes : -1;
+        
+        // Samples are always stopped in reverse order through try-finally blocks, so the sample is the top one
+        this.samples.remove(sample);
+        final Sample parent = this.samples.peek();
+        if(parent != null) {
+            parent.childNanos += nanos;
+            parent.childBytes += bytes;
+        }
+        
+        final long selfBytes = TRACKS_ALLOCATIONS ? bytes - sample.childBytes : -1;
+        return new Entry(type, description, sample.file, nanos, nanos - sample.childNanos, bytes, selfBytes);
+    }
+    
+    private JsonObject toJson() {
+        
+        final JsonObject root = new JsonObject();
+        root.addProperty("tracksAllocations", TRACKS_ALLOCATIONS);
+        final JsonArray runs = new JsonArray();
+        this.profiles.values().forEach(profile -> {
+            final JsonObject run = new JsonObject();
+            run.addProperty("loader", profile.loader);
+            run.addProperty("kind", profile.kind.name());
+            run.addProperty("nanos", profile.nanos);
+            run.add("phases", toJson(profile.phases));
+            run.add("byClass", toJson(profile.group(Entry::type)));
+            run.add("byFile", toJson(profile.group(Entry::file)));
+            final JsonArray actions = new JsonArray();
+            profile.actions.stream().map(Entry::toJson).forEach(actions::add);
+            run.add("actions", actions);
+            runs.add(run);
+        });
+        root.add("runs", runs);
+        return root;
+    }
+    
+    private static JsonObject toJson(final Map<String, Totals> totals) {
+        
+        final JsonObject object = new JsonObject();
+        totals.forEach((key, value) -> object.add(key, value.toJson()));
+        return object;
+    }
+    
+    private List<String> summarize() {
+        
+        final List<String> lines = new ArrayList<>();
+        this.profiles.values().forEach(profile -> {
+            lines.add("Loader '%s' (%s): %s total, %d actions".formatted(profile.loader, profile.kind, formatNanos(profile.nanos), profile.actions.size()));
+            lines.add("");
+            summarize(lines, "Phases", profile.phases);
+            summarize(lines, "Slowest action types", profile.group(Entry::type));
+            summarize(lines, "Slowest script files", profile.group(Entry::file));
+            lines.add("  Slowest actions:");
+            profile.actions.stream()
+                    .sorted(Comparator.comparingLong(Entry::selfNanos).reversed())
+                    .limit(SUMMARY_SIZE)
+                    .forEach(it -> lines.add("    %s self, %s total, %s - %s (%s)".formatted(
+                            formatNanos(it.selfNanos()),
+                            formatNanos(it.nanos()),
+                            formatBytes(it.bytes()),
+                            it.description(),
+                            it.file()
+                    )));
+            lines.add("");
+        });
+        return lines;
+    }
+    
+    private static void summarize(final List<String> lines, final String title, final Map<String, Totals> totals) {
+        
+        lines.add("  %s:".formatted(title));
+        totals.entrySet()
+                .stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Totals> it) -> it.getValue().selfNanos).reversed())
+                .limit(SUMMARY_SIZE)
+                .forEach(it -> lines.add("    %s self, %s total, %s - %s (x%d)".formatted(
+                        formatNanos(it.getValue().selfNanos),
+                        formatNanos(it.getValue().nanos),
+                        formatBytes(it.getValue().bytes),
+                        it.getKey(),
+                        it.getValue().count
+                )));
+        lines.add("");
+    }
+    
+    private static String formatNanos(final long nanos) {
+        
+        return "%.3f ms".formatted(nanos / 1_000_000.0);
+    }
+    
+    private static String formatBytes(final long bytes) {
+        
+        return bytes < 0 ? "? KiB" : "%.1f KiB".formatted(bytes / 1024.0);
+    }
+    
+    // Relies on the source file attribute of the classes generated by ZenCode: anything else is reported as unknown
+    private static String findScriptFile() {
+        
+        return StackWalker.getInstance()
+                .walk(frames -> frames.map(StackWalker.StackFrame::getFileName)
+                        .filter(Objects::nonNull)
+                        .filter(it -> it.endsWith(SCRIPT_EXTENSION))
+                        .findFirst())
+                .orElse(UNKNOWN_FILE);
+    }
+    
+    private static long allocatedBytes() {
+        
+        return TRACKS_ALLOCATIONS ? ((com.sun.management.ThreadMXBean) THREADS).getCurrentThreadAllocatedBytes() : -1;
+    }
+    
+    private static boolean tracksAllocations() {
+        
+        return THREADS instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()
+                && bean.isThreadAllocatedMemoryEnabled();
+    }
+    
+}
@@ -0,0 +1,283 @@
+package com.blamejared.crafttweaker.impl.script.scriptrun.runner;
+
+import com.blamejared.crafttweaker.api.CraftTweakerAPI;
+import com.blamejared.crafttweaker.api.ICraftTweakerRegistry;
+import com.blamejared.crafttweaker.api.mod.Mod;
+import com.blamejared.crafttweaker.api.util.PathUtil;
+import com.blamejared.crafttweaker.api.zencode.IScriptLoader;
+import com.blamejared.crafttweaker.api.zencode.IZenClassRegistry;
+import com.blamejared.crafttweaker.impl.script.scriptrun.DefaultScriptRunModuleConfigurator;
+import com.blamejared.crafttweaker.platform.Services;
+import com.blamejared.crafttweaker.platform.helper.IAccessibleElementsProvider;
+import com.google.common.base.Suppliers;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import net.minecraft.core.Registry;
+import net.minecraft.tags.TagKey;
+import org.openzen.zencode.shared.SourceFile;
+import org.openzen.zenscript.javabytecode.JavaBytecodeRunUnit;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Stores the bytecode generated by ZenCode on disk, so that an unchanged set of scripts can be executed without being
+ * lexed, parsed, and compiled again.
+ *
+ * <p>Every cache entry is identified by a hash of the preprocessed sources, the classes and brackets exposed to the
+ * loader, the entries and tags of every registry, and the set of loaded mods. Only the latest entry is kept for every
+ * loader. The hash is only computed once the entry is actually needed.</p>
+ *
+ * <p>The cache is disabled unless the {@code crafttweaker.script_cache} system property is set to {@code true}. Even
+ * then, it is only used for loaders whose modules are set up by the {@link DefaultScriptRunModuleConfigurator}: running
+ * cached scripts skips the initialization of the scripting engine, and only that configurator is known to build its
+ * modules purely from the data that goes into the hash.</p>
+ */
+final class CompiledScriptCache {
+    
+    private static final class CachedClassLoader extends ClassLoader {
+        
+        private final Map<String, byte[]> classes;
+        
+        CachedClassLoader(final Map<String, byte[]> classes, final ClassLoader parent) {
+            
+            super(parent);
+            this.classes = classes;
+        }
+        
+        @Override
+        protected Class<?> findClass(final String name) throws ClassNotFoundException {
+            
+            final byte[] bytes = this.classes.get(name);
+            if(bytes == null) {
+                return super.findClass(name);
+            }
+            return this.defineClass(name, bytes, 0, bytes.length);
+        }
+        
+    }
+    
+    private static final Supplier<Path> CACHE_DIRECTORY = Suppliers.memoize(() -> PathUtil.findFromGameDirectory("ct_cache").resolve("scripts"));
+    private static final String CLASS_EXTENSION = ".class";
+    private static final String ENTRY_POINT = "Scripts";
+    private static final boolean ENABLED = Boolean.getBoolean("crafttweaker.script_cache");
+    
+    private final Path loaderDirectory;
+    private final Supplier<Path> entryDirectory;
+    
+    private CompiledScriptCache(final Path loaderDirectory, final Supplier<String> key) {
+        
+        this.loaderDirectory = loaderDirectory;
+        this.entryDirectory = Suppliers.memoize(() -> loaderDirectory.resolve(key.get()));
+    }
+    
+    static boolean isEnabledFor(final IScriptLoader loader) {
+        
+        return ENABLED && CraftTweakerAPI.getRegistry().getConfiguratorFor(loader) instanceof DefaultScriptRunModuleConfigurator;
+    }
+    
+    static CompiledScriptCache of(final IScriptLoader loader, final List<SourceFile> sources) {
+        
+        return new CompiledScriptCache(CACHE_DIRECTORY.get().resolve(loader.name()), () -> computeKey(loader, sources));
+    }
+    
+    private static String computeKey(final IScriptLoader loader, final List<SourceFile> sources) {
+        
+        final Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(loader.name(), StandardCharsets.UTF_8);
+        sources.forEach(it -> hashSource(hasher, it));
+        hashRegistry(hasher, loader, CraftTweakerAPI.getRegistry());
+        hashRegistryContents(hasher);
+        Services.PLATFORM.getMods()
+                .stream()
+                .sorted(Comparator.comparing(Mod::id))
+                .forEach(it -> hasher.putString(it.id(), StandardCharsets.UTF_8).putString(it.version(), StandardCharsets.UTF_8));
+        return hasher.hash().toString();
+    }
+    
+    private static void hashSource(final Hasher hasher, final SourceFile file) {
+        
+        try(final Reader reader = file.open()) {
+            final StringWriter writer = new StringWriter();
+            reader.transferTo(writer);
+            hasher.putString(file.getFilename(), StandardCharsets.UTF_8)
+                    .putInt(file.getOrder())
+                    .putString(writer.toString(), StandardCharsets.UTF_8);
+        } catch(final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static void hashRegistry(final Hasher hasher, final IScriptLoader loader, final ICraftTweakerRegistry registry) {
+        
+        final IZenClassRegistry.IClassData data = registry.getZenClassRegistry().getClassData(loader);
+        data.registeredClasses()
+                .stream()
+                .map(Class::getName)
+                .sorted()
+                .forEach(it -> hasher.putString(it, StandardCharsets.UTF_8));
+        data.globals().keySet().stream().sorted().forEach(it -> hasher.putString(it, StandardCharsets.UTF_8));
+        data.classes().keySet().stream().sorted().forEach(it -> hasher.putString(it, StandardCharsets.UTF_8));
+        registry.getBracketHandlers(loader, null)
+                .keySet()
+                .stream()
+                .sorted()
+                .forEach(it -> hasher.putString(it, StandardCharsets.UTF_8));
+    }
+    
+    // Brackets are checked against the registries while compiling, so a datapack or config change that adds or removes
+    // entries or tags has to compile the scripts again, for the errors it causes to be reported
+    private static void hashRegistryContents(final Hasher hasher) {
+        
+        Registry.REGISTRY.keySet()
+                .stream()
+                .sorted()
+                .forEach(it -> hashEntries(hasher, Registry.REGISTRY.get(it)));
+        
+        final IAccessibleElementsProvider provider = CraftTweakerAPI.getAccessibleElementsProvider();
+        if(provider.hasRegistryAccess()) {
+            provider.registryAccess()
+                    .registries()
+                    .sorted(Comparator.comparing(it -> it.key().location()))
+                    .forEach(it -> hashEntries(hasher, it.value()));
+        }
+    }
+    
+    private static void hashEntries(final Hasher hasher, final Registry<?> registry) {
+        
+        hasher.putString(registry.key().location().toString(), StandardCharsets.UTF_8);
+        registry.keySet()
+                .stream()
+                .sorted()
+                .forEach(it -> hasher.putString(it.toString(), StandardCharsets.UTF_8));
+        registry.getTagNames()
+                .map(TagKey::location)
+                .sorted()
+                .forEach(it -> hasher.putString(it.toString(), StandardCharsets.UTF_8));
+    }
+    
+    boolean isPresent() {
+        
+        // An empty cache does not need the key to know that there is no entry for it
+        return Files.isDirectory(this.loaderDirectory) && Files.isDirectory(this.entryDirectory.get());
+    }
+    
+    boolean run(final ClassLoader parent) {
+        
+        final Map<String, byte[]> classes;
+        try {
+            classes = this.readClasses();
+        } catch(final IOException | UncheckedIOException e) {
+            CraftTweakerAPI.LOGGER.warn("Unable to read compiled scripts from cache, recompiling", e);
+            this.invalidate();
+            return false;
+        }
+        
+        final Class<?> scripts;
+        try {
+            scripts = new CachedClassLoader(classes, parent).loadClass(ENTRY_POINT);
+        } catch(final ClassNotFoundException | LinkageError e) {
+            CraftTweakerAPI.LOGGER.warn("Compiled scripts cache is corrupted, recompiling", e);
+            this.invalidate();
+            return false;
+        }
+        
+        try {
+            scripts.getMethod("run").invoke(null);
+        } catch(final InvocationTargetException e) {
+            throw new IllegalStateException("An error occurred while running cached scripts", e.getCause());
+        } catch(final ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to run cached scripts", e);
+        }
+        return true;
+    }
+    
+    void store(final JavaBytecodeRunUnit unit) {
+        
+        final Path temporary = this.loaderDirectory.resolve(this.entryDirectory.get().getFileName() + ".tmp");
+        try {
+            this.clear();
+            Files.createDirectories(temporary);
+            unit.dump(temporary.toFile()); // FIXME("Make ZenCode use NIO")
+            Files.move(temporary, this.entryDirectory.get(), StandardCopyOption.ATOMIC_MOVE);
+        } catch(final IOException | UncheckedIOException e) {
+            CraftTweakerAPI.LOGGER.warn("Unable to store compiled scripts in the cache", e);
+            delete(temporary);
+        }
+    }
+    
+    private Map<String, byte[]> readClasses() throws IOException {
+        
+        final Map<String, byte[]> classes = new HashMap<>();
+        try(final Stream<Path> files = Files.walk(this.entryDirectory.get())) {
+            files.filter(Files::isRegularFile)
+                    .filter(it -> it.getFileName().toString().endsWith(CLASS_EXTENSION))
+                    .forEach(it -> classes.put(this.toClassName(it), read(it)));
+        }
+        return classes;
+    }
+    
+    private String toClassName(final Path file) {
+        
+        final String relative = this.entryDirectory.get().relativize(file).toString().replace(file.getFileSystem().getSeparator(), ".");
+        return relative.substring(0, relative.length() - CLASS_EXTENSION.length());
+    }
+    
+    private void invalidate() {
+        
+        delete(this.entryDirectory.get());
+    }
+    
+    private void clear() throws IOException {
+        
+        if(!Files.isDirectory(this.loaderDirectory)) {
+            return;
+        }
+        
+        try(final Stream<Path> entries = Files.list(this.loaderDirectory)) {
+            entries.forEach(CompiledScriptCache::delete);
+        }
+    }
+    
+    private static byte[] read(final Path file) {
+        
+        try {
+            return Files.readAllBytes(file);
+        } catch(final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static void delete(final Path path) {
+        
+        if(!Files.exists(path)) {
+            return;
+        }
+        
+        try(final Stream<Path> files = Files.walk(path)) {
+            files.sorted(Comparator.reverseOrder()).forEach(it -> {
+                try {
+                    Files.delete(it);
+                } catch(final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch(final IOException | UncheckedIOException e) {
+            CraftTweakerAPI.LOGGER.warn("Unable to delete cache entry {}", path, e);
+        }
+    }
+    
+}
@@ -1,25 +1,52 @@
 package com.blamejared.crafttweaker.impl.script.scriptrun.runner;
 
+import com.blamejared.crafttweaker.api.CraftTweakerAPI;
 import com.blamejared.crafttweaker.api.zencode.scriptrun.IScriptRunInfo;
 import org.openzen.zencode.java.logger.ScriptingEngineLogger;
 import org.openzen.zencode.shared.SourceFile;
 import org.openzen.zenscript.codemodel.SemanticModule;
+import org.openzen.zenscript.javabytecode.JavaBytecodeRunUnit;
 
+import javax.annotation.Nullable;
 import java.util.Collections;
 import java.util.List;
 
 final class ExecutingScriptRunner extends ScriptRunner {
     
+    @Nullable
+    private final CompiledScriptCache cache;
+    
     ExecutingScriptRunner(final IScriptRunInfo runInfo, final List<SourceFile> sources, final ScriptingEngineLogger logger) {
         
         super(runInfo, sources, logger);
+        final boolean useCache = !runInfo.dumpClasses() && CompiledScriptCache.isEnabledFor(runInfo.loader());
+        this.cache = useCache ? CompiledScriptCache.of(runInfo.loader(), sources) : null;
+    }
+    
+    @Override
+    protected boolean runFromCache() {
+        
+        if(this.cache == null || !this.cache.isPresent()) {
+            return false;
+        }
+        
+        CraftTweakerAPI.LOGGER.info("Scripts have not changed since the last run: skipping compilation");
+        return this.cache.run(ScriptRunner.class.getClassLoader());
     }
     
     @Override
     protected void executeRunAction(final SemanticModule module) {
         
         this.engine().registerCompiled(module);
-        this.engine().run(Collections.emptyMap(), ScriptRunner.class.getClassLoader());
+        
+        if(this.cache == null) {
+            this.engine().run(Collections.emptyMap(), ScriptRunner.class.getClassLoader());
+            return;
+        }
+        
+        final JavaBytecodeRunUnit unit = this.engine().createRunUnit();
+        this.cache.store(unit);
+        unit.run(Collections.emptyMap(), ScriptRunner.class.getClassLoader());
     }
     
 }
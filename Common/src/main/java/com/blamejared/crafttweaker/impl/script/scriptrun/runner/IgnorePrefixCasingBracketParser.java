@@ -1,6 +1,7 @@
 package com.blamejared.crafttweaker.impl.script.scriptrun.runner;
 
 import com.blamejared.crafttweaker.api.util.ParseUtil;
+import com.blamejared.crafttweaker.impl.script.scriptrun.ScriptRunProfiler;
 import org.openzen.zencode.shared.CodePosition;
 import org.openzen.zenscript.lexer.ParseException;
 import org.openzen.zenscript.lexer.ZSTokenParser;
@@ -34,7 +35,12 @@ final class IgnorePrefixCasingBracketParser implements BracketExpressionParser {
             throw new ParseException(position, "Invalid bracket expression: no prefix " + name);
         }
         
-        return parser.parse(position, tokens);
+        final ScriptRunProfiler.Sample sample = ScriptRunProfiler.get().startPhase();
+        try {
+            return parser.parse(position, tokens);
+        } finally {
+            ScriptRunProfiler.get().stopPhase(sample, "brackets");
+        }
     }
     
     private BracketExpressionParser find(final String name) {
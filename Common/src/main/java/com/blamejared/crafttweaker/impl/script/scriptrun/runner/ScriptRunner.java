@@ -7,6 +7,7 @@ import com.blamejared.crafttweaker.api.zencode.IScriptLoader;
 import com.blamejared.crafttweaker.api.zencode.scriptrun.IScriptRunInfo;
 import com.blamejared.crafttweaker.api.zencode.scriptrun.IScriptRunModuleConfigurator;
 import com.blamejared.crafttweaker.api.zencode.scriptrun.ScriptRunConfiguration;
+import com.blamejared.crafttweaker.impl.script.scriptrun.ScriptRunProfiler;
 import com.blamejared.crafttweaker.impl.script.scriptrun.natives.CtJavaNativeConverterBuilder;
 import com.google.common.base.Suppliers;
 import org.openzen.zencode.java.ScriptingEngine;
@@ -65,6 +66,15 @@ sealed abstract class ScriptRunner implements IScriptRunner permits ExecutingScr
     
     public final void run() throws Exception {
         
+        final ScriptRunProfiler.Sample sample = ScriptRunProfiler.get().startPhase();
+        try {
+            if(this.runFromCache()) {
+                return;
+            }
+        } finally {
+            ScriptRunProfiler.get().stopPhase(sample, "cache");
+        }
+        
         final BracketExpressionParser parser = this.initializeEngine();
         this.runScripts(parser);
     }
@@ -74,23 +84,53 @@ sealed abstract class ScriptRunner implements IScriptRunner permits ExecutingScr
         final ICraftTweakerRegistry registry = CraftTweakerAPI.getRegistry();
         final CtJavaNativeConverterBuilder converterBuilder = new CtJavaNativeConverterBuilder(this.runInfo, registry.getZenClassRegistry());
         final BracketExpressionParser parser = this.createParser(registry);
-        final Collection<DecoratedJavaNativeModule> modules = this.populateModules(converterBuilder, registry, parser);
+        final ScriptRunProfiler.Sample sample = ScriptRunProfiler.get().startPhase();
+        final Collection<DecoratedJavaNativeModule> modules;
+        try {
+            modules = this.populateModules(converterBuilder, registry, parser);
+        } finally {
+            ScriptRunProfiler.get().stopPhase(sample, "native_modules");
+        }
         CraftTweakerAPI.LOGGER.info("Successfully initialized modules {}", modules);
         return parser;
     }
     
+    /**
+     * Runs the scripts from a previous compilation, if possible.
+     *
+     * <p>When this succeeds, the scripting engine is never initialized. This skips building the bracket parser and
+     * converting the native classes into modules, which only feed the compilation, and running the module configurator
+     * of the loader, so implementations must only succeed for loaders whose configurator has no other side effects.</p>
+     *
+     * @return Whether the scripts were run.
+     */
+    protected boolean runFromCache() {
+        
+        return false;
+    }
+    
     protected void runScripts(final BracketExpressionParser parser) throws ParseException {
         
         final SourceFile[] sources = this.sources.toArray(SourceFile[]::new);
-        final SemanticModule module = this.engine()
-                .createScriptedModule("scripts", sources, parser, FunctionParameter.NONE);
+        final ScriptRunProfiler.Sample compileSample = ScriptRunProfiler.get().startPhase();
+        final SemanticModule module;
+        try {
+            module = this.engine().createScriptedModule("scripts", sources, parser, FunctionParameter.NONE);
+        } finally {
+            ScriptRunProfiler.get().stopPhase(compileSample, "compile");
+        }
         
         if(!module.isValid()) {
             Stream.of(CraftTweakerAPI.LOGGER, CraftTweakerCommon.LOG).forEach(it -> it.error("Scripts are invalid!"));
             return;
         }
         
-        this.executeRunAction(module);
+        final ScriptRunProfiler.Sample executeSample = ScriptRunProfiler.get().startPhase();
+        try {
+            this.executeRunAction(module);
+        } finally {
+            ScriptRunProfiler.get().stopPhase(executeSample, "execute");
+        }
     }
     
     protected abstract void executeRunAction(final SemanticModule module);
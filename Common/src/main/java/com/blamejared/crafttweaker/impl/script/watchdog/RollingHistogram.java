@@ -0,0 +1,168 @@
+package com.blamejared.crafttweaker.impl.script.watchdog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts durations in logarithmic buckets over the last one to two windows of time.
+ *
+ * <p>Every power of two is split in four buckets, so a percentile is reported with an error of at most 25%. Samples are
+ * counted in the current window, which becomes the previous one when it is over; percentiles cover both.</p>
+ *
+ * <p>Samples are recorded without locking: only the rotation of the windows, once per window, is synchronized. A sample
+ * recorded while the windows rotate may be counted in the window that just ended.</p>
+ */
+final class RollingHistogram {
+    
+    private static final int BUCKETS = 256;
+    
+    private final long windowNanos;
+    private volatile Window current;
+    private volatile Window previous;
+    private volatile long windowStart;
+    
+    RollingHistogram(final long windowNanos, final long now) {
+        
+        this.windowNanos = windowNanos;
+        this.current = new Window();
+        this.previous = new Window();
+        this.windowStart = now;
+    }
+    
+    /**
+     * Records a sample, rotating the windows first if the current one is over.
+     *
+     * @return Whether the windows were rotated.
+     */
+    boolean record(final long nanos, final long now) {
+        
+        final boolean rotated = this.rotate(now);
+        this.current.record(nanos);
+        return rotated;
+    }
+    
+    long count(final long now) {
+        
+        this.rotate(now);
+        return this.current.count() + this.previous.count();
+    }
+    
+    long max(final long now) {
+        
+        this.rotate(now);
+        return Math.max(this.current.max.get(), this.previous.max.get());
+    }
+    
+    /**
+     * Gets the duration that the given fraction of the samples did not exceed.
+     *
+     * @param percentile The fraction of samples, between 0 and 1.
+     * @param now        The current time, in nanoseconds.
+     *
+     * @return The upper bound of the bucket of the percentile, or 0 if there are no samples.
+     */
+    long percentile(final double percentile, final long now) {
+        
+        this.rotate(now);
+        final Window current = this.current;
+        final Window previous = this.previous;
+        
+        // Samples keep coming in, so everything is computed from one read of every bucket
+        final long[] counts = new long[BUCKETS];
+        long count = 0;
+        for(int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts[bucket] = current.counts.get(bucket) + previous.counts.get(bucket);
+            count += counts[bucket];
+        }
+        if(count == 0) {
+            return 0;
+        }
+        
+        final long max = Math.max(current.max.get(), previous.max.get());
+        final long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for(int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if(seen >= rank) {
+                return Math.min(upperBound(bucket), max);
+            }
+        }
+        return max;
+    }
+    
+    private boolean rotate(final long now) {
+        
+        if(now - this.windowStart < this.windowNanos) {
+            return false;
+        }
+        
+        synchronized(this) {
+            final long elapsed = now - this.windowStart;
+            if(elapsed < this.windowNanos) {
+                return false;
+            }
+            
+            // Nothing was recorded during the last full window if two of them are over
+            this.previous = elapsed >= 2 * this.windowNanos ? new Window() : this.current;
+            this.current = new Window();
+            this.windowStart = now - elapsed % this.windowNanos;
+            return true;
+        }
+    }
+    
+    private static int bucket(final long nanos) {
+        
+        if(nanos < 4) {
+            return (int) Math.max(nanos, 0);
+        }
+        
+        final int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        final int fraction = (int) (nanos >>> (exponent - 2)) & 3;
+        return Math.min(exponent * 4 + fraction, BUCKETS - 1);
+    }
+    
+    private static long upperBound(final int bucket) {
+        
+        if(bucket < 4) {
+            return bucket;
+        }
+        
+        final int exponent = bucket / 4;
+        final int fraction = bucket % 4;
+        if(exponent >= 61) {
+            return Long.MAX_VALUE;
+        }
+        return ((4L + fraction + 1) << (exponent - 2)) - 1;
+    }
+    
+    private static final class Window {
+        
+        private final AtomicLongArray counts;
+        private final AtomicLong max;
+        
+        Window() {
+            
+            this.counts = new AtomicLongArray(BUCKETS);
+            this.max = new AtomicLong();
+        }
+        
+        void record(final long nanos) {
+            
+            this.counts.incrementAndGet(bucket(nanos));
+            if(nanos > this.max.get()) {
+                this.max.accumulateAndGet(nanos, Math::max);
+            }
+        }
+        
+        long count() {
+            
+            long count = 0;
+            for(int bucket = 0; bucket < BUCKETS; bucket++) {
+                count += this.counts.get(bucket);
+            }
+            return count;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,268 @@
+package com.blamejared.crafttweaker.impl.script.watchdog;
+
+import com.blamejared.crafttweaker.api.CraftTweakerAPI;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time taken by script code that runs during the game, such as event handlers and sequences, against a
+ * time budget.
+ *
+ * <p>Every piece of script code is watched through a {@link Tracker}, which is shared by all code registered from the
+ * same script line; the sequences of a type are also watched as a whole every tick. A tracker that exceeds its budget
+ * too many times within a window is reported, at most once per warning interval, and is disabled if automatic disabling
+ * is enabled. Disabled trackers are enabled again by the next script run.</p>
+ *
+ * <p>The watchdog is configured through system properties, all of which are optional:</p>
+ * <ul>
+ *     <li>{@code crafttweaker.watchdog.handler_budget_ms}: the budget of a single event handler call, 5 by default;</li>
+ *     <li>{@code crafttweaker.watchdog.sequence_budget_ms}: the budget of all sequences of a type in a tick, and of a
+ *     single sequence in a tick, 10 by default;</li>
+ *     <li>{@code crafttweaker.watchdog.strikes}: how many times the budget can be exceeded within a window before the
+ *     tracker is reported, 3 by default;</li>
+ *     <li>{@code crafttweaker.watchdog.warn_interval_s}: how long to wait before reporting the same tracker again, 60
+ *     by default;</li>
+ *     <li>{@code crafttweaker.watchdog.auto_disable}: whether reported trackers are disabled, false by default.</li>
+ * </ul>
+ *
+ * <p>A budget of 0 or less disables the checks for that kind of code, but durations are still recorded.</p>
+ */
+public final class ScriptWatchdog {
+    
+    public enum Category {
+        EVENT_HANDLER("event handler", budget("handler_budget_ms", 5), true),
+        SEQUENCE_TICK("sequence tick", budget("sequence_budget_ms", 10), false),
+        SEQUENCE("sequence", budget("sequence_budget_ms", 10), true);
+        
+        private final String description;
+        private final long budgetNanos;
+        private final boolean canBeDisabled;
+        
+        Category(final String description, final long budgetNanos, final boolean canBeDisabled) {
+            
+            this.description = description;
+            this.budgetNanos = budgetNanos;
+            this.canBeDisabled = canBeDisabled;
+        }
+        
+        public String description() {
+            
+            return this.description;
+        }
+        
+        public long budgetNanos() {
+            
+            return this.budgetNanos;
+        }
+        
+        public boolean canBeDisabled() {
+            
+            return this.canBeDisabled;
+        }
+        
+    }
+    
+    public static final class Tracker {
+        
+        private final Category category;
+        private final String source;
+        private final RollingHistogram histogram;
+        private int windowOverruns;
+        private long totalOverruns;
+        private long lastWarning;
+        private boolean warned;
+        private volatile boolean disabled;
+        
+        private Tracker(final Category category, final String source, final long now) {
+            
+            this.category = category;
+            this.source = source;
+            this.histogram = new RollingHistogram(WINDOW_NANOS, now);
+        }
+        
+        /**
+         * Gets whether the code watched by this tracker has been disabled for exceeding its budget.
+         */
+        public boolean isDisabled() {
+            
+            return this.disabled;
+        }
+        
+        /**
+         * Records how long the watched code took, reporting it if it exceeds its budget too often.
+         *
+         * <p>Durations within the budget are recorded without locking; only overruns are counted under the lock of
+         * this tracker.</p>
+         *
+         * @param nanos The time the code took, in nanoseconds.
+         */
+        public void record(final long nanos) {
+            
+            final long now = System.nanoTime();
+            if(this.histogram.record(nanos, now)) {
+                synchronized(this) {
+                    this.windowOverruns = 0;
+                }
+            }
+            
+            final long budget = this.category.budgetNanos();
+            if(budget > 0 && nanos > budget) {
+                this.recordOverrun(budget, now);
+            }
+        }
+        
+        private synchronized void recordOverrun(final long budget, final long now) {
+            
+            ++this.totalOverruns;
+            if(++this.windowOverruns < STRIKES || (this.warned && now - this.lastWarning < WARN_INTERVAL_NANOS)) {
+                return;
+            }
+            
+            this.warned = true;
+            this.lastWarning = now;
+            CraftTweakerAPI.LOGGER.warn(
+                    "The {} at {} exceeded its budget of {} {} times in the last {} seconds, taking up to {}",
+                    this.category.description(),
+                    this.source,
+                    formatNanos(budget),
+                    this.windowOverruns,
+                    TimeUnit.NANOSECONDS.toSeconds(WINDOW_NANOS),
+                    formatNanos(this.histogram.max(now))
+            );
+            if(AUTO_DISABLE && this.category.canBeDisabled() && !this.disabled) {
+                this.disabled = true;
+                CraftTweakerAPI.LOGGER.error("The {} at {} has been disabled until scripts are reloaded", this.category.description(), this.source);
+            }
+        }
+        
+        private synchronized List<String> describe(final long now) {
+            
+            return List.of(
+                    "%s at %s%s:".formatted(this.category.description(), this.source, this.disabled ? " (disabled)" : ""),
+                    "    %d calls, p50 %s, p90 %s, p99 %s, max %s, %d over budget since the game started".formatted(
+                            this.histogram.count(now),
+                            formatNanos(this.histogram.percentile(0.5, now)),
+                            formatNanos(this.histogram.percentile(0.9, now)),
+                            formatNanos(this.histogram.percentile(0.99, now)),
+                            formatNanos(this.histogram.max(now)),
+                            this.totalOverruns
+                    )
+            );
+        }
+        
+        private long count(final long now) {
+            
+            return this.histogram.count(now);
+        }
+        
+        private long p99(final long now) {
+            
+            return this.histogram.percentile(0.99, now);
+        }
+        
+        private void enable() {
+            
+            this.disabled = false;
+        }
+        
+    }
+    
+    private static final String PROPERTY_PREFIX = "crafttweaker.watchdog.";
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int STRIKES = Integer.getInteger(PROPERTY_PREFIX + "strikes", 3);
+    private static final long WARN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong(PROPERTY_PREFIX + "warn_interval_s", 60));
+    private static final boolean AUTO_DISABLE = Boolean.getBoolean(PROPERTY_PREFIX + "auto_disable");
+    
+    private static final ScriptWatchdog INSTANCE = new ScriptWatchdog();
+    
+    private final Map<Key, Tracker> trackers;
+    
+    private ScriptWatchdog() {
+        
+        this.trackers = new LinkedHashMap<>();
+    }
+    
+    public static ScriptWatchdog get() {
+        
+        return INSTANCE;
+    }
+    
+    /**
+     * Gets where in the scripts the current code is running, as {@code file.zs:line}.
+     *
+     * <p>Scripts are compiled with their file name as source, so this is the innermost frame of a script file.</p>
+     *
+     * @return The position in the scripts, or {@code unknown} if no script is on the stack.
+     */
+    public static String findScriptPosition() {
+        
+        return StackWalker.getInstance()
+                .walk(frames -> frames.filter(frame -> frame.getFileName() != null && frame.getFileName().endsWith(".zs"))
+                        .findFirst()
+                        .map(frame -> frame.getFileName() + ":" + frame.getLineNumber())
+                        .orElse("unknown"));
+    }
+    
+    /**
+     * Gets the tracker of the code of the given category registered at the given script position.
+     */
+    public synchronized Tracker track(final Category category, final String source) {
+        
+        return this.trackers.computeIfAbsent(new Key(category, source), key -> new Tracker(category, source, System.nanoTime()));
+    }
+    
+    /**
+     * Enables every tracker again, so that fixed scripts get another chance.
+     */
+    public synchronized void enableAll() {
+        
+        this.trackers.values().forEach(Tracker::enable);
+    }
+    
+    /**
+     * Describes every tracker that has recorded something recently, slowest first.
+     *
+     * @return The lines of the description.
+     */
+    public List<String> describe() {
+        
+        final long now = System.nanoTime();
+        final List<Tracker> trackers;
+        synchronized(this) {
+            trackers = new ArrayList<>(this.trackers.values());
+        }
+        
+        final List<String> lines = new ArrayList<>();
+        trackers.stream()
+                .filter(it -> it.count(now) > 0 || it.isDisabled())
+                .sorted(Comparator.<Tracker>comparingLong(it -> it.p99(now)).reversed())
+                .forEach(it -> lines.addAll(it.describe(now)));
+        return lines;
+    }
+    
+    private static long budget(final String property, final long defaultMillis) {
+        
+        final String value = System.getProperty(PROPERTY_PREFIX + property);
+        final double millis;
+        try {
+            millis = value == null ? defaultMillis : Double.parseDouble(value);
+        } catch(final NumberFormatException e) {
+            CraftTweakerAPI.LOGGER.warn("Invalid watchdog budget '{}' for {}, using {} ms", value, property, defaultMillis);
+            return TimeUnit.MILLISECONDS.toNanos(defaultMillis);
+        }
+        return (long) (millis * 1_000_000);
+    }
+    
+    private static String formatNanos(final long nanos) {
+        
+        return "%.3f ms".formatted(nanos / 1_000_000.0);
+    }
+    
+    private record Key(Category category, String source) {}
+    
+}
@@ -42,12 +42,16 @@ public class MixinTagManager {
                     ScriptRunConfiguration.RunKind.EXECUTE
             );
             
+            // Tag edits are collected during the run and applied all at once before the tags get bound by vanilla
+            CraftTweakerTagRegistry.INSTANCE.beginTransaction();
             try {
                 CraftTweakerAPI.getScriptRunManager()
                         .createScriptRun(configuration)
                         .execute();
             } catch(final Throwable e) {
                 CraftTweakerAPI.LOGGER.error("Unable to run tag scripts due to an error", e);
+            } finally {
+                CraftTweakerTagRegistry.INSTANCE.commitTransaction();
             }
             asep.registryAccess(null);
         });
@@ -5,6 +5,7 @@ import com.blamejared.crafttweaker.api.entity.INameTagFunction;
 import com.blamejared.crafttweaker.api.ingredient.IIngredient;
 import com.blamejared.crafttweaker.api.item.IItemStack;
 import com.blamejared.crafttweaker.api.item.tooltip.ITooltipFunction;
+import com.blamejared.crafttweaker.api.item.tooltip.TooltipIndex;
 import com.blamejared.crafttweaker.platform.Services;
 import net.minecraft.client.KeyMapping;
 import net.minecraft.client.Minecraft;
@@ -22,6 +23,7 @@ import java.util.function.Predicate;
 public interface IClientHelper {
     
     Map<IIngredient, LinkedList<ITooltipFunction>> TOOLTIPS = new HashMap<>();
+    TooltipIndex TOOLTIP_INDEX = new TooltipIndex();
     Map<Predicate<Entity>, INameTagFunction> NAMETAGS = new HashMap<>();
     
     default boolean isSingleplayer() {
@@ -53,14 +55,16 @@ public interface IClientHelper {
         return TOOLTIPS;
     }
     
+    default TooltipIndex getTooltipIndex() {
+        
+        return TOOLTIP_INDEX;
+    }
+    
     default void applyTooltips(ItemStack stack, TooltipFlag context, List<Component> lines) {
         
         IItemStack ctStack = IItemStack.of(stack);
-        for(IIngredient ingredient : Services.CLIENT.getTooltips().keySet()) {
-            if(!ingredient.matches(ctStack)) {
-                continue;
-            }
-            Services.CLIENT.getTooltips().get(ingredient).forEach(function -> {
+        Services.CLIENT.getTooltipIndex().forEachMatching(Services.CLIENT.getTooltips(), ctStack, (ingredient, functions) -> {
+            functions.forEach(function -> {
                 try {
                     function.apply(ctStack, lines, context);
                 } catch(final Exception exception) {
@@ -68,7 +72,7 @@ public interface IClientHelper {
                             .getName(), exception);
                 }
             });
-        }
+        });
     }
     
 }
@@ -56,6 +56,13 @@ public interface IEventHelper {
     
     int getBurnTime(IItemStack stack);
     
+    /**
+     * Makes the event handlers registered and removed by scripts visible to the event bus.
+     *
+     * <p>Called whenever a script run stops, whether it completed successfully or not.</p>
+     */
+    default void publishScriptEventHandlers() {}
+    
     default Map<RecipeType<?>, List<Pair<IIngredient, Integer>>> getBurnTimes() {
         
         return BURN_TIMES;
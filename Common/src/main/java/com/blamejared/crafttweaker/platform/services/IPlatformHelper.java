@@ -25,6 +25,8 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 import net.minecraft.world.item.crafting.Recipe;
 import net.minecraft.world.level.material.Fluid;
+import net.minecraft.world.level.storage.loot.LootContext;
+import net.minecraft.world.level.storage.loot.predicates.LootItemCondition;
 
 import java.lang.annotation.Annotation;
 import java.nio.file.Path;
@@ -95,6 +97,17 @@ public interface IPlatformHelper {
     
     Map<ResourceLocation, ILootModifier> getLootModifiersMap();
     
+    default Optional<ResourceLocation> getQueriedLootTableId(final LootContext context) {
+        
+        return Optional.empty();
+    }
+    
+    // Conditions depending only on the queried loot table id can be evaluated once per table and cached
+    default boolean isLootTableIdCondition(final LootItemCondition condition) {
+        
+        return false;
+    }
+    
     IInventoryWrapper getPlayerInventory(Player player);
     
     default boolean canItemStacksStack(ItemStack first, ItemStack second) {
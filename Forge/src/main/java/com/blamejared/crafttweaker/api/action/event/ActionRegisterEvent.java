@@ -2,7 +2,7 @@ package com.blamejared.crafttweaker.api.action.event;
 
 import com.blamejared.crafttweaker.api.action.base.IUndoableAction;
 import com.blamejared.crafttweaker.api.event.EventHandlerWrapper;
-import net.minecraftforge.common.MinecraftForge;
+import com.blamejared.crafttweaker.api.event.ScriptEventDispatchers;
 import net.minecraftforge.eventbus.api.Event;
 import net.minecraftforge.eventbus.api.EventPriority;
 
@@ -11,7 +11,7 @@ import java.util.function.Consumer;
 public class ActionRegisterEvent<T extends Event> implements IUndoableAction {
     
     private final Class<T> typeOfT;
-    private final Consumer<T> consumer;
+    private final EventHandlerWrapper<T> consumer;
     private final EventPriority priority;
     
     public ActionRegisterEvent(Class<T> typeOfT, Consumer<T> consumer, EventPriority priority) {
@@ -23,8 +23,8 @@ public class ActionRegisterEvent<T extends Event> implements IUndoableAction {
     
     @Override
     public void apply() {
-        //Let's go completely safe and use the type
-        MinecraftForge.EVENT_BUS.addListener(priority, false, typeOfT, consumer);
+        
+        ScriptEventDispatchers.get().register(typeOfT, priority, consumer);
     }
     
     @Override
@@ -36,7 +36,7 @@ public class ActionRegisterEvent<T extends Event> implements IUndoableAction {
     @Override
     public void undo() {
         
-        MinecraftForge.EVENT_BUS.unregister(consumer);
+        ScriptEventDispatchers.get().unregister(typeOfT, priority, consumer);
     }
     
     @Override
@@ -1,8 +1,10 @@
 package com.blamejared.crafttweaker.api.event;
 
 import com.blamejared.crafttweaker.api.CraftTweakerAPI;
+import com.blamejared.crafttweaker.impl.script.watchdog.ScriptWatchdog;
 import net.minecraftforge.eventbus.api.Event;
 
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 public class EventHandlerWrapper<T extends Event> implements Consumer<T> {
@@ -10,18 +12,61 @@ public class EventHandlerWrapper<T extends Event> implements Consumer<T> {
     public EventHandlerWrapper(Consumer<T> consumer) {
         
         this.consumer = consumer;
+        this.source = ScriptWatchdog.findScriptPosition();
+        this.tracker = ScriptWatchdog.get().track(ScriptWatchdog.Category.EVENT_HANDLER, source);
+        this.invocations = new LongAdder();
+        this.nanos = new LongAdder();
     }
     
     private final Consumer<T> consumer;
+    private final String source;
+    private final ScriptWatchdog.Tracker tracker;
+    private final LongAdder invocations;
+    private final LongAdder nanos;
     
     @Override
     public void accept(T t) {
         
+        if(tracker.isDisabled()) {
+            return;
+        }
+        
+        final long start = System.nanoTime();
         try {
             consumer.accept(t);
         } catch(Throwable throwable) {
-            CraftTweakerAPI.LOGGER.error("Error occurred in event handler", throwable);
+            CraftTweakerAPI.LOGGER.error("Error occurred in event handler registered at " + source, throwable);
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            nanos.add(elapsed);
+            invocations.increment();
+            tracker.record(elapsed);
         }
     }
     
+    /**
+     * Gets where in the scripts this handler was registered, as {@code file.zs:line}, or {@code unknown} if it was not
+     * registered by a script.
+     */
+    public String getSource() {
+        
+        return source;
+    }
+    
+    /**
+     * Gets how many times this handler was invoked since it was registered, across all reloads.
+     */
+    public long getInvocations() {
+        
+        return invocations.sum();
+    }
+    
+    /**
+     * Gets the total time, in nanoseconds, spent in this handler since it was registered.
+     */
+    public long getTotalNanos() {
+        
+        return nanos.sum();
+    }
+    
 }
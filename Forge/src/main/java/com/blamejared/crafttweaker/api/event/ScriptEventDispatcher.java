@@ -0,0 +1,97 @@
+package com.blamejared.crafttweaker.api.event;
+
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Invokes every script handler of an event class and priority from a single event bus listener.
+ *
+ * <p>Handlers are added to and removed from a staged list, which is only made visible to the bus by
+ * {@link #publish()}. The handlers that are invoked are held in an array that is replaced as a whole, so an event never
+ * sees a script reload halfway through.</p>
+ *
+ * @param <T> The type of the event.
+ */
+public final class ScriptEventDispatcher<T extends Event> implements Consumer<T> {
+    
+    @SuppressWarnings("rawtypes")
+    private static final EventHandlerWrapper[] NONE = new EventHandlerWrapper[0];
+    
+    private final Class<T> eventClass;
+    private final EventPriority priority;
+    private final List<EventHandlerWrapper<T>> staged;
+    private volatile EventHandlerWrapper<T>[] handlers;
+    private boolean listening;
+    
+    @SuppressWarnings("unchecked")
+    ScriptEventDispatcher(final Class<T> eventClass, final EventPriority priority) {
+        
+        this.eventClass = eventClass;
+        this.priority = priority;
+        this.staged = new ArrayList<>();
+        this.handlers = NONE;
+    }
+    
+    @Override
+    public void accept(final T event) {
+        
+        final EventHandlerWrapper<T>[] handlers = this.handlers;
+        final boolean cancelable = event.isCancelable();
+        for(final EventHandlerWrapper<T> handler : handlers) {
+            // Handlers used to be separate listeners, which the bus skips once the event is canceled
+            if(cancelable && event.isCanceled()) {
+                return;
+            }
+            handler.accept(event);
+        }
+    }
+    
+    public Class<T> getEventClass() {
+        
+        return eventClass;
+    }
+    
+    public EventPriority getPriority() {
+        
+        return priority;
+    }
+    
+    /**
+     * Gets the handlers that are currently invoked, in the order they are invoked in.
+     */
+    public List<EventHandlerWrapper<T>> getHandlers() {
+        
+        return List.of(handlers);
+    }
+    
+    boolean isListening() {
+        
+        return listening;
+    }
+    
+    void setListening() {
+        
+        listening = true;
+    }
+    
+    void stage(final EventHandlerWrapper<T> handler) {
+        
+        staged.add(handler);
+    }
+    
+    void unstage(final EventHandlerWrapper<T> handler) {
+        
+        staged.remove(handler);
+    }
+    
+    @SuppressWarnings("unchecked")
+    void publish() {
+        
+        handlers = staged.toArray(EventHandlerWrapper[]::new);
+    }
+    
+}
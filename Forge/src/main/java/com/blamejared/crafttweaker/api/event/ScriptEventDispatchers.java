@@ -0,0 +1,91 @@
+package com.blamejared.crafttweaker.api.event;
+
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the {@link ScriptEventDispatcher} of every event class and priority scripts have registered handlers for.
+ *
+ * <p>Each dispatcher is registered to the event bus once, the first time it is published, and stays registered for the
+ * rest of the game; an empty dispatcher costs a single call per event. Changes made by a script run are published
+ * together once the run stops, even if it failed.</p>
+ */
+public final class ScriptEventDispatchers {
+    
+    private static final ScriptEventDispatchers INSTANCE = new ScriptEventDispatchers();
+    
+    private final Map<Key, ScriptEventDispatcher<?>> dispatchers;
+    private boolean dirty;
+    
+    private ScriptEventDispatchers() {
+        
+        this.dispatchers = new LinkedHashMap<>();
+    }
+    
+    public static ScriptEventDispatchers get() {
+        
+        return INSTANCE;
+    }
+    
+    /**
+     * Stages the given handler, to be invoked once the changes are {@linkplain #publish() published}.
+     */
+    public synchronized <T extends Event> void register(final Class<T> eventClass, final EventPriority priority, final EventHandlerWrapper<T> handler) {
+        
+        dispatcher(eventClass, priority).stage(handler);
+        dirty = true;
+    }
+    
+    /**
+     * Stages the removal of the given handler, which stops being invoked once the changes are
+     * {@linkplain #publish() published}.
+     */
+    public synchronized <T extends Event> void unregister(final Class<T> eventClass, final EventPriority priority, final EventHandlerWrapper<T> handler) {
+        
+        dispatcher(eventClass, priority).unstage(handler);
+        dirty = true;
+    }
+    
+    /**
+     * Makes all staged changes visible to the event bus, registering the dispatchers that are new.
+     */
+    public synchronized void publish() {
+        
+        if(!dirty) {
+            return;
+        }
+        
+        dispatchers.values().forEach(dispatcher -> {
+            if(!dispatcher.isListening()) {
+                listen(dispatcher);
+            }
+            dispatcher.publish();
+        });
+        dirty = false;
+    }
+    
+    public synchronized List<ScriptEventDispatcher<?>> getDispatchers() {
+        
+        return List.copyOf(dispatchers.values());
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T extends Event> ScriptEventDispatcher<T> dispatcher(final Class<T> eventClass, final EventPriority priority) {
+        
+        return (ScriptEventDispatcher<T>) dispatchers.computeIfAbsent(new Key(eventClass, priority), key -> new ScriptEventDispatcher<>(eventClass, priority));
+    }
+    
+    private static <T extends Event> void listen(final ScriptEventDispatcher<T> dispatcher) {
+        
+        MinecraftForge.EVENT_BUS.addListener(dispatcher.getPriority(), false, dispatcher.getEventClass(), dispatcher);
+        dispatcher.setListening();
+    }
+    
+    private record Key(Class<?> eventClass, EventPriority priority) {}
+    
+}
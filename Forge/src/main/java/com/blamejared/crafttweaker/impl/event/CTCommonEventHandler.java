@@ -3,7 +3,7 @@ package com.blamejared.crafttweaker.impl.event;
 import com.blamejared.crafttweaker.CraftTweakerCommon;
 import com.blamejared.crafttweaker.api.CraftTweakerConstants;
 import com.blamejared.crafttweaker.api.action.villager.ActionTradeBase;
-import com.blamejared.crafttweaker.api.item.IItemStack;
+import com.blamejared.crafttweaker.api.item.BurnTimeTable;
 import com.blamejared.crafttweaker.api.item.attribute.ItemAttributeModifierBase;
 import com.blamejared.crafttweaker.api.logger.CraftTweakerLogger;
 import com.blamejared.crafttweaker.api.util.sequence.SequenceManager;
@@ -101,12 +101,10 @@ public class CTCommonEventHandler {
     @SubscribeEvent
     public static void burnTimeTweaker(FurnaceFuelBurnTimeEvent e) {
         
-        Services.EVENT.getBurnTimes()
-                .getOrDefault(e.getRecipeType(), List.of())
-                .stream()
-                .filter(pair -> pair.getFirst().matches(IItemStack.of(e.getItemStack())))
-                // This should use the burn time of the last matching ingredient
-                .forEach(pair -> e.setBurnTime(pair.getSecond()));
+        final int burnTime = BurnTimeTable.of(e.getRecipeType()).find(e.getItemStack());
+        if(burnTime != BurnTimeTable.NO_BURN_TIME) {
+            e.setBurnTime(burnTime);
+        }
     }
     
     @SubscribeEvent
@@ -1,6 +1,7 @@
 package com.blamejared.crafttweaker.impl.loot;
 
 import com.blamejared.crafttweaker.api.loot.modifier.ILootModifier;
+import com.blamejared.crafttweaker.api.loot.modifier.ScopedLootModifier;
 import com.mojang.serialization.Codec;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.minecraft.world.item.ItemStack;
@@ -24,6 +25,10 @@ final class CraftTweakerLootModifierAdapter implements IGlobalLootModifier {
     @Override
     public ObjectArrayList<ItemStack> apply(final ObjectArrayList<ItemStack> generatedLoot, final LootContext context) {
         
+        // Forge runs every loot modifier on every roll: bail out before converting the loot if this one cannot apply
+        if(this.modifier instanceof ScopedLootModifier scoped && !scoped.canApplyTo(context)) {
+            return generatedLoot;
+        }
         return this.modifier.doApply(generatedLoot, context);
     }
     
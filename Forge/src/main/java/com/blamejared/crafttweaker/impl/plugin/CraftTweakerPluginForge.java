@@ -3,6 +3,9 @@ package com.blamejared.crafttweaker.impl.plugin;
 import com.blamejared.crafttweaker.api.CraftTweakerAPI;
 import com.blamejared.crafttweaker.api.CraftTweakerConstants;
 import com.blamejared.crafttweaker.api.command.CommandUtilities;
+import com.blamejared.crafttweaker.api.event.EventHandlerWrapper;
+import com.blamejared.crafttweaker.api.event.ScriptEventDispatcher;
+import com.blamejared.crafttweaker.api.event.ScriptEventDispatchers;
 import com.blamejared.crafttweaker.api.plugin.CraftTweakerPlugin;
 import com.blamejared.crafttweaker.api.plugin.ICommandRegistrationHandler;
 import com.blamejared.crafttweaker.api.plugin.ICraftTweakerPlugin;
@@ -15,6 +18,8 @@ import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraftforge.common.TierSortingRegistry;
 
+import java.util.Comparator;
+import java.util.List;
 import java.util.stream.Stream;
 
 @CraftTweakerPlugin(CraftTweakerConstants.MOD_ID + ":builtin_forge")
@@ -30,6 +35,36 @@ public class CraftTweakerPluginForge implements ICraftTweakerPlugin {
     @Override
     public void registerCommands(ICommandRegistrationHandler handler) {
         
+        handler.registerRootCommand("events", Component.translatable("crafttweaker.command.description.events"), builder -> {
+            builder.executes(context -> {
+                
+                final List<ScriptEventDispatcher<?>> dispatchers = ScriptEventDispatchers.get()
+                        .getDispatchers()
+                        .stream()
+                        .filter(it -> !it.getHandlers().isEmpty())
+                        .toList();
+                if(dispatchers.isEmpty()) {
+                    CommandUtilities.send(Component.translatable("crafttweaker.command.events.empty")
+                            .withStyle(ChatFormatting.RED), context.getSource());
+                    return Command.SINGLE_SUCCESS;
+                }
+                
+                dispatchers.forEach(dispatcher -> {
+                    CraftTweakerAPI.LOGGER.info("{} ({}): {} handler(s)", dispatcher.getEventClass()
+                            .getName(), dispatcher.getPriority(), dispatcher.getHandlers().size());
+                    dispatcher.getHandlers()
+                            .stream()
+                            .sorted(Comparator.<EventHandlerWrapper<?>>comparingLong(EventHandlerWrapper::getTotalNanos).reversed())
+                            .forEach(it -> CraftTweakerAPI.LOGGER.info("    {}: {} call(s), {} total, {} average", it.getSource(), it.getInvocations(), formatNanos(it.getTotalNanos()), formatNanos(it.getTotalNanos() / Math.max(1, it.getInvocations()))));
+                });
+                
+                CommandUtilities.send(CommandUtilities.openingLogFile(Component.translatable("crafttweaker.command.list.check.log", CommandUtilities.makeNoticeable(Component.translatable("crafttweaker.command.misc.events")), CommandUtilities.getFormattedLogFile())
+                        .withStyle(ChatFormatting.GREEN)), context.getSource());
+                
+                return Command.SINGLE_SUCCESS;
+            });
+        });
+        
         handler.registerDump("fake_players", Component.translatable("crafttweaker.command.description.dump.fake_players"), builder -> {
             builder.executes(context -> {
                 
@@ -67,4 +102,9 @@ public class CraftTweakerPluginForge implements ICraftTweakerPlugin {
         });
     }
     
+    private static String formatNanos(final long nanos) {
+        
+        return "%.3f ms".formatted(nanos / 1_000_000.0);
+    }
+    
 }
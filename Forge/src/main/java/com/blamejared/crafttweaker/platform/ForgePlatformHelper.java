@@ -13,6 +13,7 @@ import com.blamejared.crafttweaker.api.util.HandleUtil;
 import com.blamejared.crafttweaker.api.villager.CTTradeObject;
 import com.blamejared.crafttweaker.impl.loot.CraftTweakerPrivilegedLootModifierMap;
 import com.blamejared.crafttweaker.impl.loot.ForgeLootModifierMapAdapter;
+import com.blamejared.crafttweaker.impl.loot.LootTableIdRegexCondition;
 import com.blamejared.crafttweaker.mixin.common.access.food.AccessFoodPropertiesForge;
 import com.blamejared.crafttweaker.mixin.common.access.villager.AccessBasicTrade;
 import com.blamejared.crafttweaker.platform.helper.inventory.IItemHandlerWrapper;
@@ -39,10 +40,13 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 import net.minecraft.world.item.crafting.Recipe;
 import net.minecraft.world.level.material.Fluid;
+import net.minecraft.world.level.storage.loot.LootContext;
+import net.minecraft.world.level.storage.loot.predicates.LootItemCondition;
 import net.minecraftforge.common.BasicItemListing;
 import net.minecraftforge.common.ForgeInternalHandler;
 import net.minecraftforge.common.loot.IGlobalLootModifier;
 import net.minecraftforge.common.loot.LootModifierManager;
+import net.minecraftforge.common.loot.LootTableIdCondition;
 import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.data.loading.DatagenModLoader;
 import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
@@ -240,6 +244,18 @@ public class ForgePlatformHelper implements IPlatformHelper {
         }
     }
     
+    @Override
+    public Optional<ResourceLocation> getQueriedLootTableId(final LootContext context) {
+        
+        return Optional.ofNullable(context.getQueriedLootTableId());
+    }
+    
+    @Override
+    public boolean isLootTableIdCondition(final LootItemCondition condition) {
+        
+        return condition instanceof LootTableIdCondition || condition instanceof LootTableIdRegexCondition;
+    }
+    
     @Override
     public IItemHandlerWrapper getPlayerInventory(Player player) {
         
@@ -1,5 +1,6 @@
 package com.blamejared.crafttweaker.platform.event;
 
+import com.blamejared.crafttweaker.api.event.ScriptEventDispatchers;
 import com.blamejared.crafttweaker.api.item.IItemStack;
 import com.blamejared.crafttweaker.platform.services.IEventHelper;
 import net.minecraftforge.common.ForgeHooks;
@@ -12,4 +13,10 @@ public class ForgeEventHelper implements IEventHelper {
         return ForgeHooks.getBurnTime(stack.getInternal(), null);
     }
     
+    @Override
+    public void publishScriptEventHandlers() {
+        
+        ScriptEventDispatchers.get().publish();
+    }
+    
 }
@@ -51,6 +51,7 @@ collectSubProjects("ZenCode")
 include("Common")
 include("Fabric")
 include("Forge")
+include("Benchmark")
 
 if (file("CraftTweaker-Annotation-Processors").exists()) {
     includeBuild("CraftTweaker-Annotation-Processors") {